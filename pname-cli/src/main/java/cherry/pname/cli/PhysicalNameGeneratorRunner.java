@@ -17,10 +17,13 @@
 package cherry.pname.cli;
 
 import cherry.pname.main.*;
+import cherry.pname.main.romaji.CachingRomajiConverter;
+import cherry.pname.main.romaji.RomajiStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Component;
@@ -30,7 +33,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 物理名生成CLIの実行クラス
@@ -54,11 +60,12 @@ import java.util.List;
  *   <tr><td>--help</td><td>ヘルプメッセージを表示</td><td>-</td></tr>
  *   <tr><td>--dictionary=&lt;file&gt;</td><td>辞書ファイルパス</td><td>-</td></tr>
  *   <tr><td>--format=&lt;format&gt;</td><td>辞書形式（CSV、TSV、JSON、YAML）</td><td>CSV</td></tr>
- *   <tr><td>--tokenizer=&lt;type&gt;</td><td>トークナイザータイプ（GREEDY、OPTIMAL）</td><td>OPTIMAL</td></tr>
- *   <tr><td>--naming=&lt;convention&gt;</td><td>命名規則</td><td>LOWER_CAMEL</td></tr>
+ *   <tr><td>--tokenizer=&lt;type&gt;</td><td>トークナイザータイプ（GREEDY、OPTIMAL、ADAPTIVE、PARALLEL）</td><td>OPTIMAL</td></tr>
+ *   <tr><td>--naming=&lt;convention&gt;</td><td>命名規則（カンマ区切りで複数指定した場合は1回のトークン化で各命名規則の物理名を出力）</td><td>LOWER_CAMEL</td></tr>
  *   <tr><td>--input=&lt;file&gt;</td><td>論理名を含む入力ファイル</td><td>-</td></tr>
  *   <tr><td>--output=&lt;file&gt;</td><td>結果用出力ファイル</td><td>-</td></tr>
  *   <tr><td>--enable-fallback</td><td>未知語のローマ字変換を有効化</td><td>false</td></tr>
+ *   <tr><td>--romaji-cache=&lt;file&gt;</td><td>未知語のローマ字変換結果を保存するファイル（実行をまたいで使い回す）</td><td>-</td></tr>
  *   <tr><td>--verbose</td><td>詳細な変換情報を表示</td><td>false</td></tr>
  *   <tr><td>--quiet</td><td>物理名のみを表示</td><td>false</td></tr>
  * </table>
@@ -71,6 +78,12 @@ import java.util.List;
  * # ファイルI/Oでのバッチ処理
  * java -jar pname-cli.jar --dictionary=dict.csv --input=names.txt --output=results.txt
  * 
+ * # 未知語のローマ字変換結果を実行をまたいで使い回す
+ * java -jar pname-cli.jar --dictionary=dict.csv --enable-fallback --romaji-cache=romaji.cache --input=names.txt
+ * 
+ * # 1回のトークン化でカラム名、フィールド名、クラス名をまとめて出力
+ * java -jar pname-cli.jar --dictionary=dict.csv --naming=LOWER_SNAKE,LOWER_CAMEL,PASCAL 顧客管理
+ * 
  * # 特定オプションでの詳細出力
  * java -jar pname-cli.jar --dictionary=dict.json --format=JSON --naming=LOWER_SNAKE --verbose 注文処理
  * }</pre>
@@ -108,6 +121,12 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * SpringのDIコンテナによってインジェクションされます。
      */
     private final PhysicalNameGenerator generator;
+
+    /**
+     * 変換結果をキャッシュするローマ字変換。
+     * {@code --romaji-cache}オプションで指定したファイルを設定します。nullの場合はオプションを使用できません。
+     */
+    private final CachingRomajiConverter romajiConverter;
     
     /**
      * オペレーティングシステムに返される終了コード。
@@ -121,7 +140,19 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * @param generator 変換に使用する物理名生成サービス
      */
     public PhysicalNameGeneratorRunner(PhysicalNameGenerator generator) {
+        this(generator, null);
+    }
+
+    /**
+     * 指定されたジェネレータとローマ字変換でPhysicalNameGeneratorRunnerを構築します。
+     * 
+     * @param generator 変換に使用する物理名生成サービス
+     * @param romajiConverter {@code --romaji-cache}オプションで指定したファイルを設定するローマ字変換
+     */
+    @Autowired
+    public PhysicalNameGeneratorRunner(PhysicalNameGenerator generator, CachingRomajiConverter romajiConverter) {
         this.generator = generator;
+        this.romajiConverter = romajiConverter;
     }
 
     /**
@@ -135,6 +166,7 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      *   <li>指定されている場合は辞書を読み込み</li>
      *   <li>名前変換を実行</li>
      *   <li>出力フォーマットとファイルI/Oを処理</li>
+     *   <li>指定されている場合は新しいローマ字変換結果をファイルに追加</li>
      * </ol>
      * 
      * <p>
@@ -152,7 +184,12 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
                 return;
             }
 
-            processArguments(args);
+            RomajiStore store = openRomajiStore(args);
+            try {
+                processArguments(args);
+            } finally {
+                saveRomajiStore(store, isQuiet(args));
+            }
         } catch (Exception e) {
             log.error("実行中にエラーが発生しました: {}", e.getMessage(), e);
             exitCode = 1;
@@ -179,11 +216,13 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
         log.info("  --help                    このヘルプメッセージを表示");
         log.info("  --dictionary=<file>       辞書ファイルを指定");
         log.info("  --format=<format>         辞書形式を指定 (CSV, TSV, JSON) [default: CSV]");
-        log.info("  --tokenizer=<type>        トークナイザーを指定 (GREEDY, OPTIMAL) [default: OPTIMAL]");
+        log.info("  --tokenizer=<type>        トークナイザーを指定 (GREEDY, OPTIMAL, ADAPTIVE, PARALLEL) [default: OPTIMAL]");
         log.info("  --naming=<convention>     命名規則を指定 (LOWER_CAMEL, UPPER_CAMEL, CAMEL, PASCAL, LOWER_SNAKE, UPPER_SNAKE, LOWER_KEBAB, UPPER_KEBAB) [default: LOWER_CAMEL]");
+        log.info("                            カンマ区切りで複数指定すると、各命名規則の物理名を出力");
         log.info("  --input=<file>            入力ファイルを指定（論理名リスト）");
         log.info("  --output=<file>           出力ファイルを指定");
         log.info("  --enable-fallback         未知語のローマ字変換を有効化");
+        log.info("  --romaji-cache=<file>     未知語のローマ字変換結果を保存するファイルを指定（実行をまたいで使い回す）");
         log.info("  --verbose                 詳細な出力を表示");
         log.info("  --quiet                   最小限の出力のみ表示");
         log.info("");
@@ -191,6 +230,60 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
         log.info("  java -jar pname-cli.jar --dictionary=dict.csv 顧客管理システム");
         log.info("  java -jar pname-cli.jar --format=JSON --naming=LOWER_SNAKE --dictionary=dict.json 注文明細");
         log.info("  java -jar pname-cli.jar --dictionary=dict.csv --input=input.txt --output=output.txt");
+        log.info("  java -jar pname-cli.jar --dictionary=dict.csv --naming=LOWER_SNAKE,LOWER_CAMEL,PASCAL 顧客管理");
+    }
+
+    /**
+     * {@code --romaji-cache}オプションで指定されたファイルを開き、ローマ字変換に設定します。
+     * <p>
+     * ファイルが存在しない場合は空として開き、終了時に作成します。
+     * ファイルに記録された変換のバージョンが現在の変換と異なる場合、ファイルの内容は使用せず、終了時に置き換えます。
+     * </p>
+     * 
+     * @param args コマンドライン引数
+     * @return 開いたファイル、オプションが指定されていないか使用できない場合はnull
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    private RomajiStore openRomajiStore(ApplicationArguments args) throws IOException {
+        if (!args.containsOption("romaji-cache")) {
+            return null;
+        }
+        if (romajiConverter == null) {
+            log.warn("ローマ字変換結果の保存ファイルは使用できません。--romaji-cacheを無視します。");
+            return null;
+        }
+
+        Path file = Paths.get(args.getOptionValues("romaji-cache").getFirst());
+        RomajiStore store = RomajiStore.open(file, romajiConverter.getVersion());
+        romajiConverter.setStore(store);
+        if (!isQuiet(args)) {
+            log.info("ローマ字変換結果を読み込みました: {} ({}件)", file, store.size());
+        }
+        return store;
+    }
+
+    /**
+     * 実行中に新しく変換したローマ字変換結果をファイルに追加し、ローマ字変換への設定を解除します。
+     * <p>
+     * 書き込みに失敗しても物理名の生成結果には影響しないため、警告をログに記録して処理を続けます。
+     * </p>
+     * 
+     * @param store 開いたファイル（nullの場合は何もしない）
+     * @param quiet 最小限の出力のみ表示するかどうか
+     */
+    private void saveRomajiStore(RomajiStore store, boolean quiet) {
+        if (store == null) {
+            return;
+        }
+        romajiConverter.setStore(null);
+        try {
+            int saved = store.save();
+            if (!quiet && saved > 0) {
+                log.info("ローマ字変換結果を追加しました: {} ({}件)", store.getFile(), saved);
+            }
+        } catch (IOException e) {
+            log.warn("ローマ字変換結果の書き込みに失敗しました: {} - {}", store.getFile(), e.getMessage());
+        }
     }
 
     /**
@@ -233,7 +326,7 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
         }
 
         TokenizerType tokenizerType = parseTokenizerType(args.getOptionValues("tokenizer"));
-        NamingConvention namingConvention = parseNamingConvention(args.getOptionValues("naming"));
+        List<NamingConvention> namingConventions = parseNamingConventions(args.getOptionValues("naming"));
 
         boolean enableFallback = parseEnableFallback(args);
         boolean verbose = isVerbose(args);
@@ -241,9 +334,9 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
 
         // ファイルベース処理またはコマンドライン引数処理
         if (args.containsOption("input")) {
-            processInputFile(args, tokenizerType, namingConvention, enableFallback, verbose, quiet);
+            processInputFile(args, tokenizerType, namingConventions, enableFallback, verbose, quiet);
         } else {
-            processCommandLineArguments(args, tokenizerType, namingConvention, enableFallback, verbose, quiet);
+            processCommandLineArguments(args, tokenizerType, namingConventions, enableFallback, verbose, quiet);
         }
     }
 
@@ -260,39 +353,92 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * </ul>
      * 
      * <p>
+     * 複数の命名規則が指定された場合、物理名は命名規則ごとに表示します（静寂モードではタブ区切りの1行）。
+     * </p>
+     * 
+     * <p>
      * 変換が失敗した場合、エラーメッセージがログに記録され、終了コードが1に設定されます。
      * </p>
      * 
      * @param logicalName 変換する日本語論理名
-     * @param tokenizerType 使用するトークン化アルゴリズム（GREEDYまたはOPTIMAL）
-     * @param namingConvention 物理名のターゲット命名規則
+     * @param tokenizerType 使用するトークン化アルゴリズム（GREEDY、OPTIMAL、ADAPTIVEまたはPARALLEL）
+     * @param namingConventions 物理名のターゲット命名規則のリスト
      * @param enableFallback 未知語のローマ字変換を有効にするかどうか
      * @param verbose 詳細なトークンマッピング情報を含むかどうか
      * @param quiet 物理名のみを出力するかどうか
      */
     private void processLogicalName(String logicalName, TokenizerType tokenizerType,
-                                    NamingConvention namingConvention, boolean enableFallback, boolean verbose, boolean quiet) {
+                                    List<NamingConvention> namingConventions, boolean enableFallback, boolean verbose, boolean quiet) {
         try {
-            PhysicalNameResult result = generator.generatePhysicalName(tokenizerType, namingConvention, logicalName, enableFallback);
+            printResult(generate(logicalName, tokenizerType, namingConventions, enableFallback), namingConventions, verbose, quiet);
+        } catch (Exception e) {
+            log.error("論理名の変換に失敗しました: {} - {}", logicalName, e.getMessage());
+            exitCode = 1;
+        }
+    }
 
-            if (quiet) {
-                log.info(result.physicalName());
+    /**
+     * 1つの論理名の生成結果をコンソールに出力します。
+     * 
+     * @param result 命名規則ごとの物理名生成結果
+     * @param namingConventions 物理名のターゲット命名規則のリスト
+     * @param verbose 詳細なトークンマッピング情報を含むかどうか
+     * @param quiet 物理名のみを出力するかどうか
+     */
+    private void printResult(PhysicalNameVariants result, List<NamingConvention> namingConventions, boolean verbose, boolean quiet) {
+        if (quiet) {
+            log.info(String.join("\t", result.physicalNames().values()));
+        } else {
+            log.info("論理名: {}", result.logicalName());
+            if (namingConventions.size() == 1) {
+                log.info("物理名: {}", result.physicalName(namingConventions.getFirst()));
             } else {
-                log.info("論理名: {}", result.logicalName());
-                log.info("物理名: {}", result.physicalName());
+                result.physicalNames().forEach((convention, physicalName) ->
+                        log.info("物理名({}): {}", convention, physicalName));
+            }
 
-                if (verbose) {
-                    log.info("トークン分解:");
-                    result.tokenMappings().forEach(mapping -> log.info("  {}", mapping));
-                }
-                log.info("");
+            if (verbose) {
+                log.info("トークン分解:");
+                result.tokenMappings().forEach(mapping -> log.info("  {}", mapping));
             }
-        } catch (Exception e) {
-            log.error("論理名の変換に失敗しました: {} - {}", logicalName, e.getMessage());
-            exitCode = 1;
+            log.info("");
         }
     }
 
+    /**
+     * 指定された命名規則で論理名から物理名を生成します。
+     * <p>
+     * 命名規則が1つの場合は通常の生成（結果のキャッシュを使用）、複数の場合はトークン化を1回だけ行い、
+     * 共通の物理名要素から命名規則ごとの物理名を生成します。
+     * </p>
+     * 
+     * @param logicalName 変換する日本語論理名
+     * @param tokenizerType 使用するトークン化アルゴリズム
+     * @param namingConventions 物理名のターゲット命名規則のリスト
+     * @param enableFallback 未知語のローマ字変換を有効にするかどうか
+     * @return 命名規則ごとの物理名生成結果
+     */
+    private PhysicalNameVariants generate(String logicalName, TokenizerType tokenizerType,
+                                          List<NamingConvention> namingConventions, boolean enableFallback) {
+        if (namingConventions.size() == 1) {
+            NamingConvention namingConvention = namingConventions.getFirst();
+            return toVariants(namingConvention, generator.generatePhysicalName(tokenizerType, namingConvention, logicalName, enableFallback));
+        }
+        return generator.generatePhysicalNameVariants(tokenizerType, namingConventions, logicalName, enableFallback);
+    }
+
+    /**
+     * 1つの命名規則の物理名生成結果を、命名規則ごとの物理名生成結果に変換します。
+     * 
+     * @param namingConvention 物理名の命名規則
+     * @param result 物理名生成結果
+     * @return 命名規則ごとの物理名生成結果
+     */
+    private PhysicalNameVariants toVariants(NamingConvention namingConvention, PhysicalNameResult result) {
+        return new PhysicalNameVariants(result.logicalName(), Map.of(namingConvention, result.physicalName()),
+                result.tokenMappings(), result.degraded());
+    }
+
     /**
      * 辞書形式オプションを解析・検証します。
      * <p>
@@ -319,7 +465,7 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
     /**
      * トークナイザータイプオプションを解析・検証します。
      * <p>
-     * サポートされるタイプはGREEDY（前方最長一致）とOPTIMAL（動的プログラミング）です。
+     * サポートされるタイプはGREEDY（前方最長一致）、OPTIMAL（動的プログラミング）、ADAPTIVE（必要な区間のみ動的プログラミング）、PARALLEL（区間ごとに並列に動的プログラミング）です。
      * 無効なタイプが指定された場合、警告がログに記録され、デフォルトとしてOPTIMALが使用されます。
      * </p>
      * 
@@ -343,23 +489,39 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * 命名規則オプションを解析・検証します。
      * <p>
      * camelCase系、snake_case系、kebab-case系を含むすべての10種類の命名規則をサポートします。
-     * 無効な規則が指定された場合、警告がログに記録され、デフォルトとしてLOWER_CAMELが使用されます。
+     * カンマ区切りまたはオプションの繰り返しで複数の規則を指定でき、重複した規則は1つにまとめます。
+     * 無効な規則が指定された場合、警告がログに記録されその規則は無視されます。
+     * 有効な規則が1つもない場合は、デフォルトとしてLOWER_CAMELが使用されます。
      * </p>
      * 
      * @param namingOptions コマンドラインからの命名規則オプション値のリスト
-     * @return 解析されたNamingConvention、無効/未指定の場合はデフォルトとしてLOWER_CAMEL
+     * @return 解析されたNamingConventionのリスト、無効/未指定の場合はデフォルトとしてLOWER_CAMELのみ
      */
-    private NamingConvention parseNamingConvention(List<String> namingOptions) {
-        if (namingOptions == null || namingOptions.isEmpty()) {
-            return NamingConvention.LOWER_CAMEL;
+    private List<NamingConvention> parseNamingConventions(List<String> namingOptions) {
+        Set<NamingConvention> namingConventions = new LinkedHashSet<>();
+        if (namingOptions != null) {
+            for (String namingOption : namingOptions) {
+                for (String value : namingOption.split(",")) {
+                    String trimmed = value.trim();
+                    if (trimmed.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        namingConventions.add(NamingConvention.valueOf(trimmed.toUpperCase()));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("不正な命名規則です: {}. この命名規則は無視します。", trimmed);
+                    }
+                }
+            }
         }
 
-        try {
-            return NamingConvention.valueOf(namingOptions.getFirst().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            log.warn("不正な命名規則です: {}. デフォルト(LOWER_CAMEL)を使用します。", namingOptions.getFirst());
-            return NamingConvention.LOWER_CAMEL;
+        if (namingConventions.isEmpty()) {
+            if (namingOptions != null && !namingOptions.isEmpty()) {
+                log.warn("有効な命名規則がありません。デフォルト(LOWER_CAMEL)を使用します。");
+            }
+            return List.of(NamingConvention.LOWER_CAMEL);
         }
+        return List.copyOf(namingConventions);
     }
 
     /**
@@ -399,7 +561,7 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * </p>
      * <ul>
      *   <li><strong>入力検証</strong> - ファイルの存在と読み込み可能性をチェック</li>
-     *   <li><strong>バッチ処理</strong> - 一貫した設定で複数の名前を処理</li>
+     *   <li><strong>バッチ処理</strong> - 一貫した設定で複数の名前を処理（命名規則が1つの場合は全件を並列にまとめて生成）</li>
      *   <li><strong>出力フォーマット</strong> - コンソール出力または複数形式でのファイル出力をサポート</li>
      *   <li><strong>エラーハンドリング</strong> - 個別の名前が失敗しても処理を継続</li>
      * </ul>
@@ -411,14 +573,14 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * 
      * @param args 入出力ファイルパスを含むコマンドライン引数
      * @param tokenizerType すべての変換に使用するトークン化アルゴリズム
-     * @param namingConvention すべての変換に適用する命名規則
+     * @param namingConventions すべての変換に適用する命名規則のリスト
      * @param enableFallback 未知語のローマ字変換を有効にするかどうか
      * @param verbose 出力に詳細なトークンマッピング情報を含むかどうか
      * @param quiet 物理名のみを出力するかどうか
      * @throws IOException ファイルI/O操作が失敗した場合
      */
     private void processInputFile(ApplicationArguments args, TokenizerType tokenizerType,
-                                  NamingConvention namingConvention, boolean enableFallback, boolean verbose, boolean quiet) throws IOException {
+                                  List<NamingConvention> namingConventions, boolean enableFallback, boolean verbose, boolean quiet) throws IOException {
         String inputFile = args.getOptionValues("input").getFirst();
         Path inputPath = Paths.get(inputFile);
 
@@ -434,34 +596,48 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
             log.info("入力ファイルから{}件の論理名を読み込みました: {}", logicalNames.size(), inputFile);
         }
 
-        StringBuilder outputContent = new StringBuilder();
+        List<String> trimmedNames = logicalNames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty()) // 空行をスキップ
+                .toList();
 
-        for (String logicalName : logicalNames) {
-            String trimmedName = logicalName.trim();
-            if (trimmedName.isEmpty()) {
-                continue; // 空行をスキップ
-            }
+        // 命名規則が1つの場合は、全件を並列にまとめて生成する
+        List<PhysicalNameOutcome> outcomes = namingConventions.size() == 1
+                ? generator.generateAll(tokenizerType, namingConventions.getFirst(), trimmedNames, enableFallback)
+                : null;
+
+        StringBuilder outputContent = new StringBuilder();
 
+        for (int i = 0; i < trimmedNames.size(); i++) {
+            String trimmedName = trimmedNames.get(i);
             try {
-                PhysicalNameResult result = generator.generatePhysicalName(tokenizerType, namingConvention, trimmedName, enableFallback);
+                PhysicalNameVariants result = outcomes != null
+                        ? toVariants(namingConventions.getFirst(), outcomes.get(i).getOrThrow())
+                        : generate(trimmedName, tokenizerType, namingConventions, enableFallback);
 
                 if (args.containsOption("output")) {
                     // ファイル出力用フォーマット
                     if (verbose) {
                         outputContent.append("論理名: ").append(result.logicalName()).append("\n");
-                        outputContent.append("物理名: ").append(result.physicalName()).append("\n");
+                        if (namingConventions.size() == 1) {
+                            outputContent.append("物理名: ").append(result.physicalName(namingConventions.getFirst())).append("\n");
+                        } else {
+                            result.physicalNames().forEach((convention, physicalName) ->
+                                    outputContent.append("物理名(").append(convention).append("): ").append(physicalName).append("\n"));
+                        }
                         outputContent.append("トークン分解:\n");
                         result.tokenMappings().forEach(mapping ->
                                 outputContent.append("  ").append(mapping).append("\n"));
                         outputContent.append("\n");
                     } else if (quiet) {
-                        outputContent.append(result.physicalName()).append("\n");
+                        outputContent.append(String.join("\t", result.physicalNames().values())).append("\n");
                     } else {
-                        outputContent.append(result.logicalName()).append(" -> ").append(result.physicalName()).append("\n");
+                        outputContent.append(result.logicalName()).append(" -> ")
+                                .append(String.join(", ", result.physicalNames().values())).append("\n");
                     }
                 } else {
                     // コンソール出力
-                    processLogicalName(trimmedName, tokenizerType, namingConvention, enableFallback, verbose, quiet);
+                    printResult(result, namingConventions, verbose, quiet);
                 }
             } catch (Exception e) {
                 log.error("論理名の変換に失敗しました: {} - {}", trimmedName, e.getMessage());
@@ -496,13 +672,13 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
      * 
      * @param args 非オプション引数として論理名を含むコマンドライン引数
      * @param tokenizerType すべての変換に使用するトークン化アルゴリズム
-     * @param namingConvention すべての変換に適用する命名規則
+     * @param namingConventions すべての変換に適用する命名規則のリスト
      * @param enableFallback 未知語のローマ字変換を有効にするかどうか
      * @param verbose 出力に詳細なトークンマッピング情報を含むかどうか
      * @param quiet 物理名のみを出力するかどうか
      */
     private void processCommandLineArguments(ApplicationArguments args, TokenizerType tokenizerType,
-                                             NamingConvention namingConvention, boolean enableFallback, boolean verbose, boolean quiet) {
+                                             List<NamingConvention> namingConventions, boolean enableFallback, boolean verbose, boolean quiet) {
         // 論理名の処理
         List<String> logicalNames = args.getNonOptionArgs();
         if (logicalNames.isEmpty()) {
@@ -512,7 +688,7 @@ public class PhysicalNameGeneratorRunner implements ApplicationRunner, ExitCodeG
         }
 
         for (String logicalName : logicalNames) {
-            processLogicalName(logicalName, tokenizerType, namingConvention, enableFallback, verbose, quiet);
+            processLogicalName(logicalName, tokenizerType, namingConventions, enableFallback, verbose, quiet);
         }
     }
 
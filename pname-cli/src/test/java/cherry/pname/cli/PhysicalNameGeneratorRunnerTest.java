@@ -21,13 +21,18 @@ import cherry.pname.main.dictionary.CsvDictionaryLoader;
 import cherry.pname.main.dictionary.JsonDictionaryLoader;
 import cherry.pname.main.dictionary.TsvDictionaryLoader;
 import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.CachingRomajiConverter;
 import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.romaji.RomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
 import cherry.pname.main.tokenize.GreedyTokenizer;
 import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.DefaultApplicationArguments;
@@ -36,6 +41,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,13 +66,17 @@ class PhysicalNameGeneratorRunnerTest {
 
     @BeforeEach
     void setUp() throws IOException {
+        GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+        OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
         generator = new PhysicalNameGenerator(
                 new CsvDictionaryLoader(),
                 new TsvDictionaryLoader(),
                 new JsonDictionaryLoader(),
                 new YamlDictionaryLoader(),
-                new GreedyTokenizer(),
-                new OptimalTokenizer(),
+                greedyTokenizer,
+                optimalTokenizer,
+                new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                new ParallelTokenizer(optimalTokenizer),
                 new KuromojiRomajiConverter()
         );
 
@@ -296,6 +307,34 @@ class PhysicalNameGeneratorRunnerTest {
             assertDoesNotThrow(() -> runner.run(args));
             assertEquals(0, runner.getExitCode());
         }
+
+        @Test
+        void testMultipleNamingConventionsOption() throws IOException {
+            // カンマ区切りで複数の命名規則を指定すると、各命名規則の物理名が指定した順序で出力されることを確認
+            Path inputFile = Files.createTempFile("test_input", ".txt");
+            Files.writeString(inputFile, "顧客管理システム", StandardCharsets.UTF_8);
+
+            Path outputFile = Files.createTempFile("test_output", ".txt");
+
+            try {
+                ApplicationArguments args = new DefaultApplicationArguments(
+                        "--input=" + inputFile.toString(),
+                        "--output=" + outputFile.toString(),
+                        "--naming=LOWER_SNAKE,lower_camel,PASCAL,INVALID",
+                        "--quiet"
+                );
+
+                assertDoesNotThrow(() -> runner.run(args));
+                assertEquals(0, runner.getExitCode());
+
+                String output = Files.readString(outputFile, StandardCharsets.UTF_8);
+                assertEquals("customer_management_system\tcustomerManagementSystem\tCustomerManagementSystem\n", output);
+
+            } finally {
+                Files.deleteIfExists(inputFile);
+                Files.deleteIfExists(outputFile);
+            }
+        }
     }
 
     /**
@@ -483,6 +522,86 @@ class PhysicalNameGeneratorRunnerTest {
         }
     }
 
+    /**
+     * ローマ字変換結果の保存ファイルのテスト
+     * 実行をまたいで未知語のローマ字変換結果を使い回す機能をテストします
+     */
+    @Nested
+    class RomajiCache {
+
+        /**
+         * ローマ字変換結果の保存ファイルのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>--romaji-cacheオプションで指定したファイルに未知語の変換結果が保存される</li>
+         *   <li>2回目の実行では保存された結果を使用し、ローマ字変換を行わない</li>
+         *   <li>2回目の実行でも同じ物理名が出力される</li>
+         * </ul>
+         */
+        @Test
+        void testReuseAcrossRuns(@TempDir Path dir) throws IOException {
+            Path inputFile = dir.resolve("input.txt");
+            Files.writeString(inputFile, "顧客XY管理\n取引先システム\n", StandardCharsets.UTF_8);
+            Path cacheFile = dir.resolve("romaji.cache");
+            String[] argv = {
+                    "--input=" + inputFile,
+                    "--output=" + dir.resolve("output.txt"),
+                    "--romaji-cache=" + cacheFile,
+                    "--enable-fallback",
+                    "--quiet"
+            };
+
+            AtomicInteger conversions = new AtomicInteger();
+            runWithRomajiCache(argv, conversions);
+            String firstOutput = Files.readString(dir.resolve("output.txt"), StandardCharsets.UTF_8);
+            assertTrue(conversions.get() > 0);
+            assertTrue(Files.exists(cacheFile));
+
+            conversions.set(0);
+            runWithRomajiCache(argv, conversions);
+            assertEquals(0, conversions.get());
+            assertEquals(firstOutput, Files.readString(dir.resolve("output.txt"), StandardCharsets.UTF_8));
+        }
+
+        private void runWithRomajiCache(String[] argv, AtomicInteger conversions) throws IOException {
+            KuromojiRomajiConverter kuromoji = new KuromojiRomajiConverter();
+            RomajiConverter counting = new RomajiConverter() {
+                @Override
+                public List<String> convertToRomaji(String japaneseText) {
+                    conversions.incrementAndGet();
+                    return kuromoji.convertToRomaji(japaneseText);
+                }
+
+                @Override
+                public String getVersion() {
+                    return kuromoji.getVersion();
+                }
+            };
+            CachingRomajiConverter romajiConverter = new CachingRomajiConverter(counting, 16);
+
+            GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+            OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+            PhysicalNameGenerator cachingGenerator = new PhysicalNameGenerator(
+                    new CsvDictionaryLoader(),
+                    new TsvDictionaryLoader(),
+                    new JsonDictionaryLoader(),
+                    new YamlDictionaryLoader(),
+                    greedyTokenizer,
+                    optimalTokenizer,
+                    new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                    new ParallelTokenizer(optimalTokenizer),
+                    romajiConverter
+            );
+            cachingGenerator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\nシステム,system\n");
+
+            PhysicalNameGeneratorRunner cachingRunner = new PhysicalNameGeneratorRunner(cachingGenerator, romajiConverter);
+            cachingRunner.run(new DefaultApplicationArguments(argv));
+            assertEquals(0, cachingRunner.getExitCode());
+            assertNull(romajiConverter.getStore());
+        }
+    }
+
     /**
      * エラーハンドリングのテスト
      * 存在しないファイル指定時などのエラー処理をテストします
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 起動から最初の物理名生成結果までの時間のベンチマーク
+ * 各フォークで1回だけ呼び出し、クラスの読み込みを含む新しいJVMでの時間を測る。
+ * builderは{@link PhysicalNameGeneratorBuilder}で必要なトークナイザーと辞書ローダーだけを組み立て、
+ * springContextはコンポーネントスキャンで全てのコンポーネントを組み立てる。
+ * いずれもCSVの辞書を設定して1件の物理名を生成するまでを含む。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+    private static final String DICTIONARY = """
+            顧客,customer
+            管理,management
+            番号,number
+            """;
+
+    private static final String LOGICAL_NAME = "顧客管理番号";
+
+    @Benchmark
+    public String builder() throws IOException {
+        PhysicalNameGenerator generator = PhysicalNameGenerator.builder()
+                .tokenizers(TokenizerType.OPTIMAL)
+                .dictionaryFormats(DictionaryFormat.CSV)
+                .build();
+        generator.loadDictionary(DictionaryFormat.CSV, DICTIONARY);
+        return generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, LOGICAL_NAME, false).physicalName();
+    }
+
+    @Benchmark
+    public String springContext() throws IOException {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext("cherry.pname.main")) {
+            PhysicalNameGenerator generator = context.getBean(PhysicalNameGenerator.class);
+            generator.loadDictionary(DictionaryFormat.CSV, DICTIONARY);
+            return generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, LOGICAL_NAME, false).physicalName();
+        }
+    }
+}
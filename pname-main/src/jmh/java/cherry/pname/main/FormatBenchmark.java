@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.dictionary.CsvDictionaryLoader;
+import cherry.pname.main.dictionary.JsonDictionaryLoader;
+import cherry.pname.main.dictionary.TsvDictionaryLoader;
+import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
+import cherry.pname.main.tokenize.TokenSpans;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 物理名のフォーマットのベンチマーク
+ * 要素ごとに小文字化、先頭の大文字化、連結の中間文字列を生成する従来の方法と、
+ * {@link PhysicalNameFormatter}で変換しながら書き出す方法、コンパイル時に求めた形を書き出す方法を比べる。
+ * また、組み込みの命名規則と同じ区切り文字と大文字・小文字で組み立てた{@link NamingTemplate}が組み込みの命名規則と同じ速さであることと、
+ * 接頭辞、接尾辞、長さの上限を加えた場合に増える時間を比べる。
+ * 呼び出し1回あたりの割り当てバイト数は{@code -PjmhProfilers=gc}で実行した結果の{@code gc.alloc.rate.norm}で示す。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private static final String LOGICAL_NAME = "顧客注文明細番号";
+
+    @Param({"LOWER_CAMEL", "UPPER_SNAKE"})
+    public NamingConvention namingConvention;
+
+    private PhysicalNameGenerator generator;
+    private TokenSpans spans;
+    private List<String> elements;
+    private NamingTemplate equivalent;
+    private NamingTemplate template;
+
+    @Setup
+    public void setUp() throws IOException {
+        GreedyTokenizer greedy = new GreedyTokenizer();
+        OptimalTokenizer optimal = new OptimalTokenizer();
+        generator = new PhysicalNameGenerator(
+                new CsvDictionaryLoader(),
+                new TsvDictionaryLoader(),
+                new JsonDictionaryLoader(),
+                new YamlDictionaryLoader(),
+                greedy,
+                optimal,
+                new AdaptiveTokenizer(greedy, optimal),
+                new ParallelTokenizer(optimal),
+                new KuromojiRomajiConverter(),
+                new PhysicalNameCache(0));
+        generator.loadDictionary(DictionaryFormat.CSV, """
+                顧客,Customer
+                注文,order
+                明細,detail
+                番号,number
+                """);
+        spans = generator.tokenizeSpans(TokenizerType.OPTIMAL, LOGICAL_NAME);
+        elements = new ArrayList<>();
+        for (int i = 0; i < spans.size(); i++) {
+            elements.addAll(spans.physicalNames(i));
+        }
+        NamingTemplate builtIn = NamingTemplate.of(namingConvention);
+        equivalent = NamingTemplate.of(builtIn.separator(), builtIn.firstCase(), builtIn.restCase());
+        template = equivalent.withPrefix("t_").withSuffix("_cd").withMaxLength(30);
+    }
+
+    /**
+     * 従来の方法（要素ごとに既定のロケールで変換した中間文字列を生成する）
+     */
+    @Benchmark
+    public String legacy() {
+        return switch (namingConvention) {
+            case CAMEL, LOWER_CAMEL -> legacyCamelCase(elements, false);
+            case PASCAL, UPPER_CAMEL -> legacyCamelCase(elements, true);
+            case SNAKE, LOWER_SNAKE -> String.join("_", elements).toLowerCase();
+            case UPPER_SNAKE -> String.join("_", elements).toUpperCase();
+            case KEBAB, LOWER_KEBAB -> String.join("-", elements).toLowerCase();
+            case UPPER_KEBAB -> String.join("-", elements).toUpperCase();
+        };
+    }
+
+    /**
+     * 物理名要素リストを変換しながら書き出す
+     */
+    @Benchmark
+    public String formatter() {
+        return PhysicalNameFormatter.format(elements, namingConvention);
+    }
+
+    /**
+     * トークン化結果からコンパイル時に求めた形を書き出す
+     */
+    @Benchmark
+    public String compiledForms() {
+        return generator.formatPhysicalName(spans, namingConvention, false);
+    }
+
+    /**
+     * トークン化結果から組み込みの命名規則と同じ形のテンプレート（接頭辞、接尾辞、長さの上限なし）で書き出す
+     */
+    @Benchmark
+    public String equivalentTemplate() {
+        return generator.formatPhysicalName(spans, equivalent, false);
+    }
+
+    /**
+     * トークン化結果から接頭辞、接尾辞、長さの上限を加えたテンプレートで書き出す
+     * 長さの上限を超えるため、本体の切り詰めも含む。
+     */
+    @Benchmark
+    public String compiledTemplate() {
+        return generator.formatPhysicalName(spans, template, false);
+    }
+
+    private static String legacyCamelCase(List<String> elements, boolean pascalCase) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < elements.size(); i++) {
+            String element = elements.get(i).toLowerCase();
+            if (i == 0 && !pascalCase) {
+                result.append(element);
+            } else {
+                result.append(element.substring(0, 1).toUpperCase()).append(element.substring(1));
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.dictionary.CsvDictionaryLoader;
+import cherry.pname.main.dictionary.JsonDictionaryLoader;
+import cherry.pname.main.dictionary.TsvDictionaryLoader;
+import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 生成結果のキャッシュのベンチマーク
+ * 同じ論理名の集合を繰り返し生成する場合に、キャッシュしない場合とキャッシュする場合を比べる。
+ * 結果は論理名1件あたりの時間で示す。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultCacheBenchmark {
+
+    private static final int NAME_COUNT = 2000;
+
+    private static final String[] WORDS = {
+            "顧客", "注文", "商品", "管理", "明細", "番号", "コード", "名称", "区分", "金額", "数量", "登録", "日時", "フラグ"};
+
+    @Param({"0", "16777216"})
+    public long maxBytes;
+
+    private PhysicalNameGenerator generator;
+    private List<String> logicalNames;
+
+    @Setup
+    public void setUp() throws IOException {
+        GreedyTokenizer greedy = new GreedyTokenizer();
+        OptimalTokenizer optimal = new OptimalTokenizer();
+        generator = new PhysicalNameGenerator(
+                new CsvDictionaryLoader(),
+                new TsvDictionaryLoader(),
+                new JsonDictionaryLoader(),
+                new YamlDictionaryLoader(),
+                greedy,
+                optimal,
+                new AdaptiveTokenizer(greedy, optimal),
+                new ParallelTokenizer(optimal),
+                new KuromojiRomajiConverter(),
+                new PhysicalNameCache(maxBytes));
+        generator.loadDictionary(DictionaryFormat.CSV, """
+                顧客,customer
+                注文,order
+                商品,product
+                管理,management
+                明細,detail
+                番号,number
+                コード,code
+                名称,name
+                区分,type
+                金額,amount
+                数量,quantity
+                登録,registration
+                日時,datetime
+                """);
+
+        // 2〜5語をつなげた論理名（辞書にない「フラグ」を含む）
+        Random random = new Random(12345);
+        logicalNames = new ArrayList<>(NAME_COUNT);
+        for (int i = 0; i < NAME_COUNT; i++) {
+            StringBuilder sb = new StringBuilder();
+            int count = 2 + random.nextInt(4);
+            for (int j = 0; j < count; j++) {
+                sb.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            logicalNames.add(sb.toString());
+        }
+    }
+
+    /**
+     * 同じ論理名の集合の繰り返し生成
+     */
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public int repeated() {
+        int length = 0;
+        for (String logicalName : logicalNames) {
+            length += generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.LOWER_CAMEL, logicalName, false).physicalName().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * カタカナの未知語のローマ字変換のベンチマーク
+ * 表による変換と、形態素解析を経由する変換を比べる。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KanaRomajiBenchmark {
+
+    private static final List<String> WORDS = List.of(
+            "サブスクリプション",
+            "ダッシュボード",
+            "エンドポイント",
+            "ワークフロー",
+            "キャッシュ",
+            "ファイルサーバー",
+            "SaaSプロダクト");
+
+    private KuromojiRomajiConverter converter;
+
+    @Setup
+    public void setUp() {
+        converter = new KuromojiRomajiConverter();
+        converter.warmUp();
+    }
+
+    /**
+     * 表による変換
+     */
+    @Benchmark
+    public int table() {
+        int elements = 0;
+        for (int i = 0; i < WORDS.size(); i++) {
+            elements += converter.convertToRomaji(WORDS.get(i)).size();
+        }
+        return elements;
+    }
+
+    /**
+     * 形態素解析を経由する変換
+     */
+    @Benchmark
+    public int morphological() {
+        int elements = 0;
+        for (int i = 0; i < WORDS.size(); i++) {
+            elements += converter.convertWithTokenizer(WORDS.get(i)).size();
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 未知語のまとめてのローマ字変換のベンチマーク
+ * 1件ずつの形態素解析と、区切り文字でつなげた1回の形態素解析を比べる。未知語1件あたりの時間を測る。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RomajiBatchBenchmark {
+
+    private static final int WORD_COUNT = 512;
+
+    private static final String[] WORDS = {
+            "しきい値", "取引先", "振込", "請求書", "在庫引当", "払戻", "顧客", "明細"};
+
+    private KuromojiRomajiConverter converter;
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        converter = new KuromojiRomajiConverter();
+        converter.warmUp();
+
+        words = new ArrayList<>(WORD_COUNT);
+        for (int i = 0; i < WORD_COUNT; i++) {
+            words.add(WORDS[i % WORDS.length] + WORDS[(i / WORDS.length) % WORDS.length]);
+        }
+    }
+
+    /**
+     * 1件ずつの変換
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORD_COUNT)
+    public int single() {
+        int elements = 0;
+        for (int i = 0; i < words.size(); i++) {
+            elements += converter.convertToRomaji(words.get(i)).size();
+        }
+        return elements;
+    }
+
+    /**
+     * まとめての変換
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORD_COUNT)
+    public int batch() {
+        int elements = 0;
+        for (List<String> result : converter.convertAllToRomaji(words)) {
+            elements += result.size();
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 複数スレッドからのローマ字変換のベンチマーク
+ * 同じ未知語の集合をスレッド数で分けて並行に変換し、未知語1件あたりの時間を測る。
+ * スレッド数を増やしたときに時間が短くなるほど、変換がスレッド数に応じて伸びていることを示す。
+ * 各回の変換結果は単一スレッドで変換した結果と比べ、異なる場合は例外とする。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RomajiConcurrencyBenchmark {
+
+    private static final int WORD_COUNT = 2048;
+
+    private static final String[] WORDS = {
+            "アカウント", "サブスクリプション", "ベンダー", "ワークフロー", "しきい値", "取引先", "振込", "請求書",
+            "ダッシュボード", "エンドポイント", "キャンペーン", "在庫引当", "ふりがな", "バッチ", "ロールバック", "払戻"};
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private KuromojiRomajiConverter converter;
+    private ExecutorService executor;
+    private List<String> words;
+    private List<List<String>> expected;
+
+    @Setup
+    public void setUp() {
+        converter = new KuromojiRomajiConverter();
+        converter.warmUp();
+        executor = Executors.newFixedThreadPool(threads);
+
+        words = new ArrayList<>(WORD_COUNT);
+        expected = new ArrayList<>(WORD_COUNT);
+        for (int i = 0; i < WORD_COUNT; i++) {
+            String word = WORDS[i % WORDS.length] + WORDS[(i / WORDS.length) % WORDS.length];
+            words.add(word);
+            expected.add(converter.convertToRomaji(word));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * スレッド数で分けた並行変換
+     */
+    @Benchmark
+    @OperationsPerInvocation(WORD_COUNT)
+    public int convert() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = WORD_COUNT * t / threads;
+            int to = WORD_COUNT * (t + 1) / threads;
+            futures.add(executor.submit(() -> {
+                int elements = 0;
+                for (int i = from; i < to; i++) {
+                    List<String> result = converter.convertToRomaji(words.get(i));
+                    if (!result.equals(expected.get(i))) {
+                        throw new IllegalStateException("変換結果が単一スレッドの結果と異なります: " + words.get(i));
+                    }
+                    elements += result.size();
+                }
+                return elements;
+            }));
+        }
+        int elements = 0;
+        for (Future<Integer> future : futures) {
+            elements += future.get();
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文字種による事前分割を使ったトークン化のベンチマーク
+ * 漢字、カタカナ、ひらがな、英字、数字が混在する論理名をトークン化する。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptRunsBenchmark {
+
+    private static final List<String> INPUTS = List.of(
+            "顧客ID2次コード",
+            "注文明細No連番",
+            "ユーザーアカウント登録日時",
+            "商品マスタSKUコード区分",
+            "売上金額2025年度Q1集計",
+            "APIアクセスTOKEN有効期限",
+            "のれん償却額ABC123");
+
+    @Param({"GREEDY", "OPTIMAL", "ADAPTIVE"})
+    public String tokenizerType;
+
+    private Tokenizer tokenizer;
+    private DictionaryIndex index;
+    private TokenizeScratch scratch;
+
+    @Setup
+    public void setUp() {
+        Map<String, List<String>> dictionary = new HashMap<>();
+        dictionary.put("顧客", List.of("customer"));
+        dictionary.put("コード", List.of("code"));
+        dictionary.put("注文", List.of("order"));
+        dictionary.put("明細", List.of("detail"));
+        dictionary.put("連番", List.of("seq"));
+        dictionary.put("ユーザー", List.of("user"));
+        dictionary.put("アカウント", List.of("account"));
+        dictionary.put("登録", List.of("registration"));
+        dictionary.put("日時", List.of("datetime"));
+        dictionary.put("商品", List.of("product"));
+        dictionary.put("マスタ", List.of("master"));
+        dictionary.put("区分", List.of("type"));
+        dictionary.put("売上", List.of("sales"));
+        dictionary.put("金額", List.of("amount"));
+        dictionary.put("年度", List.of("fiscal_year"));
+        dictionary.put("集計", List.of("summary"));
+        dictionary.put("アクセス", List.of("access"));
+        dictionary.put("有効期限", List.of("expiration"));
+        dictionary.put("償却", List.of("amortization"));
+        dictionary.put("額", List.of("amount"));
+        index = DictionaryIndex.compile(dictionary);
+        scratch = new TokenizeScratch(64);
+
+        GreedyTokenizer greedy = new GreedyTokenizer();
+        OptimalTokenizer optimal = new OptimalTokenizer();
+        tokenizer = switch (tokenizerType) {
+            case "GREEDY" -> greedy;
+            case "OPTIMAL" -> optimal;
+            default -> new AdaptiveTokenizer(greedy, optimal);
+        };
+    }
+
+    /**
+     * 文字種による事前分割のみ
+     */
+    @Benchmark
+    public int computeMatchLimits() {
+        int sum = 0;
+        for (int i = 0; i < INPUTS.size(); i++) {
+            String input = INPUTS.get(i);
+            ScriptRuns.computeMatchLimits(index, input, 0, input.length(), scratch.matchLimits);
+            sum += scratch.matchLimits[0];
+        }
+        return sum;
+    }
+
+    /**
+     * 事前分割を含むトークン化
+     */
+    @Benchmark
+    public int tokenize() {
+        int tokens = 0;
+        for (int i = 0; i < INPUTS.size(); i++) {
+            String input = INPUTS.get(i);
+            SpanBuffer spans = scratch.spans();
+            tokenizer.tokenize(index, input, 0, input.length(), spans, scratch);
+            tokens += spans.size();
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 逐次トークン化セッションのベンチマーク
+ * 入力中の論理名に1文字を追加、置換して戻す編集と、同じ文字列全体を最適分割選択方式で分割し直す場合を比べる。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizeSessionBenchmark {
+
+    private static final String UNIT = "顧客管理システム・注文明細番号、売上金額データ";
+
+    @Param({"1", "8", "64"})
+    public int repeat;
+
+    private DictionaryIndex index;
+    private OptimalTokenizer optimal;
+    private TokenizeScratch scratch;
+    private TokenizeSession session;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Map<String, List<String>> dictionary = new HashMap<>();
+        dictionary.put("顧客", List.of("customer"));
+        dictionary.put("管理", List.of("management"));
+        dictionary.put("顧客管理", List.of("customer_management"));
+        dictionary.put("システム", List.of("system"));
+        dictionary.put("注文", List.of("order"));
+        dictionary.put("明細", List.of("detail"));
+        dictionary.put("番号", List.of("number"));
+        dictionary.put("売上", List.of("sales"));
+        dictionary.put("金額", List.of("amount"));
+        dictionary.put("データ", List.of("data"));
+        index = DictionaryIndex.compile(dictionary);
+        optimal = new OptimalTokenizer();
+        text = UNIT.repeat(repeat);
+        scratch = new TokenizeScratch(text.length() + 1);
+        session = new TokenizeSession(index, text);
+    }
+
+    /**
+     * 全体の分割し直し（末尾に1文字を追加した文字列）
+     */
+    @Benchmark
+    public int fullTokenize() {
+        String input = text + "コ";
+        SpanBuffer spans = scratch.spans();
+        optimal.tokenize(index, input, 0, input.length(), spans, scratch);
+        return spans.size();
+    }
+
+    /**
+     * 末尾への1文字の追加と削除
+     */
+    @Benchmark
+    public int sessionAppend() {
+        session.append("コ");
+        int size = session.getLastSearchedLength();
+        session.delete(text.length(), 1);
+        return size;
+    }
+
+    /**
+     * 中央の1文字の置換と復元
+     */
+    @Benchmark
+    public int sessionReplaceMiddle() {
+        int offset = text.length() / 2;
+        char original = text.charAt(offset);
+        session.replace(offset, 1, "X");
+        int size = session.getLastSearchedLength();
+        session.replace(offset, 1, String.valueOf(original));
+        return size;
+    }
+
+    /**
+     * 先頭の1文字の置換と復元
+     */
+    @Benchmark
+    public int sessionReplaceHead() {
+        char original = text.charAt(0);
+        session.replace(0, 1, "X");
+        int size = session.getLastSearchedLength();
+        session.replace(0, 1, String.valueOf(original));
+        return size;
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.DictionaryIndex;
+import cherry.pname.main.tokenize.TokenizeBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 名前を付けた複数の辞書を保持するレジストリ
+ * 業務領域ごとの辞書を1つのプロセスで使い分けるため、辞書を名前ごとにコンパイルして保持し、
+ * 生成時に名前で辞書を選ぶ。辞書は名前ごとに独立して登録、置き換え、登録解除でき、置き換えるたびに改訂番号が増える。
+ * <p>
+ * 名前による辞書の参照は排他制御を行わない。置き換えは参照中の生成に影響せず、以降の参照から新しい辞書が使われる。
+ * </p>
+ * <p>
+ * コンパイル済みの辞書の見積もりバイト数の合計が上限を超えると、最も長く参照されていない辞書のコンパイル結果を破棄する。
+ * 破棄した辞書は登録を解除せず、次に参照された時に辞書データから読み込み直してコンパイルする。
+ * そのため、文字列から登録した辞書の辞書データは保持し続ける（見積もりバイト数には含めない）。
+ * </p>
+ */
+@Component
+public class DictionaryRegistry {
+
+    /**
+     * コンパイル済みの辞書の見積もりバイト数の合計の既定の上限
+     * システムプロパティ {@code cherry.pname.dictionary-registry.max-bytes} で変更できる。0以下の場合は破棄しない。
+     */
+    public static final long DEFAULT_MAX_BYTES = Long.getLong("cherry.pname.dictionary-registry.max-bytes", 256L * 1024 * 1024);
+
+    /**
+     * 辞書を読み込む処理
+     */
+    @FunctionalInterface
+    private interface Source {
+        DictionaryIndex load() throws IOException;
+    }
+
+    /**
+     * 名前を付けた辞書
+     * コンパイル結果は破棄されるとnullとなり、次の参照時に読み込み直す。
+     */
+    private static final class Entry {
+
+        private final String name;
+        private final Source source;
+        private long revision;
+        private volatile DictionaryIndex index;
+        private long bytes;
+        private volatile long lastAccess;
+
+        /**
+         * コンパイル済みの辞書を保持した状態で生成する（登録した時点で読み込み済みとして参照される）
+         */
+        Entry(String name, Source source, DictionaryIndex index, long lastAccess) {
+            this.name = name;
+            this.source = source;
+            this.index = index;
+            this.bytes = index.estimateBytes();
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final PhysicalNameGenerator generator;
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final AtomicLong accessClock = new AtomicLong();
+
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param generator 辞書のコンパイルと物理名の生成に使用するジェネレーター
+     */
+    @Autowired
+    public DictionaryRegistry(PhysicalNameGenerator generator) {
+        this(generator, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param generator 辞書のコンパイルと物理名の生成に使用するジェネレーター
+     * @param maxBytes  コンパイル済みの辞書の見積もりバイト数の合計の上限（0以下の場合は破棄しない）
+     */
+    public DictionaryRegistry(PhysicalNameGenerator generator, long maxBytes) {
+        this.generator = generator;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 辞書データを文字列から読み込んで、名前を付けて登録する
+     *
+     * @param name   辞書の名前
+     * @param format 辞書データの形式
+     * @param data   辞書データ
+     * @return コンパイル済みの辞書
+     * @throws IOException              辞書の読み込みに失敗した場合
+     * @throws IllegalArgumentException 同じ名前の辞書が登録済みの場合
+     */
+    public DictionaryIndex register(String name, DictionaryFormat format, String data) throws IOException {
+        return put(name, () -> generator.compileDictionary(format, data), false);
+    }
+
+    /**
+     * 辞書データをリソースから読み込んで、名前を付けて登録する
+     * コンパイル結果を破棄した後は、リソースから読み込み直す。
+     *
+     * @param name     辞書の名前
+     * @param format   辞書データの形式
+     * @param resource 辞書リソース
+     * @param charset  文字エンコーディング
+     * @return コンパイル済みの辞書
+     * @throws IOException              辞書の読み込みに失敗した場合
+     * @throws IllegalArgumentException 同じ名前の辞書が登録済みの場合
+     */
+    public DictionaryIndex register(String name, DictionaryFormat format, Resource resource, Charset charset) throws IOException {
+        return put(name, () -> generator.compileDictionary(format, resource.getContentAsString(charset)), false);
+    }
+
+    /**
+     * 辞書データをリソースから読み込んで、名前を付けて登録する（UTF-8）
+     *
+     * @param name     辞書の名前
+     * @param format   辞書データの形式
+     * @param resource 辞書リソース
+     * @return コンパイル済みの辞書
+     * @throws IOException              辞書の読み込みに失敗した場合
+     * @throws IllegalArgumentException 同じ名前の辞書が登録済みの場合
+     */
+    public DictionaryIndex register(String name, DictionaryFormat format, Resource resource) throws IOException {
+        return register(name, format, resource, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 登録済みの辞書を、文字列から読み込んだ辞書データで置き換える
+     *
+     * @param name   辞書の名前
+     * @param format 辞書データの形式
+     * @param data   辞書データ
+     * @return コンパイル済みの辞書
+     * @throws IOException              辞書の読み込みに失敗した場合（登録済みの辞書は変わらない）
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public DictionaryIndex replace(String name, DictionaryFormat format, String data) throws IOException {
+        return put(name, () -> generator.compileDictionary(format, data), true);
+    }
+
+    /**
+     * 登録済みの辞書を、リソースから読み込んだ辞書データで置き換える
+     *
+     * @param name     辞書の名前
+     * @param format   辞書データの形式
+     * @param resource 辞書リソース
+     * @param charset  文字エンコーディング
+     * @return コンパイル済みの辞書
+     * @throws IOException              辞書の読み込みに失敗した場合（登録済みの辞書は変わらない）
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public DictionaryIndex replace(String name, DictionaryFormat format, Resource resource, Charset charset) throws IOException {
+        return put(name, () -> generator.compileDictionary(format, resource.getContentAsString(charset)), true);
+    }
+
+    /**
+     * 辞書の登録を解除する
+     *
+     * @param name 辞書の名前
+     * @return 登録を解除した場合true、登録されていなかった場合false
+     */
+    public boolean unregister(String name) {
+        Entry removed = entries.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        release(removed);
+        return true;
+    }
+
+    /**
+     * 名前で辞書を取得する
+     * コンパイル結果を破棄した辞書は、読み込み直してコンパイルする。
+     *
+     * @param name 辞書の名前
+     * @return コンパイル済みの辞書
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     * @throws UncheckedIOException     破棄した辞書の読み込み直しに失敗した場合
+     */
+    public DictionaryIndex get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown dictionary: " + name);
+        }
+        entry.lastAccess = accessClock.incrementAndGet();
+        DictionaryIndex index = entry.index;
+        if (index != null) {
+            return index;
+        }
+        try {
+            return reload(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reload dictionary: " + name, e);
+        }
+    }
+
+    /**
+     * 辞書が登録されているかどうかを判定する
+     *
+     * @param name 辞書の名前
+     * @return 登録されている場合true
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * 登録されている辞書の名前を取得する
+     *
+     * @return 辞書の名前の集合（名前の順）
+     */
+    public Set<String> names() {
+        return new TreeSet<>(entries.keySet());
+    }
+
+    /**
+     * 辞書の改訂番号を取得する
+     * 登録時は1で、置き換えるたびに1増える。コンパイル結果の破棄と読み込み直しでは変わらない。
+     *
+     * @param name 辞書の名前
+     * @return 改訂番号
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public long getRevision(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown dictionary: " + name);
+        }
+        return entry.revision;
+    }
+
+    /**
+     * 名前で選んだ辞書で物理名を生成する
+     *
+     * @param dictionaryName   辞書の名前
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalName      元の日本語名
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 物理名生成結果
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public PhysicalNameResult generatePhysicalName(String dictionaryName, TokenizerType tokenizerType, NamingConvention namingConvention, String logicalName, boolean enableFallback) {
+        return generatePhysicalName(dictionaryName, tokenizerType, namingConvention, logicalName, enableFallback, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して、名前で選んだ辞書で物理名を生成する
+     *
+     * @param dictionaryName   辞書の名前
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalName      元の日本語名
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           トークン化の処理時間と作業量の上限
+     * @return 物理名生成結果
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public PhysicalNameResult generatePhysicalName(String dictionaryName, TokenizerType tokenizerType, NamingConvention namingConvention, String logicalName, boolean enableFallback,
+                                                   TokenizeBudget budget) {
+        return generator.generatePhysicalName(get(dictionaryName), tokenizerType, namingConvention, logicalName, enableFallback, budget);
+    }
+
+    /**
+     * 名前で選んだ辞書で、1つの論理名から複数の命名規則で物理名を生成する
+     *
+     * @param dictionaryName    辞書の名前
+     * @param tokenizerType     トークナイザーの種類
+     * @param namingConventions 命名規則（重複は1つにまとめる）
+     * @param logicalName       元の日本語名
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @param budget            トークン化の処理時間と作業量の上限
+     * @return 命名規則ごとの物理名生成結果
+     * @throws IllegalArgumentException 辞書が登録されていない場合、または命名規則が指定されていない場合
+     */
+    public PhysicalNameVariants generatePhysicalNameVariants(String dictionaryName, TokenizerType tokenizerType, Collection<NamingConvention> namingConventions, String logicalName,
+                                                             boolean enableFallback, TokenizeBudget budget) {
+        return generator.generatePhysicalNameVariants(get(dictionaryName), tokenizerType, namingConventions, logicalName, enableFallback, budget);
+    }
+
+    /**
+     * 名前で選んだ辞書で、複数の論理名からまとめて物理名を生成する
+     *
+     * @param dictionaryName   辞書の名前
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のリスト
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @return 入力と同じ順序の物理名生成結果のリスト
+     * @throws IllegalArgumentException 辞書が登録されていない場合
+     */
+    public List<PhysicalNameResult> generatePhysicalNames(String dictionaryName, TokenizerType tokenizerType, NamingConvention namingConvention, List<String> logicalNames,
+                                                          boolean enableFallback, TokenizeBudget budget) {
+        return generator.generatePhysicalNames(get(dictionaryName), tokenizerType, namingConvention, logicalNames, enableFallback, budget);
+    }
+
+    /**
+     * コンパイル済みの辞書の見積もりバイト数の合計を取得する
+     *
+     * @return 見積もりバイト数
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    /**
+     * コンパイル済みの辞書の見積もりバイト数の合計の上限を取得する
+     *
+     * @return 見積もりバイト数の上限
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 辞書を読み込んでコンパイルした回数を取得する（登録、置き換え、破棄後の読み込み直しを含む）
+     *
+     * @return 読み込んだ回数
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * 上限を超えたためにコンパイル結果を破棄した回数を取得する
+     *
+     * @return 破棄した回数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 辞書を読み込んで登録または置き換える
+     * 読み込みは排他制御の外で行い、失敗した場合は登録済みの辞書を変えない。
+     * 登録するエントリはコンパイル済みの辞書を保持した状態で公開し、見積もりバイト数も公開と同時に加える。
+     * 未読み込みの状態が見えると、並行する参照が読み込み直して二重に数えるためである。
+     */
+    private DictionaryIndex put(String name, Source source, boolean replace) throws IOException {
+        DictionaryIndex index = source.load();
+        loadCount.increment();
+        Entry created = new Entry(name, source, index, accessClock.incrementAndGet());
+        Entry[] previous = new Entry[1];
+        Entry current = entries.compute(name, (key, existing) -> {
+            if (replace ? existing == null : existing != null) {
+                return existing;
+            }
+            previous[0] = existing;
+            created.revision = existing == null ? 1 : existing.revision + 1;
+            residentBytes.addAndGet(created.bytes);
+            return created;
+        });
+        if (current != created) {
+            throw new IllegalArgumentException(replace ? "Unknown dictionary: " + name : "Dictionary already registered: " + name);
+        }
+        if (previous[0] != null) {
+            release(previous[0]);
+        }
+        evictIfNeeded(created);
+        return index;
+    }
+
+    /**
+     * 破棄した辞書を読み込み直す（同じ辞書の読み込み直しは1つのスレッドだけが行う）
+     */
+    private DictionaryIndex reload(Entry entry) throws IOException {
+        DictionaryIndex index;
+        synchronized (entry) {
+            index = entry.index;
+            if (index != null) {
+                return index;
+            }
+            index = entry.source.load();
+            loadCount.increment();
+            install(entry, index);
+        }
+        // 他の辞書の破棄は、この辞書の排他制御の外で行う
+        evictIfNeeded(entry);
+        return index;
+    }
+
+    /**
+     * 破棄した辞書のコンパイル結果を保持し直す（既に保持している場合は何もしない）
+     */
+    private void install(Entry entry, DictionaryIndex index) {
+        synchronized (entry) {
+            if (entry.index != null) {
+                return;
+            }
+            entry.bytes = index.estimateBytes();
+            entry.index = index;
+            entry.lastAccess = accessClock.incrementAndGet();
+            residentBytes.addAndGet(entry.bytes);
+        }
+        if (entries.get(entry.name) != entry) {
+            // 保持する前に登録を解除または置き換えられた場合
+            release(entry);
+        }
+    }
+
+    /**
+     * 見積もりバイト数の合計が上限を超えている間、最も長く参照されていない辞書のコンパイル結果を破棄する
+     * 保持したばかりの辞書は破棄しない。
+     */
+    private void evictIfNeeded(Entry keep) {
+        if (maxBytes <= 0) {
+            return;
+        }
+        synchronized (residentBytes) {
+            while (residentBytes.get() > maxBytes) {
+                Entry eldest = null;
+                for (Entry candidate : entries.values()) {
+                    if (candidate != keep && candidate.index != null
+                            && (eldest == null || candidate.lastAccess < eldest.lastAccess)) {
+                        eldest = candidate;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                if (release(eldest)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 辞書のコンパイル結果を破棄する
+     *
+     * @return 破棄した場合true（既に破棄されていた場合false）
+     */
+    private boolean release(Entry entry) {
+        synchronized (entry) {
+            if (entry.index == null) {
+                return false;
+            }
+            entry.index = null;
+            residentBytes.addAndGet(-entry.bytes);
+            entry.bytes = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.CaseForms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 物理名要素の書き出し方をまとめた命名規則のテンプレート
+ * 区切り文字、先頭の要素とそれ以降の要素の大文字・小文字の形、接頭辞、接尾辞、長さの上限からなる。
+ * テンプレートは構築時に書き出しに必要な値をすべて決めておき、物理名要素を1回たどるだけで物理名を書き出す。
+ * 組み込みの命名規則も{@link #of(NamingConvention)}で同じテンプレートとして扱う。
+ * <p>
+ * 長さの上限を超える場合は、接頭辞と接尾辞を残して本体（物理名要素の部分）の末尾を切り詰める。
+ * 切り詰めた末尾が区切り文字になる場合は、区切り文字も除く。
+ * </p>
+ * <p>
+ * 例: テーブル名 {@code NamingTemplate.of(NamingConvention.UPPER_SNAKE).withPrefix("T_").withMaxLength(30)}、
+ * コード値の列名 {@code NamingTemplate.of(NamingConvention.LOWER_SNAKE).withSuffix("_cd")}
+ * </p>
+ */
+public final class NamingTemplate {
+
+    /**
+     * 物理名要素の大文字・小文字の形
+     */
+    public enum ElementCase {
+        /**
+         * 小文字 (例: customer)
+         */
+        LOWER,
+
+        /**
+         * 大文字 (例: CUSTOMER)
+         */
+        UPPER,
+
+        /**
+         * 先頭のみ大文字 (例: Customer)
+         */
+        CAPITALIZED
+    }
+
+    /**
+     * 長さの上限なし
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final NamingTemplate[] BUILT_IN = new NamingTemplate[NamingConvention.values().length];
+
+    static {
+        for (NamingConvention convention : NamingConvention.values()) {
+            BUILT_IN[convention.ordinal()] = switch (convention) {
+                case CAMEL, LOWER_CAMEL -> of("", ElementCase.LOWER, ElementCase.CAPITALIZED);
+                case PASCAL, UPPER_CAMEL -> of("", ElementCase.CAPITALIZED, ElementCase.CAPITALIZED);
+                case SNAKE, LOWER_SNAKE -> of("_", ElementCase.LOWER, ElementCase.LOWER);
+                case UPPER_SNAKE -> of("_", ElementCase.UPPER, ElementCase.UPPER);
+                case KEBAB, LOWER_KEBAB -> of("-", ElementCase.LOWER, ElementCase.LOWER);
+                case UPPER_KEBAB -> of("-", ElementCase.UPPER, ElementCase.UPPER);
+            };
+        }
+    }
+
+    private final String separator;
+    private final ElementCase firstCase;
+    private final ElementCase restCase;
+    private final String prefix;
+    private final String suffix;
+    private final int maxLength;
+
+    /**
+     * 本体の長さの上限（長さの上限から接頭辞と接尾辞の長さを除いたもの）
+     */
+    private final int maxBodyLength;
+
+    private NamingTemplate(String separator, ElementCase firstCase, ElementCase restCase, String prefix, String suffix, int maxLength) {
+        if (maxLength != UNLIMITED && maxLength <= prefix.length() + suffix.length()) {
+            throw new IllegalArgumentException("Max length must exceed the prefix and suffix length: " + maxLength);
+        }
+        this.separator = separator;
+        this.firstCase = firstCase;
+        this.restCase = restCase;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.maxLength = maxLength;
+        this.maxBodyLength = maxLength == UNLIMITED ? UNLIMITED : maxLength - prefix.length() - suffix.length();
+    }
+
+    /**
+     * 組み込みの命名規則のテンプレートを取得する
+     *
+     * @param convention 命名規則
+     * @return テンプレート
+     */
+    public static NamingTemplate of(NamingConvention convention) {
+        return BUILT_IN[convention.ordinal()];
+    }
+
+    /**
+     * 区切り文字と大文字・小文字の形を指定してテンプレートを作成する
+     *
+     * @param separator 区切り文字（区切らない場合は空文字列）
+     * @param firstCase 先頭の要素の形
+     * @param restCase  2番目以降の要素の形
+     * @return テンプレート
+     */
+    public static NamingTemplate of(String separator, ElementCase firstCase, ElementCase restCase) {
+        return new NamingTemplate(separator, firstCase, restCase, "", "", UNLIMITED);
+    }
+
+    /**
+     * 接頭辞を指定する
+     *
+     * @param prefix 接頭辞（そのまま書き出す）
+     * @return テンプレート
+     * @throws IllegalArgumentException 接頭辞と接尾辞の長さが長さの上限以上となる場合
+     */
+    public NamingTemplate withPrefix(String prefix) {
+        return new NamingTemplate(separator, firstCase, restCase, prefix, suffix, maxLength);
+    }
+
+    /**
+     * 接尾辞を指定する
+     *
+     * @param suffix 接尾辞（そのまま書き出す）
+     * @return テンプレート
+     * @throws IllegalArgumentException 接頭辞と接尾辞の長さが長さの上限以上となる場合
+     */
+    public NamingTemplate withSuffix(String suffix) {
+        return new NamingTemplate(separator, firstCase, restCase, prefix, suffix, maxLength);
+    }
+
+    /**
+     * 長さの上限を指定する
+     *
+     * @param maxLength 接頭辞と接尾辞を含む物理名の文字数の上限（{@link #UNLIMITED}の場合は上限なし）
+     * @return テンプレート
+     * @throws IllegalArgumentException 長さの上限が接頭辞と接尾辞の長さ以下の場合
+     */
+    public NamingTemplate withMaxLength(int maxLength) {
+        return new NamingTemplate(separator, firstCase, restCase, prefix, suffix, maxLength);
+    }
+
+    /**
+     * 区切り文字を取得する
+     *
+     * @return 区切り文字
+     */
+    public String separator() {
+        return separator;
+    }
+
+    /**
+     * 先頭の要素の形を取得する
+     *
+     * @return 先頭の要素の形
+     */
+    public ElementCase firstCase() {
+        return firstCase;
+    }
+
+    /**
+     * 2番目以降の要素の形を取得する
+     *
+     * @return 2番目以降の要素の形
+     */
+    public ElementCase restCase() {
+        return restCase;
+    }
+
+    /**
+     * 接頭辞を取得する
+     *
+     * @return 接頭辞（ない場合は空文字列）
+     */
+    public String prefix() {
+        return prefix;
+    }
+
+    /**
+     * 接尾辞を取得する
+     *
+     * @return 接尾辞（ない場合は空文字列）
+     */
+    public String suffix() {
+        return suffix;
+    }
+
+    /**
+     * 長さの上限を取得する
+     *
+     * @return 物理名の文字数の上限（上限なしの場合は{@link #UNLIMITED}）
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 長さの上限があるかどうかを判定する
+     *
+     * @return 上限がある場合true
+     */
+    public boolean hasMaxLength() {
+        return maxLength != UNLIMITED;
+    }
+
+    /**
+     * 物理名要素リストをフォーマットする
+     *
+     * @param elements 物理名要素リスト
+     * @return 物理名
+     */
+    public String format(List<String> elements) {
+        int length = prefix.length() + suffix.length();
+        for (String element : elements) {
+            length += element.length();
+        }
+        if (!elements.isEmpty()) {
+            length += (elements.size() - 1) * separator.length();
+        }
+        StringBuilder sb = new StringBuilder(Math.min(length, maxLength));
+        appendTo(sb, elements);
+        return sb.toString();
+    }
+
+    /**
+     * 物理名要素リストをフォーマットして書き出す
+     *
+     * @param out      書き出し先
+     * @param elements 物理名要素リスト
+     * @return 書き出し先
+     */
+    public StringBuilder appendTo(StringBuilder out, List<String> elements) {
+        int bodyStart = begin(out);
+        for (int i = 0; i < elements.size() && !isFull(out, bodyStart); i++) {
+            appendElement(out, i, elements.get(i));
+        }
+        return end(out, bodyStart);
+    }
+
+    /**
+     * 接頭辞を書き出す
+     *
+     * @param out 書き出し先
+     * @return 本体の開始位置
+     */
+    int begin(StringBuilder out) {
+        return out.append(prefix).length();
+    }
+
+    /**
+     * 本体が長さの上限に達したかどうかを判定する（以降の要素は書き出しても切り詰められる）
+     *
+     * @param out       書き出し先
+     * @param bodyStart 本体の開始位置
+     * @return 上限に達した場合true
+     */
+    boolean isFull(StringBuilder out, int bodyStart) {
+        return out.length() - bodyStart >= maxBodyLength;
+    }
+
+    /**
+     * 本体を長さの上限まで切り詰めてから接尾辞を書き出す
+     *
+     * @param out       書き出し先
+     * @param bodyStart 本体の開始位置
+     * @return 書き出し先
+     */
+    StringBuilder end(StringBuilder out, int bodyStart) {
+        if (out.length() - bodyStart > maxBodyLength) {
+            int length = bodyStart + maxBodyLength;
+            if (!separator.isEmpty() && length - bodyStart >= separator.length()
+                    && out.lastIndexOf(separator, length) == length - separator.length()) {
+                length -= separator.length();
+            }
+            out.setLength(length);
+        }
+        return out.append(suffix);
+    }
+
+    /**
+     * 物理名要素を1つ変換しながら書き出す（区切り文字を含む、接頭辞と接尾辞は含まない）
+     *
+     * @param out      書き出し先
+     * @param position 物理名の中での要素の位置（0始まり）
+     * @param element  物理名要素
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void appendElement(Appendable out, int position, String element) throws IOException {
+        if (position > 0) {
+            out.append(separator);
+        }
+        switch (position == 0 ? firstCase : restCase) {
+            case LOWER -> CaseForms.appendLowerCase(out, element);
+            case UPPER -> CaseForms.appendUpperCase(out, element);
+            case CAPITALIZED -> CaseForms.appendCapitalized(out, element);
+        }
+    }
+
+    /**
+     * 物理名要素を1つ変換しながら書き出す（区切り文字を含む、接頭辞と接尾辞は含まない）
+     *
+     * @param out      書き出し先
+     * @param position 物理名の中での要素の位置（0始まり）
+     * @param element  物理名要素
+     */
+    public void appendElement(StringBuilder out, int position, String element) {
+        try {
+            appendElement((Appendable) out, position, element);
+        } catch (IOException e) {
+            // StringBuilderへの書き出しでは発生しない
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * コンパイル時に求めた物理名要素の形を1つ書き出す（区切り文字を含む、接頭辞と接尾辞は含まない）
+     *
+     * @param out      書き出し先
+     * @param position 物理名の中での要素の位置（0始まり）
+     * @param forms    物理名要素の大文字・小文字の形
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void appendElement(Appendable out, int position, CaseForms forms) throws IOException {
+        if (position > 0) {
+            out.append(separator);
+        }
+        out.append(select(forms, position));
+    }
+
+    /**
+     * コンパイル時に求めた物理名要素の形を1つ書き出す（区切り文字を含む、接頭辞と接尾辞は含まない）
+     *
+     * @param out      書き出し先
+     * @param position 物理名の中での要素の位置（0始まり）
+     * @param forms    物理名要素の大文字・小文字の形
+     */
+    public void appendElement(StringBuilder out, int position, CaseForms forms) {
+        if (position > 0) {
+            out.append(separator);
+        }
+        out.append(select(forms, position));
+    }
+
+    /**
+     * 要素の位置に対応する物理名要素の形を選ぶ
+     *
+     * @param forms    物理名要素の大文字・小文字の形
+     * @param position 物理名の中での要素の位置（0始まり）
+     * @return 物理名要素の形
+     */
+    public String select(CaseForms forms, int position) {
+        return switch (position == 0 ? firstCase : restCase) {
+            case LOWER -> forms.lower();
+            case UPPER -> forms.upper();
+            case CAPITALIZED -> forms.capitalized();
+        };
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 物理名生成結果のキャッシュ
+ * IDEのプラグインやCIのチェックからは同じ論理名が繰り返し生成されるため、
+ * トークン化、未知語のローマ字化、命名規則の適用の結果を生成条件ごとに保持する。
+ * 生成条件は論理名、トークナイザーの種類、命名規則、fallback処理の有無、辞書のバージョンとする。
+ * 辞書のバージョンは辞書をコンパイルするたびに変わるため、辞書を設定し直した後に古い結果を返すことはない。
+ * <p>
+ * 上限はエントリ数ではなく、保持する文字列から見積もったバイト数で指定する。
+ * エントリは生成条件のハッシュ値で区画に分けて保持し、参照と追加は区画ごとのロックで行う。
+ * 区画ごとの上限（上限を区画の数で割った値）を超えると、その区画で最も長く参照されていないエントリから破棄する。
+ * 既定ではキャッシュしない。
+ * </p>
+ */
+public final class PhysicalNameCache {
+
+    /**
+     * 保持する結果の見積もりバイト数の既定の上限
+     * システムプロパティ {@code cherry.pname.result-cache.max-bytes} で変更できる。0以下（既定）の場合はキャッシュしない。
+     */
+    public static final long DEFAULT_MAX_BYTES = Long.getLong("cherry.pname.result-cache.max-bytes", 0L);
+
+    /**
+     * 区画の数の上限
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * 区画1つあたりの見積もりバイト数の下限（これより小さい上限では区画を分けない）
+     */
+    private static final long MIN_STRIPE_BYTES = 64L * 1024;
+
+    /**
+     * 文字列1つあたりの見積もりの固定部分（オブジェクトヘッダー、配列ヘッダー、参照）
+     */
+    private static final int STRING_OVERHEAD = 56;
+
+    /**
+     * エントリ1つあたりの見積もりの固定部分（キー、結果、リスト、マップのエントリ）
+     */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    /**
+     * 生成条件
+     * equalsとhashCodeは明示的に実装する。レコードが生成する実装は最初の呼び出しで
+     * invokedynamicのブートストラップを行うため、起動直後の最初の生成に時間がかかる。
+     *
+     * @param logicalName       元の日本語名
+     * @param tokenizerType     トークナイザーの種類
+     * @param namingConvention  命名規則
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @param dictionaryVersion 辞書のバージョン
+     */
+    public record Key(
+            String logicalName,
+            TokenizerType tokenizerType,
+            NamingConvention namingConvention,
+            boolean enableFallback,
+            long dictionaryVersion
+    ) {
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other
+                    && dictionaryVersion == other.dictionaryVersion
+                    && enableFallback == other.enableFallback
+                    && tokenizerType == other.tokenizerType
+                    && namingConvention == other.namingConvention
+                    && Objects.equals(logicalName, other.logicalName);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Objects.hashCode(logicalName);
+            h = 31 * h + tokenizerType.hashCode();
+            h = 31 * h + namingConvention.hashCode();
+            h = 31 * h + Boolean.hashCode(enableFallback);
+            return 31 * h + Long.hashCode(dictionaryVersion);
+        }
+    }
+
+    private record Entry(PhysicalNameResult result, long bytes) {
+    }
+
+    private final long maxBytes;
+    private final Stripe[] stripes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxBytes 保持する結果の見積もりバイト数の上限（0以下の場合はキャッシュしない）
+     */
+    public PhysicalNameCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        int count = (int) Long.highestOneBit(Math.max(1L, Math.min(MAX_STRIPES, maxBytes / MIN_STRIPE_BYTES)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(maxBytes, 0L) / count);
+        }
+    }
+
+    /**
+     * 生成条件に対応する結果を取得する
+     *
+     * @param key 生成条件
+     * @return 物理名生成結果（保持していない場合はnull）
+     */
+    public PhysicalNameResult get(Key key) {
+        if (maxBytes <= 0) {
+            return null;
+        }
+        Entry entry = stripe(key).lookup(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.result();
+    }
+
+    /**
+     * 生成条件に対応する結果を保持する
+     * トークンマッピングは組み立ててから変更できないリストに写して保持する。
+     * 参照された時に組み立てるリストは、トークン化結果や未知語の変換結果も参照し続けるため、そのままは保持しない。
+     * 1件で区画の上限を超える結果は保持しない。
+     *
+     * @param key    生成条件
+     * @param result 物理名生成結果
+     * @return 保持した結果（保持しなかった場合は引数の結果）
+     */
+    public PhysicalNameResult put(Key key, PhysicalNameResult result) {
+        if (maxBytes <= 0) {
+            return result;
+        }
+        Stripe stripe = stripe(key);
+        PhysicalNameResult stored = new PhysicalNameResult(
+                result.logicalName(), result.physicalName(), List.copyOf(result.tokenMappings()), result.degraded());
+        long size = estimateBytes(key, stored);
+        if (size > stripe.maxBytes) {
+            return result;
+        }
+        stripe.store(key, new Entry(stored, size));
+        return stored;
+    }
+
+    /**
+     * 保持している結果を破棄する（統計情報は保持する）
+     * 辞書を設定し直した場合など、保持している結果が参照されなくなった場合に呼び出す。
+     */
+    public void invalidate() {
+        for (Stripe stripe : stripes) {
+            stripe.invalidate();
+        }
+    }
+
+    /**
+     * 保持している結果と統計情報を破棄する
+     */
+    public void clear() {
+        invalidate();
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    /**
+     * キャッシュが有効かどうかを判定する
+     *
+     * @return 上限が1以上の場合true
+     */
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * 保持している結果の件数を取得する
+     *
+     * @return 件数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 保持している結果の見積もりバイト数を取得する
+     *
+     * @return 見積もりバイト数
+     */
+    public long getBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                bytes += stripe.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 保持する結果の見積もりバイト数の上限を取得する
+     *
+     * @return 見積もりバイト数の上限
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 保持していた結果を使用できた回数を取得する
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 保持していた結果を使用できなかった回数を取得する
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 上限を超えたために破棄した結果の件数を取得する
+     *
+     * @return 破棄した件数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * キャッシュのヒット率を取得する
+     *
+     * @return ヒット率（参照がない場合は0）
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * 保持する結果のバイト数を見積もる
+     * 論理名は生成結果と共有されるため1回だけ数える。
+     */
+    static long estimateBytes(Key key, PhysicalNameResult result) {
+        long size = ENTRY_OVERHEAD + stringBytes(key.logicalName()) + stringBytes(result.physicalName());
+        for (String mapping : result.tokenMappings()) {
+            size += stringBytes(mapping) + 8;
+        }
+        return size;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : STRING_OVERHEAD + 2L * s.length();
+    }
+
+    /**
+     * 生成条件を保持する区画を取得する
+     */
+    private Stripe stripe(Key key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * 結果を保持する区画（アクセス順のLinkedHashMapと見積もりバイト数を区画ごとのロックで保護する）
+     */
+    private final class Stripe extends LinkedHashMap<Key, Entry> {
+
+        private final long maxBytes;
+        private long bytes;
+
+        Stripe(long maxBytes) {
+            super(16, 0.75f, true);
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Entry lookup(Key key) {
+            return get(key);
+        }
+
+        synchronized void store(Key key, Entry entry) {
+            Entry previous = put(key, entry);
+            if (previous != null) {
+                bytes -= previous.bytes();
+            }
+            bytes += entry.bytes();
+            Iterator<Map.Entry<Key, Entry>> it = entrySet().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                Entry eldest = it.next().getValue();
+                it.remove();
+                bytes -= eldest.bytes();
+                evictionCount.increment();
+            }
+        }
+
+        synchronized void invalidate() {
+            clear();
+            bytes = 0;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.CaseForms;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 物理名要素を命名規則に従って書き出すフォーマッター
+ * 要素ごとの中間文字列（小文字化、先頭の大文字化、連結）を生成せず、
+ * 呼び出し元が用意した{@link StringBuilder}または{@link Appendable}に直接書き出す。
+ * 要素は先頭から順に、0始まりの位置を指定して書き出す。区切り文字は位置が1以上の要素の前に書き出す。
+ * <p>
+ * 辞書の物理名は{@link CaseForms}としてコンパイル時に各形を求めてあるため、そのまま書き出す。
+ * 未知語をローマ字化した要素などは書き出しながら変換する。変換はロケールに依存しない。
+ * </p>
+ * <p>
+ * 命名規則ごとの区切り文字と大文字・小文字の形は{@link NamingTemplate#of(NamingConvention)}の組み込みのテンプレートに委譲する。
+ * </p>
+ */
+public final class PhysicalNameFormatter {
+
+    private PhysicalNameFormatter() {
+    }
+
+    /**
+     * 物理名要素リストを命名規則でフォーマットする
+     * 出力の長さを求めてから、その長さで確保したStringBuilderに書き出す。
+     *
+     * @param elements   物理名要素リスト
+     * @param convention 命名規則
+     * @return 物理名
+     */
+    public static String format(List<String> elements, NamingConvention convention) {
+        return NamingTemplate.of(convention).format(elements);
+    }
+
+    /**
+     * 物理名要素リストを命名規則でフォーマットして書き出す
+     *
+     * @param out        書き出し先
+     * @param elements   物理名要素リスト
+     * @param convention 命名規則
+     * @return 書き出し先
+     */
+    public static StringBuilder appendTo(StringBuilder out, List<String> elements, NamingConvention convention) {
+        return NamingTemplate.of(convention).appendTo(out, elements);
+    }
+
+    /**
+     * 物理名要素リストを命名規則でフォーマットして書き出す
+     *
+     * @param out        書き出し先
+     * @param elements   物理名要素リスト
+     * @param convention 命名規則
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendTo(Appendable out, List<String> elements, NamingConvention convention) throws IOException {
+        NamingTemplate template = NamingTemplate.of(convention);
+        for (int i = 0; i < elements.size(); i++) {
+            template.appendElement(out, i, elements.get(i));
+        }
+    }
+
+    /**
+     * 物理名要素を1つ変換しながら書き出す
+     *
+     * @param out        書き出し先
+     * @param convention 命名規則
+     * @param position   物理名の中での要素の位置（0始まり）
+     * @param element    物理名要素
+     */
+    public static void appendElement(StringBuilder out, NamingConvention convention, int position, String element) {
+        NamingTemplate.of(convention).appendElement(out, position, element);
+    }
+
+    /**
+     * 物理名要素を1つ変換しながら書き出す
+     *
+     * @param out        書き出し先
+     * @param convention 命名規則
+     * @param position   物理名の中での要素の位置（0始まり）
+     * @param element    物理名要素
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendElement(Appendable out, NamingConvention convention, int position, String element) throws IOException {
+        NamingTemplate.of(convention).appendElement(out, position, element);
+    }
+
+    /**
+     * コンパイル時に求めた物理名要素の形を1つ書き出す
+     *
+     * @param out        書き出し先
+     * @param convention 命名規則
+     * @param position   物理名の中での要素の位置（0始まり）
+     * @param forms      物理名要素の大文字・小文字の形
+     */
+    public static void appendElement(StringBuilder out, NamingConvention convention, int position, CaseForms forms) {
+        NamingTemplate.of(convention).appendElement(out, position, forms);
+    }
+
+    /**
+     * コンパイル時に求めた物理名要素の形を1つ書き出す
+     *
+     * @param out        書き出し先
+     * @param convention 命名規則
+     * @param position   物理名の中での要素の位置（0始まり）
+     * @param forms      物理名要素の大文字・小文字の形
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendElement(Appendable out, NamingConvention convention, int position, CaseForms forms) throws IOException {
+        NamingTemplate.of(convention).appendElement(out, position, forms);
+    }
+
+    /**
+     * 命名規則と要素の位置に対応する物理名要素の形を選ぶ
+     *
+     * @param forms      物理名要素の大文字・小文字の形
+     * @param convention 命名規則
+     * @param position   物理名の中での要素の位置（0始まり）
+     * @return 物理名要素の形
+     */
+    public static String select(CaseForms forms, NamingConvention convention, int position) {
+        return NamingTemplate.of(convention).select(forms, position);
+    }
+
+    /**
+     * 命名規則の区切り文字を取得する
+     *
+     * @param convention 命名規則
+     * @return 区切り文字（camelCase系は空文字列）
+     */
+    public static String separator(NamingConvention convention) {
+        return NamingTemplate.of(convention).separator();
+    }
+}
@@ -18,21 +18,52 @@ package cherry.pname.main;
 
 import cherry.pname.main.dictionary.DictionaryLoader;
 import cherry.pname.main.romaji.RomajiConverter;
+import cherry.pname.main.tokenize.CaseForms;
+import cherry.pname.main.tokenize.DictionaryIndex;
 import cherry.pname.main.tokenize.Token;
+import cherry.pname.main.tokenize.TokenSpans;
+import cherry.pname.main.tokenize.TokenizeBudget;
+import cherry.pname.main.tokenize.TokenizeSession;
 import cherry.pname.main.tokenize.Tokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 論理名から物理名を生成するメインクラス
+ * {@link #loadDictionary(DictionaryFormat, String)}で設定した辞書を既定の辞書として使用する。
+ * 呼び出しごとに異なる辞書を使う場合は、{@link #compileDictionary(DictionaryFormat, String)}でコンパイルした辞書を
+ * 生成メソッドに渡す。既定の辞書は変更しないため、複数のスレッドから異なる辞書で同時に生成できる。
+ * 生成結果のキャッシュを有効にした場合は、既定の辞書で1件ずつ生成した結果を{@link PhysicalNameCache}に保持し、
+ * 同じ条件の生成では保持した結果を返す。
+ * 大量の論理名は{@link #generateAll}で複数のスレッドに分けて生成できる。
+ * 組み込みの命名規則のほか、接頭辞、接尾辞、長さの上限を指定した{@link NamingTemplate}で生成できる。
+ * DIコンテナを使わずに組み込む場合は{@link #builder()}で組み立てる。
  */
 @Component
 public class PhysicalNameGenerator {
@@ -43,10 +74,29 @@ public class PhysicalNameGenerator {
     private final DictionaryLoader yamlDictionaryLoader;
     private final Tokenizer greedyTokenizer;
     private final Tokenizer optimalTokenizer;
+    private final Tokenizer adaptiveTokenizer;
+    private final Tokenizer parallelTokenizer;
     private final RomajiConverter romajiConverter;
 
-    private Map<String, List<String>> dictionary = new HashMap<>();
+    /**
+     * まとめての生成を分担する単位（論理名の件数）の上限
+     * システムプロパティ {@code cherry.pname.bulk.chunk-size} で変更できる。
+     */
+    public static final int DEFAULT_BULK_CHUNK_SIZE = Math.max(1, Integer.getInteger("cherry.pname.bulk.chunk-size", 256));
+
+    /**
+     * {@link #generateAll}で使用する既定のExecutor
+     * システムプロパティ {@code cherry.pname.bulk.executor} で変更できる。
+     * {@code virtual}（既定）は仮想スレッド、{@code fork-join}は共通のForkJoinPool、数値はその並列度のForkJoinPoolを使用する。
+     * これら以外の値（1未満の数値を含む）を指定した場合は、クラスの初期化時に例外とする。
+     */
+    public static final Executor DEFAULT_BULK_EXECUTOR = createBulkExecutor(System.getProperty("cherry.pname.bulk.executor", "virtual"));
 
+    private volatile DictionaryIndex dictionaryIndex = DictionaryIndex.EMPTY;
+
+    private final PhysicalNameCache resultCache;
+
+    @Autowired
     public PhysicalNameGenerator(
             @Qualifier("csvDictionaryLoader") DictionaryLoader csvDictionaryLoader,
             @Qualifier("tsvDictionaryLoader") DictionaryLoader tsvDictionaryLoader,
@@ -54,14 +104,50 @@ public class PhysicalNameGenerator {
             @Qualifier("yamlDictionaryLoader") DictionaryLoader yamlDictionaryLoader,
             @Qualifier("greedyTokenizer") Tokenizer greedyTokenizer,
             @Qualifier("optimalTokenizer") Tokenizer optimalTokenizer,
+            @Qualifier("adaptiveTokenizer") Tokenizer adaptiveTokenizer,
+            @Qualifier("parallelTokenizer") Tokenizer parallelTokenizer,
             RomajiConverter romajiConverter) {
+        this(csvDictionaryLoader, tsvDictionaryLoader, jsonDictionaryLoader, yamlDictionaryLoader,
+                greedyTokenizer, optimalTokenizer, adaptiveTokenizer, parallelTokenizer, romajiConverter,
+                new PhysicalNameCache(PhysicalNameCache.DEFAULT_MAX_BYTES));
+    }
+
+    /**
+     * 生成結果のキャッシュを指定して構築する
+     * 使用しないトークナイザーと辞書ローダーはnullとしてよい。nullの種類または形式を指定した呼び出しは例外とする。
+     *
+     * @param resultCache 生成結果のキャッシュ（上限が0以下の場合はキャッシュしない）
+     */
+    public PhysicalNameGenerator(
+            DictionaryLoader csvDictionaryLoader,
+            DictionaryLoader tsvDictionaryLoader,
+            DictionaryLoader jsonDictionaryLoader,
+            DictionaryLoader yamlDictionaryLoader,
+            Tokenizer greedyTokenizer,
+            Tokenizer optimalTokenizer,
+            Tokenizer adaptiveTokenizer,
+            Tokenizer parallelTokenizer,
+            RomajiConverter romajiConverter,
+            PhysicalNameCache resultCache) {
         this.csvDictionaryLoader = csvDictionaryLoader;
         this.tsvDictionaryLoader = tsvDictionaryLoader;
         this.jsonDictionaryLoader = jsonDictionaryLoader;
         this.yamlDictionaryLoader = yamlDictionaryLoader;
         this.greedyTokenizer = greedyTokenizer;
         this.optimalTokenizer = optimalTokenizer;
+        this.adaptiveTokenizer = adaptiveTokenizer;
+        this.parallelTokenizer = parallelTokenizer;
         this.romajiConverter = romajiConverter;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * DIコンテナを使わずに物理名ジェネレーターを組み立てるビルダーを作成する
+     *
+     * @return ビルダー
+     */
+    public static PhysicalNameGeneratorBuilder builder() {
+        return new PhysicalNameGeneratorBuilder();
     }
 
     /**
@@ -73,7 +159,31 @@ public class PhysicalNameGenerator {
      */
     public void loadDictionary(DictionaryFormat format, String data) throws IOException {
         DictionaryLoader loader = getDictionaryLoader(format);
-        this.dictionary = loader.load(data);
+        this.dictionaryIndex = DictionaryIndex.compile(loader.load(data));
+        resultCache.invalidate();
+    }
+
+    /**
+     * 辞書データを文字列から読み込んでコンパイルする
+     * 既定の辞書は変更しない。リクエストごとに指定された辞書を使う場合などに、生成メソッドに渡して使用する。
+     *
+     * @param format 辞書データの形式
+     * @param data   辞書データ
+     * @return コンパイル済みの辞書
+     * @throws IOException 辞書の読み込みに失敗した場合
+     */
+    public DictionaryIndex compileDictionary(DictionaryFormat format, String data) throws IOException {
+        return DictionaryIndex.compile(getDictionaryLoader(format).load(data));
+    }
+
+    /**
+     * 既定の辞書を取得する
+     * 取得した辞書は、その後に既定の辞書が設定し直されても変わらない。
+     *
+     * @return コンパイル済みの既定の辞書
+     */
+    public DictionaryIndex getDictionaryIndex() {
+        return dictionaryIndex;
     }
 
     /**
@@ -108,12 +218,16 @@ public class PhysicalNameGenerator {
      * @throws IllegalArgumentException サポートされていない形式の場合
      */
     private DictionaryLoader getDictionaryLoader(DictionaryFormat format) {
-        return switch (format) {
+        DictionaryLoader loader = switch (format) {
             case CSV -> csvDictionaryLoader;
             case TSV -> tsvDictionaryLoader;
             case JSON -> jsonDictionaryLoader;
             case YAML -> yamlDictionaryLoader;
         };
+        if (loader == null) {
+            throw new IllegalArgumentException("Dictionary format not enabled: " + format);
+        }
+        return loader;
     }
 
     /**
@@ -125,7 +239,7 @@ public class PhysicalNameGenerator {
      */
     public List<Token> tokenize(TokenizerType type, String logicalName) {
         Tokenizer tokenizer = getTokenizer(type);
-        return tokenizer.tokenize(dictionary, logicalName);
+        return tokenizer.tokenize(dictionaryIndex, logicalName);
     }
 
     /**
@@ -136,10 +250,77 @@ public class PhysicalNameGenerator {
      * @throws IllegalArgumentException サポートされていない種類の場合
      */
     private Tokenizer getTokenizer(TokenizerType type) {
-        return switch (type) {
+        Tokenizer tokenizer = switch (type) {
             case GREEDY -> greedyTokenizer;
             case OPTIMAL -> optimalTokenizer;
+            case ADAPTIVE -> adaptiveTokenizer;
+            case PARALLEL -> parallelTokenizer;
         };
+        if (tokenizer == null) {
+            throw new IllegalArgumentException("Tokenizer not enabled: " + type);
+        }
+        return tokenizer;
+    }
+
+    /**
+     * 指定されたトークナイザーで論理名をトークン化し、トークンの位置のみを保持する結果を返す
+     *
+     * @param type        トークナイザーの種類
+     * @param logicalName 論理名（日本語）
+     * @return トークン化結果
+     */
+    public TokenSpans tokenizeSpans(TokenizerType type, String logicalName) {
+        return tokenizeSpans(type, logicalName, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して論理名をトークン化し、トークンの位置のみを保持する結果を返す
+     *
+     * @param type        トークナイザーの種類
+     * @param logicalName 論理名（日本語）
+     * @param budget      処理時間と作業量の上限
+     * @return トークン化結果（上限に達した場合は縮退した結果）
+     */
+    public TokenSpans tokenizeSpans(TokenizerType type, String logicalName, TokenizeBudget budget) {
+        Tokenizer tokenizer = getTokenizer(type);
+        return tokenizer.tokenizeSpans(dictionaryIndex, logicalName, budget);
+    }
+
+    /**
+     * 複数の論理名をまとめてトークン化し、トークンの位置のみを保持する結果を返す
+     *
+     * @param type         トークナイザーの種類
+     * @param logicalNames 論理名（日本語）のリスト
+     * @return 入力と同じ順序のトークン化結果のリスト
+     */
+    public List<TokenSpans> tokenizeSpans(TokenizerType type, List<String> logicalNames) {
+        return tokenizeSpans(type, logicalNames, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して、複数の論理名をまとめてトークン化する
+     * トークナイザーと辞書は最初に一度だけ解決するため、途中で辞書が読み込み直されても全件が同じ辞書で分割される。
+     *
+     * @param type         トークナイザーの種類
+     * @param logicalNames 論理名（日本語）のリスト
+     * @param budget       論理名ごとの処理時間と作業量の上限
+     * @return 入力と同じ順序のトークン化結果のリスト
+     */
+    public List<TokenSpans> tokenizeSpans(TokenizerType type, List<String> logicalNames, TokenizeBudget budget) {
+        Tokenizer tokenizer = getTokenizer(type);
+        return tokenizer.tokenizeSpans(dictionaryIndex, logicalNames, budget);
+    }
+
+    /**
+     * 論理名を編集しながら逐次トークン化するセッションを開始する
+     * セッションは現在読み込まれている辞書を使用し、最適分割選択方式と同じ結果を返す。
+     * 編集のたびに、編集の影響を受ける範囲だけを分割し直す。
+     *
+     * @param logicalName 初期の論理名（日本語）
+     * @return トークン化セッション
+     */
+    public TokenizeSession openSession(String logicalName) {
+        return new TokenizeSession(dictionaryIndex, logicalName);
     }
 
     /**
@@ -152,121 +333,678 @@ public class PhysicalNameGenerator {
      * @return 物理名生成結果
      */
     public PhysicalNameResult generatePhysicalName(TokenizerType tokenizerType, NamingConvention namingConvention, String logicalName, boolean enableFallback) {
-        List<Token> tokens = tokenize(tokenizerType, logicalName);
+        return generatePhysicalName(tokenizerType, namingConvention, logicalName, enableFallback, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して物理名を生成する
+     * 上限に達した場合は残りの範囲を前方最長マッチで分割し、縮退した結果として返す。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalName      元の日本語名
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           トークン化の処理時間と作業量の上限
+     * @return 物理名生成結果
+     */
+    public PhysicalNameResult generatePhysicalName(TokenizerType tokenizerType, NamingConvention namingConvention, String logicalName, boolean enableFallback, TokenizeBudget budget) {
+        return generatePhysicalName(dictionaryIndex, tokenizerType, namingConvention, logicalName, enableFallback, budget);
+    }
 
-        // 全トークンの物理名要素を収集
-        List<String> allPhysicalElements = tokens.stream()
-                .flatMap(token -> getPhysicalElements(token, enableFallback).stream())
-                .toList();
+    /**
+     * 辞書を指定して物理名を生成する
+     * 既定の辞書は使用せず、変更もしない。
+     * 指定した辞書が既定の辞書の場合は、生成結果のキャッシュを使用する。上限に達して縮退した結果はキャッシュしない。
+     *
+     * @param dictionary       コンパイル済みの辞書
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalName      元の日本語名
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           トークン化の処理時間と作業量の上限
+     * @return 物理名生成結果
+     */
+    public PhysicalNameResult generatePhysicalName(DictionaryIndex dictionary, TokenizerType tokenizerType, NamingConvention namingConvention, String logicalName, boolean enableFallback, TokenizeBudget budget) {
+        // リクエストごとにコンパイルした辞書の結果は再び参照されないため、既定の辞書の結果のみキャッシュする
+        PhysicalNameCache.Key key = null;
+        if (resultCache.isEnabled() && logicalName != null && dictionary == dictionaryIndex) {
+            key = new PhysicalNameCache.Key(logicalName, tokenizerType, namingConvention, enableFallback, dictionary.version());
+            PhysicalNameResult cached = resultCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        String physicalName = formatPhysicalName(allPhysicalElements, namingConvention);
+        TokenSpans spans = getTokenizer(tokenizerType).tokenizeSpans(dictionary, logicalName, budget);
+        PhysicalNameResult result = generatePhysicalName(spans, namingConvention, enableFallback);
+        if (key != null && !result.degraded() && dictionary == dictionaryIndex) {
+            return resultCache.put(key, result);
+        }
+        return result;
+    }
 
-        List<String> tokenMappings = tokens.stream()
-                .map(token -> formatTokenMapping(token, enableFallback))
-                .toList();
+    /**
+     * トークン化結果から物理名を生成する
+     * {@link TokenizeSession}で編集しながら分割した結果の物理名を得る場合などに使用する。
+     *
+     * @param spans            トークン化結果
+     * @param namingConvention 命名規則
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 物理名生成結果
+     */
+    public PhysicalNameResult generatePhysicalName(TokenSpans spans, NamingConvention namingConvention, boolean enableFallback) {
+        return generatePhysicalName(spans, NamingTemplate.of(namingConvention), enableFallback, null, null, null);
+    }
 
-        return new PhysicalNameResult(logicalName, physicalName, tokenMappings);
+    /**
+     * 命名規則のテンプレートを指定して物理名を生成する
+     * テンプレートで生成した結果はキャッシュしない。
+     *
+     * @param tokenizerType  トークナイザーの種類
+     * @param namingTemplate 命名規則のテンプレート
+     * @param logicalName    元の日本語名
+     * @param enableFallback 未知語のfallback処理を有効にするかどうか
+     * @return 物理名生成結果
+     */
+    public PhysicalNameResult generatePhysicalName(TokenizerType tokenizerType, NamingTemplate namingTemplate, String logicalName, boolean enableFallback) {
+        return generatePhysicalName(dictionaryIndex, tokenizerType, namingTemplate, logicalName, enableFallback, TokenizeBudget.UNLIMITED);
     }
 
     /**
-     * トークンから物理名要素を取得する（fallback制御付き）
+     * 辞書と命名規則のテンプレートを指定して物理名を生成する
+     * 既定の辞書は使用せず、変更もしない。テンプレートで生成した結果はキャッシュしない。
+     *
+     * @param dictionary     コンパイル済みの辞書
+     * @param tokenizerType  トークナイザーの種類
+     * @param namingTemplate 命名規則のテンプレート
+     * @param logicalName    元の日本語名
+     * @param enableFallback 未知語のfallback処理を有効にするかどうか
+     * @param budget         トークン化の処理時間と作業量の上限
+     * @return 物理名生成結果
      */
-    private List<String> getPhysicalElements(Token token, boolean enableFallback) {
-        if (token.isUnknown() || token.physicalNames().isEmpty()) {
-            if (enableFallback) {
-                return splitAndRomanizeUnknownWord(token.word());
-            } else {
-                return List.of(token.word());
+    public PhysicalNameResult generatePhysicalName(DictionaryIndex dictionary, TokenizerType tokenizerType, NamingTemplate namingTemplate, String logicalName, boolean enableFallback, TokenizeBudget budget) {
+        TokenSpans spans = getTokenizer(tokenizerType).tokenizeSpans(dictionary, logicalName, budget);
+        return generatePhysicalName(spans, namingTemplate, enableFallback);
+    }
+
+    /**
+     * トークン化結果から命名規則のテンプレートで物理名を生成する
+     *
+     * @param spans          トークン化結果
+     * @param namingTemplate 命名規則のテンプレート
+     * @param enableFallback 未知語のfallback処理を有効にするかどうか
+     * @return 物理名生成結果
+     */
+    public PhysicalNameResult generatePhysicalName(TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback) {
+        return generatePhysicalName(spans, namingTemplate, enableFallback, null, null, null);
+    }
+
+    /**
+     * 1つの論理名から複数の命名規則で物理名を生成する
+     * トークン化と未知語のローマ字化は1回だけ行い、共通の物理名要素から命名規則ごとに物理名をフォーマットする。
+     * トークンマッピングは全ての命名規則で共通とし、参照された時に1回だけ組み立てる。
+     *
+     * @param tokenizerType     トークナイザーの種類
+     * @param namingConventions 命名規則（重複は1つにまとめる）
+     * @param logicalName       元の日本語名
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @return 命名規則ごとの物理名生成結果
+     * @throws IllegalArgumentException 命名規則が指定されていない場合
+     */
+    public PhysicalNameVariants generatePhysicalNameVariants(TokenizerType tokenizerType, Collection<NamingConvention> namingConventions, String logicalName, boolean enableFallback) {
+        return generatePhysicalNameVariants(tokenizerType, namingConventions, logicalName, enableFallback, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して、1つの論理名から複数の命名規則で物理名を生成する
+     *
+     * @param tokenizerType     トークナイザーの種類
+     * @param namingConventions 命名規則（重複は1つにまとめる）
+     * @param logicalName       元の日本語名
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @param budget            トークン化の処理時間と作業量の上限
+     * @return 命名規則ごとの物理名生成結果
+     * @throws IllegalArgumentException 命名規則が指定されていない場合
+     */
+    public PhysicalNameVariants generatePhysicalNameVariants(TokenizerType tokenizerType, Collection<NamingConvention> namingConventions, String logicalName, boolean enableFallback, TokenizeBudget budget) {
+        return generatePhysicalNameVariants(dictionaryIndex, tokenizerType, namingConventions, logicalName, enableFallback, budget);
+    }
+
+    /**
+     * 辞書を指定して、1つの論理名から複数の命名規則で物理名を生成する
+     * 既定の辞書は使用せず、変更もしない。
+     *
+     * @param dictionary        コンパイル済みの辞書
+     * @param tokenizerType     トークナイザーの種類
+     * @param namingConventions 命名規則（重複は1つにまとめる）
+     * @param logicalName       元の日本語名
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @param budget            トークン化の処理時間と作業量の上限
+     * @return 命名規則ごとの物理名生成結果
+     * @throws IllegalArgumentException 命名規則が指定されていない場合
+     */
+    public PhysicalNameVariants generatePhysicalNameVariants(DictionaryIndex dictionary, TokenizerType tokenizerType, Collection<NamingConvention> namingConventions, String logicalName, boolean enableFallback, TokenizeBudget budget) {
+        if (namingConventions == null || namingConventions.isEmpty()) {
+            throw new IllegalArgumentException("No naming convention specified");
+        }
+        TokenSpans spans = getTokenizer(tokenizerType).tokenizeSpans(dictionary, logicalName, budget);
+        return generatePhysicalNameVariants(spans, namingConventions, enableFallback);
+    }
+
+    /**
+     * トークン化結果から複数の命名規則で物理名を生成する
+     *
+     * @param spans             トークン化結果
+     * @param namingConventions 命名規則（重複は1つにまとめる）
+     * @param enableFallback    未知語のfallback処理を有効にするかどうか
+     * @return 命名規則ごとの物理名生成結果
+     * @throws IllegalArgumentException 命名規則が指定されていない場合
+     */
+    public PhysicalNameVariants generatePhysicalNameVariants(TokenSpans spans, Collection<NamingConvention> namingConventions, boolean enableFallback) {
+        if (namingConventions == null || namingConventions.isEmpty()) {
+            throw new IllegalArgumentException("No naming convention specified");
+        }
+
+        // 未知語は命名規則の数にかかわらず1回だけローマ字化する
+        Map<String, List<String>> romaji = enableFallback ? romanizeUnknownWords(List.of(spans)) : null;
+        Map<NamingConvention, String> physicalNames = new LinkedHashMap<>();
+        for (NamingConvention namingConvention : namingConventions) {
+            physicalNames.computeIfAbsent(namingConvention, c -> formatPhysicalName(spans, NamingTemplate.of(c), enableFallback, null, romaji));
+        }
+
+        return new PhysicalNameVariants(spans.text(), Collections.unmodifiableMap(physicalNames),
+                new TokenMappings(spans, enableFallback, romaji, null), spans.isDegraded());
+    }
+
+    /**
+     * 複数の論理名からまとめて物理名を生成する
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のリスト
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 入力と同じ順序の物理名生成結果のリスト
+     */
+    public List<PhysicalNameResult> generatePhysicalNames(TokenizerType tokenizerType, NamingConvention namingConvention, List<String> logicalNames, boolean enableFallback) {
+        return generatePhysicalNames(tokenizerType, namingConvention, logicalNames, enableFallback, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して、複数の論理名からまとめて物理名を生成する
+     * トークナイザーと辞書は最初に一度だけ解決し、トークン化の作業領域と物理名要素の格納先を全件で使い回す。
+     * 既知語のトークンマッピングはエントリごとに一度だけ組み立てる。上限は論理名ごとに適用する。
+     * fallback処理を有効にした場合、全件の未知語を重複を除いてまとめてローマ字化する。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のリスト
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @return 入力と同じ順序の物理名生成結果のリスト
+     */
+    public List<PhysicalNameResult> generatePhysicalNames(TokenizerType tokenizerType, NamingConvention namingConvention, List<String> logicalNames, boolean enableFallback, TokenizeBudget budget) {
+        return generatePhysicalNames(dictionaryIndex, tokenizerType, namingConvention, logicalNames, enableFallback, budget);
+    }
+
+    /**
+     * 辞書を指定して、複数の論理名からまとめて物理名を生成する
+     * 既定の辞書は使用せず、変更もしない。
+     *
+     * @param dictionary       コンパイル済みの辞書
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のリスト
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @return 入力と同じ順序の物理名生成結果のリスト
+     */
+    public List<PhysicalNameResult> generatePhysicalNames(DictionaryIndex dictionary, TokenizerType tokenizerType, NamingConvention namingConvention, List<String> logicalNames, boolean enableFallback, TokenizeBudget budget) {
+        return generatePhysicalNames(dictionary, tokenizerType, NamingTemplate.of(namingConvention), logicalNames, enableFallback, budget);
+    }
+
+    /**
+     * 辞書と命名規則のテンプレートを指定して、複数の論理名からまとめて物理名を生成する
+     * 既定の辞書は使用せず、変更もしない。
+     *
+     * @param dictionary       コンパイル済みの辞書
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingTemplate   命名規則のテンプレート
+     * @param logicalNames     元の日本語名のリスト
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @return 入力と同じ順序の物理名生成結果のリスト
+     */
+    public List<PhysicalNameResult> generatePhysicalNames(DictionaryIndex dictionary, TokenizerType tokenizerType, NamingTemplate namingTemplate, List<String> logicalNames, boolean enableFallback, TokenizeBudget budget) {
+        List<TokenSpans> spansList = getTokenizer(tokenizerType).tokenizeSpans(dictionary, logicalNames, budget);
+
+        Map<String, List<String>> romaji = enableFallback ? romanizeUnknownWords(spansList) : null;
+        List<PhysicalNameResult> results = new ArrayList<>(spansList.size());
+        StringBuilder buffer = new StringBuilder();
+        String[] knownMappings = new String[dictionary.size()];
+        for (TokenSpans spans : spansList) {
+            results.add(generatePhysicalName(spans, namingTemplate, enableFallback, buffer, knownMappings, romaji));
+        }
+        return results;
+    }
+
+    /**
+     * 複数の論理名から並列に物理名を生成する
+     * 既定のExecutor（{@link #DEFAULT_BULK_EXECUTOR}）を使用する。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のコレクション
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 入力と同じ順序の生成結果のリスト
+     */
+    public List<PhysicalNameOutcome> generateAll(TokenizerType tokenizerType, NamingConvention namingConvention, Collection<String> logicalNames, boolean enableFallback) {
+        return generateAll(tokenizerType, namingConvention, logicalNames, enableFallback, TokenizeBudget.UNLIMITED, DEFAULT_BULK_EXECUTOR);
+    }
+
+    /**
+     * 複数の論理名から、指定したExecutorで並列に物理名を生成する
+     * 論理名を件数に応じた単位に分け、単位ごとに{@link #generatePhysicalNames}でまとめて生成する。
+     * 辞書は最初に一度だけ解決するため、途中で辞書を設定し直しても全件が同じ辞書で生成される。
+     * 生成に失敗した論理名は例外を結果に保持し、他の論理名の生成は続ける。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のコレクション
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @param executor         生成を実行するExecutor（仮想スレッドまたはForkJoinPoolなど）
+     * @return 入力と同じ順序の生成結果のリスト
+     */
+    public List<PhysicalNameOutcome> generateAll(TokenizerType tokenizerType, NamingConvention namingConvention, Collection<String> logicalNames, boolean enableFallback,
+                                                 TokenizeBudget budget, Executor executor) {
+        DictionaryIndex dictionary = dictionaryIndex;
+        List<String> names = new ArrayList<>(logicalNames);
+        int chunkSize = bulkChunkSize(names.size(), executor);
+        if (names.size() <= chunkSize) {
+            // 単位が1つだけの場合は呼び出し元のスレッドで生成する
+            return generateChunk(dictionary, tokenizerType, namingConvention, names, 0, enableFallback, budget);
+        }
+
+        List<CompletableFuture<List<PhysicalNameOutcome>>> futures = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += chunkSize) {
+            List<String> chunk = names.subList(from, Math.min(from + chunkSize, names.size()));
+            int offset = from;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> generateChunk(dictionary, tokenizerType, namingConvention, chunk, offset, enableFallback, budget), executor));
+        }
+        List<PhysicalNameOutcome> outcomes = new ArrayList<>(names.size());
+        for (CompletableFuture<List<PhysicalNameOutcome>> future : futures) {
+            outcomes.addAll(future.join());
+        }
+        return outcomes;
+    }
+
+    /**
+     * ストリームの論理名から並列に物理名を生成する
+     * 既定のExecutor（{@link #DEFAULT_BULK_EXECUTOR}）を使用する。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のストリーム
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 入力と同じ順序の生成結果のストリーム
+     */
+    public Stream<PhysicalNameOutcome> generateAll(TokenizerType tokenizerType, NamingConvention namingConvention, Stream<String> logicalNames, boolean enableFallback) {
+        return generateAll(tokenizerType, namingConvention, logicalNames, enableFallback, TokenizeBudget.UNLIMITED, DEFAULT_BULK_EXECUTOR);
+    }
+
+    /**
+     * ストリームの論理名から、指定したExecutorで並列に物理名を生成する
+     * 論理名は結果のストリームを読み進めるのに合わせて{@link #DEFAULT_BULK_CHUNK_SIZE}件ずつ読み出し、
+     * 並列度の2倍の単位までを先行して生成する。そのため、全件を保持せずに大量の論理名を処理できる。
+     * 結果のストリームを閉じると、入力のストリームも閉じる。
+     *
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param logicalNames     元の日本語名のストリーム
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @param executor         生成を実行するExecutor（仮想スレッドまたはForkJoinPoolなど）
+     * @return 入力と同じ順序の生成結果のストリーム
+     */
+    public Stream<PhysicalNameOutcome> generateAll(TokenizerType tokenizerType, NamingConvention namingConvention, Stream<String> logicalNames, boolean enableFallback,
+                                                   TokenizeBudget budget, Executor executor) {
+        DictionaryIndex dictionary = dictionaryIndex;
+        Iterator<String> source = logicalNames.iterator();
+        int chunkSize = DEFAULT_BULK_CHUNK_SIZE;
+        int maxPending = bulkParallelism(executor) * 2;
+        Iterator<PhysicalNameOutcome> iterator = new Iterator<>() {
+
+            private final Deque<CompletableFuture<List<PhysicalNameOutcome>>> pending = new ArrayDeque<>();
+            private Iterator<PhysicalNameOutcome> current = Collections.emptyIterator();
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext()) {
+                    submit();
+                    CompletableFuture<List<PhysicalNameOutcome>> head = pending.poll();
+                    if (head == null) {
+                        return false;
+                    }
+                    // 先頭の単位を待つ間も並列度を保つため、空いた分を先に投入する
+                    submit();
+                    current = head.join().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public PhysicalNameOutcome next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+
+            private void submit() {
+                while (pending.size() < maxPending && source.hasNext()) {
+                    List<String> chunk = new ArrayList<>(chunkSize);
+                    while (chunk.size() < chunkSize && source.hasNext()) {
+                        chunk.add(source.next());
+                    }
+                    int chunkOffset = offset;
+                    offset += chunk.size();
+                    pending.add(CompletableFuture.supplyAsync(
+                            () -> generateChunk(dictionary, tokenizerType, namingConvention, chunk, chunkOffset, enableFallback, budget), executor));
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(logicalNames::close);
+    }
+
+    /**
+     * 1つの単位の論理名からまとめて物理名を生成する
+     * まとめての生成が失敗した場合は、失敗した論理名を特定するため1件ずつ生成し直す。
+     */
+    private List<PhysicalNameOutcome> generateChunk(DictionaryIndex dictionary, TokenizerType tokenizerType, NamingConvention namingConvention,
+                                                    List<String> logicalNames, int offset, boolean enableFallback, TokenizeBudget budget) {
+        List<PhysicalNameOutcome> outcomes = new ArrayList<>(logicalNames.size());
+        try {
+            List<PhysicalNameResult> results = generatePhysicalNames(dictionary, tokenizerType, namingConvention, logicalNames, enableFallback, budget);
+            for (int i = 0; i < results.size(); i++) {
+                outcomes.add(PhysicalNameOutcome.success(offset + i, logicalNames.get(i), results.get(i)));
             }
+            return outcomes;
+        } catch (RuntimeException e) {
+            outcomes.clear();
         }
-        return token.physicalNames();
+        for (int i = 0; i < logicalNames.size(); i++) {
+            String logicalName = logicalNames.get(i);
+            try {
+                outcomes.add(PhysicalNameOutcome.success(offset + i, logicalName,
+                        generatePhysicalName(dictionary, tokenizerType, namingConvention, logicalName, enableFallback, budget)));
+            } catch (RuntimeException e) {
+                outcomes.add(PhysicalNameOutcome.failure(offset + i, logicalName, e));
+            }
+        }
+        return outcomes;
     }
 
     /**
-     * 未知語を分割してローマ字化する
+     * 論理名の件数とExecutorの並列度から、まとめて生成する単位の件数を決める
+     * 負荷の偏りを均すため並列度の4倍の単位に分け、1単位あたり{@link #DEFAULT_BULK_CHUNK_SIZE}件を上限とする。
      */
-    private List<String> splitAndRomanizeUnknownWord(String word) {
-        return romajiConverter.convertToRomaji(word);
+    private static int bulkChunkSize(int count, Executor executor) {
+        int chunks = bulkParallelism(executor) * 4;
+        return Math.max(1, Math.min(DEFAULT_BULK_CHUNK_SIZE, (count + chunks - 1) / chunks));
+    }
+
+    private static int bulkParallelism(Executor executor) {
+        return executor instanceof ForkJoinPool pool ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
     }
 
     /**
-     * 物理名要素リストを指定された命名規則でフォーマットする
+     * システムプロパティの指定からまとめての生成に使用するExecutorを作成する
+     *
+     * @param spec Executorの指定（{@code virtual}、{@code fork-join}または1以上の並列度）
+     * @return Executor
+     * @throws IllegalArgumentException 指定が正しくない場合
      */
-    private String formatPhysicalName(List<String> elements, NamingConvention convention) {
-        return switch (convention) {
-            case CAMEL, LOWER_CAMEL -> formatCamelCase(elements, false);
-            case PASCAL, UPPER_CAMEL -> formatCamelCase(elements, true);
-            case SNAKE, LOWER_SNAKE -> formatSnakeCase(elements, false);
-            case UPPER_SNAKE -> formatSnakeCase(elements, true);
-            case KEBAB, LOWER_KEBAB -> formatKebabCase(elements, false);
-            case UPPER_KEBAB -> formatKebabCase(elements, true);
+    static Executor createBulkExecutor(String spec) {
+        return switch (spec) {
+            case "fork-join" -> ForkJoinPool.commonPool();
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> {
+                int parallelism;
+                try {
+                    parallelism = Integer.parseInt(spec);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid cherry.pname.bulk.executor: " + spec, e);
+                }
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException("Invalid cherry.pname.bulk.executor: " + spec);
+                }
+                yield new ForkJoinPool(parallelism);
+            }
         };
     }
 
     /**
-     * camelCase/PascalCase形式でフォーマット
+     * 全件の未知語を重複を除いてまとめてローマ字化する
+     *
+     * @param spansList トークン化結果のリスト
+     * @return 未知語からローマ字要素のリストへのマップ
      */
-    private String formatCamelCase(List<String> elements, boolean pascalCase) {
-        if (elements.isEmpty()) return "";
+    private Map<String, List<String>> romanizeUnknownWords(List<TokenSpans> spansList) {
+        Map<String, List<String>> romaji = new HashMap<>();
+        for (TokenSpans spans : spansList) {
+            for (int i = 0; i < spans.size(); i++) {
+                if (spans.isUnknown(i) || spans.physicalNames(i).isEmpty()) {
+                    romaji.putIfAbsent(spans.word(i), null);
+                }
+            }
+        }
+        if (romaji.isEmpty()) {
+            return romaji;
+        }
+        List<String> words = new ArrayList<>(romaji.keySet());
+        List<List<String>> converted = romajiConverter.convertAllToRomaji(words);
+        for (int i = 0; i < words.size(); i++) {
+            romaji.put(words.get(i), converted.get(i));
+        }
+        return romaji;
+    }
 
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < elements.size(); i++) {
-            String element = elements.get(i);
-            if (i == 0 && !pascalCase) {
-                result.append(element.toLowerCase());
-            } else {
-                result.append(capitalize(element.toLowerCase()));
+    /**
+     * トークン化結果から物理名を生成する（物理名の書き出し先、既知語のトークンマッピングの保持先、変換済みの未知語を指定）
+     */
+    private PhysicalNameResult generatePhysicalName(TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback,
+                                                    StringBuilder buffer, String[] knownMappings, Map<String, List<String>> romaji) {
+        // 物理名とトークンマッピングで同じ変換結果を使用するため、未知語は先にローマ字化する
+        Map<String, List<String>> converted = enableFallback && romaji == null ? romanizeUnknownWords(List.of(spans)) : romaji;
+        String physicalName = formatPhysicalName(spans, namingTemplate, enableFallback, buffer, converted);
+
+        // トークンマッピングは参照された時に組み立てる
+        // まとめて生成した場合も、結果にはこの論理名の未知語の変換結果だけを持たせ、全件の変換結果を保持し続けない
+        Map<String, List<String>> own = converted == null || romaji == null ? converted : romajiOf(spans, converted);
+        return new PhysicalNameResult(spans.text(), physicalName,
+                new TokenMappings(spans, enableFallback, own, knownMappings), spans.isDegraded());
+    }
+
+    /**
+     * まとめてローマ字化した結果から、1件のトークン化結果の未知語の変換結果だけを取り出す
+     */
+    private static Map<String, List<String>> romajiOf(TokenSpans spans, Map<String, List<String>> romaji) {
+        Map<String, List<String>> own = null;
+        for (int i = 0; i < spans.size(); i++) {
+            if (spans.isUnknown(i) || spans.physicalNames(i).isEmpty()) {
+                if (own == null) {
+                    own = new HashMap<>(4);
+                }
+                String word = spans.word(i);
+                own.put(word, romaji.get(word));
             }
         }
-        return result.toString();
+        return own != null ? own : Map.of();
     }
 
     /**
-     * snake_case形式でフォーマット
+     * トークン化結果から物理名をフォーマットする
+     * 既知語は辞書の物理名をそのまま使用し、単語の文字列は未知語の場合のみ切り出す。
+     *
+     * @param spans            トークン化結果
+     * @param namingConvention 命名規則
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @return 物理名
      */
-    private String formatSnakeCase(List<String> elements, boolean upper) {
-        String joined = String.join("_", elements);
-        return upper ? joined.toUpperCase() : joined.toLowerCase();
+    public String formatPhysicalName(TokenSpans spans, NamingConvention namingConvention, boolean enableFallback) {
+        return formatPhysicalName(spans, NamingTemplate.of(namingConvention), enableFallback, null, null);
     }
 
     /**
-     * kebab-case形式でフォーマット
+     * トークン化結果から命名規則のテンプレートで物理名をフォーマットする
+     *
+     * @param spans          トークン化結果
+     * @param namingTemplate 命名規則のテンプレート
+     * @param enableFallback 未知語のfallback処理を有効にするかどうか
+     * @return 物理名
      */
-    private String formatKebabCase(List<String> elements, boolean upper) {
-        String joined = String.join("-", elements);
-        return upper ? joined.toUpperCase() : joined.toLowerCase();
+    public String formatPhysicalName(TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback) {
+        return formatPhysicalName(spans, namingTemplate, enableFallback, null, null);
     }
 
     /**
-     * 文字列の最初の文字を大文字にする
+     * トークン化結果から物理名をフォーマットして書き出す
+     * 物理名の文字列を生成せず、書き出し先に直接書き出す。
+     *
+     * @param out              書き出し先
+     * @param spans            トークン化結果
+     * @param namingConvention 命名規則
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @throws IOException 書き出しに失敗した場合
      */
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) return str;
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    public void appendPhysicalName(Appendable out, TokenSpans spans, NamingConvention namingConvention, boolean enableFallback) throws IOException {
+        appendElements(out, spans, NamingTemplate.of(namingConvention), enableFallback, null);
     }
 
     /**
-     * トークンマッピングを文字列形式でフォーマット（fallback制御付き）
+     * トークン化結果から命名規則のテンプレートで物理名をフォーマットして書き出す
+     * 長さの上限がないテンプレートでは、物理名の文字列を生成せず、書き出し先に直接書き出す。
+     * 長さの上限があるテンプレートでは、切り詰めた物理名を書き出す。
+     *
+     * @param out            書き出し先
+     * @param spans          トークン化結果
+     * @param namingTemplate 命名規則のテンプレート
+     * @param enableFallback 未知語のfallback処理を有効にするかどうか
+     * @throws IOException 書き出しに失敗した場合
      */
-    private String formatTokenMapping(Token token, boolean enableFallback) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(token.word()).append("=>");
+    public void appendPhysicalName(Appendable out, TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback) throws IOException {
+        if (namingTemplate.hasMaxLength()) {
+            out.append(formatPhysicalName(spans, namingTemplate, enableFallback, null, null));
+            return;
+        }
+        out.append(namingTemplate.prefix());
+        appendElements(out, spans, namingTemplate, enableFallback, null);
+        out.append(namingTemplate.suffix());
+    }
 
-        if (token.isUnknown()) {
+    /**
+     * トークン化結果から物理名をフォーマットする（物理名の書き出し先と変換済みの未知語を指定）
+     * 書き出し先を指定しない場合は、見積もった長さで確保したStringBuilderに書き出す。
+     * テンプレートの接頭辞、物理名要素、接尾辞を順に書き出し、長さの上限を超えた場合は本体を切り詰める。
+     */
+    private String formatPhysicalName(TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback,
+                                      StringBuilder buffer, Map<String, List<String>> romaji) {
+        StringBuilder sb;
+        if (buffer != null) {
+            buffer.setLength(0);
+            sb = buffer;
+        } else {
+            sb = new StringBuilder(estimateLength(spans, namingTemplate));
+        }
+        int bodyStart = namingTemplate.begin(sb);
+        try {
+            appendElements(sb, spans, namingTemplate, enableFallback, romaji);
+        } catch (IOException e) {
+            // StringBuilderへの書き出しでは発生しない
+            throw new UncheckedIOException(e);
+        }
+        return namingTemplate.end(sb, bodyStart).toString();
+    }
+
+    /**
+     * トークン化結果の物理名要素をテンプレートに従って書き出す（変換済みの未知語を指定、接頭辞と接尾辞は含まない）
+     * 既知語は辞書のコンパイル時に求めた大文字・小文字の形をそのまま書き出し、未知語の要素は書き出しながら変換する。
+     */
+    private void appendElements(Appendable out, TokenSpans spans, NamingTemplate namingTemplate, boolean enableFallback,
+                                    Map<String, List<String>> romaji) throws IOException {
+        int position = 0;
+        for (int i = 0; i < spans.size(); i++) {
+            List<CaseForms> caseForms = spans.caseForms(i);
+            if (!caseForms.isEmpty()) {
+                for (CaseForms forms : caseForms) {
+                    namingTemplate.appendElement(out, position++, forms);
+                }
+            } else {
+                for (String element : getPhysicalElements(spans, i, enableFallback, romaji)) {
+                    namingTemplate.appendElement(out, position++, element);
+                }
+            }
+        }
+    }
+
+    /**
+     * 物理名の長さを見積もる（未知語は1文字あたり4文字として見積もる、長さの上限を超えない）
+     */
+    private int estimateLength(TokenSpans spans, NamingTemplate namingTemplate) {
+        int length = 0;
+        int count = 0;
+        for (int i = 0; i < spans.size(); i++) {
+            List<CaseForms> caseForms = spans.caseForms(i);
+            if (!caseForms.isEmpty()) {
+                for (CaseForms forms : caseForms) {
+                    length += forms.lower().length();
+                }
+                count += caseForms.size();
+            } else {
+                length += (spans.end(i) - spans.start(i)) * 4;
+                count++;
+            }
+        }
+        length += Math.max(count - 1, 0) * namingTemplate.separator().length()
+                + namingTemplate.prefix().length() + namingTemplate.suffix().length();
+        return Math.min(length, namingTemplate.maxLength());
+    }
+
+    /**
+     * トークンから物理名要素を取得する（fallback制御付き）
+     * 変換済みの未知語のマップが指定された場合は、マップにある未知語をローマ字化し直さない。
+     */
+    private List<String> getPhysicalElements(TokenSpans spans, int i, boolean enableFallback, Map<String, List<String>> romaji) {
+        List<String> physicalNames = spans.physicalNames(i);
+        if (spans.isUnknown(i) || physicalNames.isEmpty()) {
             if (enableFallback) {
-                // 既に変換済みの物理名要素を取得
-                List<String> physicalElements = getPhysicalElements(token, enableFallback);
-                String romajiResult = String.join(" ", physicalElements);
-                sb.append("(romaji: ").append(romajiResult).append(")");
+                String word = spans.word(i);
+                List<String> converted = romaji == null ? null : romaji.get(word);
+                return converted != null ? converted : splitAndRomanizeUnknownWord(word);
             } else {
-                sb.append("(unknown: ").append(token.word()).append(")");
+                return List.of(spans.word(i));
             }
-        } else {
-            String physicalNamesStr = String.join(", ", token.physicalNames());
-            sb.append(physicalNamesStr);
         }
+        return physicalNames;
+    }
 
-        return sb.toString();
+    /**
+     * 未知語を分割してローマ字化する
+     */
+    private List<String> splitAndRomanizeUnknownWord(String word) {
+        return romajiConverter.convertToRomaji(word);
+    }
+
+    /**
+     * 生成結果のキャッシュを取得する
+     *
+     * @return 生成結果のキャッシュ
+     */
+    public PhysicalNameCache getResultCache() {
+        return resultCache;
     }
 
     /**
@@ -275,7 +1013,7 @@ public class PhysicalNameGenerator {
      * @return 辞書のエントリ数
      */
     public int getDictionarySize() {
-        return dictionary.size();
+        return dictionaryIndex.size();
     }
 
     /**
@@ -284,6 +1022,6 @@ public class PhysicalNameGenerator {
      * @return 辞書が設定されている場合true
      */
     public boolean hasDictionary() {
-        return !dictionary.isEmpty();
+        return dictionaryIndex.size() > 0;
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.dictionary.CsvDictionaryLoader;
+import cherry.pname.main.dictionary.DictionaryLoader;
+import cherry.pname.main.dictionary.JsonDictionaryLoader;
+import cherry.pname.main.dictionary.TsvDictionaryLoader;
+import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.RomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
+import cherry.pname.main.tokenize.SegmentCache;
+import cherry.pname.main.tokenize.Tokenizer;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DIコンテナを使わずに{@link PhysicalNameGenerator}を組み立てるビルダー
+ * アノテーションプロセッサーや短時間で終了するツールなど、ライブラリとして組み込む場合に使用する。
+ * 有効にしたトークナイザーと辞書の形式の実装だけを生成するため、使わない形式の解析ライブラリのクラスは読み込まない。
+ * <p>
+ * 既定では全てのトークナイザーと辞書の形式を有効にし、ローマ字変換は行わない。
+ * ローマ字変換を指定しない場合、fallback処理を有効にしても未知語はそのまま物理名要素とする。
+ * 有効にしていないトークナイザーまたは辞書の形式を指定して生成メソッドを呼び出した場合は
+ * {@link IllegalArgumentException}となる。
+ * </p>
+ * <pre>{@code
+ * PhysicalNameGenerator generator = PhysicalNameGenerator.builder()
+ *         .tokenizers(TokenizerType.OPTIMAL)
+ *         .dictionaryFormats(DictionaryFormat.CSV)
+ *         .build();
+ * }</pre>
+ */
+public final class PhysicalNameGeneratorBuilder {
+
+    /**
+     * ローマ字変換を指定しない場合の変換（未知語をそのまま1つの要素とする）
+     */
+    private static final RomajiConverter NO_ROMAJI = new RomajiConverter() {
+        @Override
+        public List<String> convertToRomaji(String japaneseText) {
+            return japaneseText == null || japaneseText.isEmpty() ? List.of() : List.of(japaneseText);
+        }
+
+        @Override
+        public String getVersion() {
+            return "none";
+        }
+    };
+
+    private final Set<TokenizerType> tokenizerTypes = EnumSet.allOf(TokenizerType.class);
+    private final Map<TokenizerType, Tokenizer> tokenizers = new EnumMap<>(TokenizerType.class);
+    private final Set<DictionaryFormat> dictionaryFormats = EnumSet.allOf(DictionaryFormat.class);
+    private final Map<DictionaryFormat, DictionaryLoader> dictionaryLoaders = new EnumMap<>(DictionaryFormat.class);
+    private RomajiConverter romajiConverter;
+    private SegmentCache segmentCache;
+    private long resultCacheMaxBytes = PhysicalNameCache.DEFAULT_MAX_BYTES;
+
+    PhysicalNameGeneratorBuilder() {
+    }
+
+    /**
+     * 有効にするトークナイザーの種類を指定する（指定しなかった種類は無効にする）
+     *
+     * @param types トークナイザーの種類
+     * @return このビルダー
+     * @throws IllegalArgumentException 種類が指定されていない場合
+     */
+    public PhysicalNameGeneratorBuilder tokenizers(TokenizerType... types) {
+        if (types.length == 0) {
+            throw new IllegalArgumentException("At least one tokenizer type is required");
+        }
+        tokenizerTypes.clear();
+        tokenizerTypes.addAll(List.of(types));
+        return this;
+    }
+
+    /**
+     * トークナイザーの実装を指定して有効にする
+     * 組み込みの前方最長マッチ方式と最適分割選択方式の実装を置き換えた場合、
+     * 組み込みの適応型と並列のトークナイザーも置き換えた実装を使用する。
+     *
+     * @param type      トークナイザーの種類
+     * @param tokenizer トークナイザー
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder tokenizer(TokenizerType type, Tokenizer tokenizer) {
+        tokenizers.put(type, tokenizer);
+        tokenizerTypes.add(type);
+        return this;
+    }
+
+    /**
+     * 有効にする辞書の形式を指定する（指定しなかった形式は無効にする）
+     *
+     * @param formats 辞書の形式
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder dictionaryFormats(DictionaryFormat... formats) {
+        dictionaryFormats.clear();
+        dictionaryFormats.addAll(List.of(formats));
+        return this;
+    }
+
+    /**
+     * 辞書ローダーの実装を指定して有効にする
+     *
+     * @param format 辞書の形式
+     * @param loader 辞書ローダー
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder dictionaryLoader(DictionaryFormat format, DictionaryLoader loader) {
+        dictionaryLoaders.put(format, loader);
+        dictionaryFormats.add(format);
+        return this;
+    }
+
+    /**
+     * 未知語のfallback処理に使うローマ字変換を指定する
+     *
+     * @param romajiConverter ローマ字変換（nullの場合はローマ字変換を行わない）
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder romajiConverter(RomajiConverter romajiConverter) {
+        this.romajiConverter = romajiConverter;
+        return this;
+    }
+
+    /**
+     * 組み込みの最適分割選択方式が使う探索結果のキャッシュを指定する
+     * 指定しない場合は既定のエントリ数の上限のキャッシュを使用する。
+     *
+     * @param segmentCache 探索結果のキャッシュ（{@link SegmentCache#DISABLED}の場合はキャッシュしない）
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder segmentCache(SegmentCache segmentCache) {
+        this.segmentCache = segmentCache;
+        return this;
+    }
+
+    /**
+     * 生成結果のキャッシュの上限を指定する
+     * 指定しない場合は{@link PhysicalNameCache#DEFAULT_MAX_BYTES}（既定ではキャッシュしない）とする。
+     *
+     * @param maxBytes 保持する結果の見積もりバイト数の上限（0以下の場合はキャッシュしない）
+     * @return このビルダー
+     */
+    public PhysicalNameGeneratorBuilder resultCacheMaxBytes(long maxBytes) {
+        this.resultCacheMaxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * 物理名ジェネレーターを組み立てる
+     * 有効にした種類と、それが依存する種類の組み込みの実装だけを生成する。
+     *
+     * @return 物理名ジェネレーター
+     */
+    public PhysicalNameGenerator build() {
+        boolean adaptive = needsBuiltIn(TokenizerType.ADAPTIVE);
+        boolean parallel = needsBuiltIn(TokenizerType.PARALLEL);
+        Tokenizer greedy = tokenizers.get(TokenizerType.GREEDY);
+        if (greedy == null && (tokenizerTypes.contains(TokenizerType.GREEDY) || adaptive)) {
+            greedy = new GreedyTokenizer();
+        }
+        Tokenizer optimal = tokenizers.get(TokenizerType.OPTIMAL);
+        if (optimal == null && (tokenizerTypes.contains(TokenizerType.OPTIMAL) || adaptive || parallel)) {
+            optimal = new OptimalTokenizer(segmentCache != null ? segmentCache : new SegmentCache());
+        }
+        Tokenizer adaptiveTokenizer = adaptive ? new AdaptiveTokenizer(greedy, optimal) : tokenizers.get(TokenizerType.ADAPTIVE);
+        Tokenizer parallelTokenizer = parallel ? new ParallelTokenizer(optimal) : tokenizers.get(TokenizerType.PARALLEL);
+
+        return new PhysicalNameGenerator(
+                loader(DictionaryFormat.CSV),
+                loader(DictionaryFormat.TSV),
+                loader(DictionaryFormat.JSON),
+                loader(DictionaryFormat.YAML),
+                tokenizerTypes.contains(TokenizerType.GREEDY) ? greedy : null,
+                tokenizerTypes.contains(TokenizerType.OPTIMAL) ? optimal : null,
+                adaptiveTokenizer,
+                parallelTokenizer,
+                romajiConverter != null ? romajiConverter : NO_ROMAJI,
+                new PhysicalNameCache(resultCacheMaxBytes));
+    }
+
+    /**
+     * 組み込みの実装を生成する必要があるかどうかを判定する
+     */
+    private boolean needsBuiltIn(TokenizerType type) {
+        return tokenizerTypes.contains(type) && !tokenizers.containsKey(type);
+    }
+
+    /**
+     * 有効にした辞書の形式のローダーを取得する（指定がない場合は組み込みの実装を生成する）
+     */
+    private DictionaryLoader loader(DictionaryFormat format) {
+        if (!dictionaryFormats.contains(format)) {
+            return null;
+        }
+        DictionaryLoader loader = dictionaryLoaders.get(format);
+        if (loader != null) {
+            return loader;
+        }
+        return switch (format) {
+            case CSV -> new CsvDictionaryLoader();
+            case TSV -> new TsvDictionaryLoader();
+            case JSON -> new JsonDictionaryLoader();
+            case YAML -> new YamlDictionaryLoader();
+        };
+    }
+}
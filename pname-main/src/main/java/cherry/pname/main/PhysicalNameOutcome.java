@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+/**
+ * まとめての生成における1件の結果を表すrecord
+ * 生成に失敗した論理名は例外を保持し、他の論理名の生成は続ける。
+ *
+ * @param index       入力の中での位置（0始まり）
+ * @param logicalName 元の日本語名
+ * @param result      物理名生成結果（失敗した場合はnull）
+ * @param error       生成時に発生した例外（成功した場合はnull）
+ */
+public record PhysicalNameOutcome(
+        int index,
+        String logicalName,
+        PhysicalNameResult result,
+        RuntimeException error
+) {
+
+    /**
+     * 成功した結果を作成する
+     *
+     * @param index       入力の中での位置
+     * @param logicalName 元の日本語名
+     * @param result      物理名生成結果
+     * @return 成功した結果
+     */
+    public static PhysicalNameOutcome success(int index, String logicalName, PhysicalNameResult result) {
+        return new PhysicalNameOutcome(index, logicalName, result, null);
+    }
+
+    /**
+     * 失敗した結果を作成する
+     *
+     * @param index       入力の中での位置
+     * @param logicalName 元の日本語名
+     * @param error       生成時に発生した例外
+     * @return 失敗した結果
+     */
+    public static PhysicalNameOutcome failure(int index, String logicalName, RuntimeException error) {
+        return new PhysicalNameOutcome(index, logicalName, null, error);
+    }
+
+    /**
+     * 生成に成功したかどうかを判定する
+     *
+     * @return 成功した場合true
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * 物理名生成結果を取得する（失敗した場合は保持している例外を送出する）
+     *
+     * @return 物理名生成結果
+     * @throws RuntimeException 生成に失敗した場合
+     */
+    public PhysicalNameResult getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return result;
+    }
+}
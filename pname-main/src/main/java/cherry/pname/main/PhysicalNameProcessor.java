@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.TokenizeBudget;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 論理名を受け取り、物理名を生成して送り出す{@link Flow.Processor}
+ * メッセージキューなどから流れてくる大量の論理名を、全件を保持せずに処理するために使用する。
+ * <p>
+ * 上流には並列度の件数だけ論理名を要求し、生成した結果を下流に送り出すたびに同じ件数を追加で要求する。
+ * そのため、保持する論理名と生成結果は並列度の件数を超えず、ストリームの長さにかかわらず使用するメモリは一定となる。
+ * 生成は並列に行うが、結果は論理名を受け取った順序で送り出す。下流の要求がない間は送り出さず、上流にも追加で要求しない。
+ * </p>
+ * <p>
+ * 生成に失敗した論理名は例外を保持した{@link PhysicalNameOutcome}として送り出し、ストリームは続ける。
+ * 上流が完了またはエラーとなった場合は、生成中の結果をすべて送り出してから下流に伝える。
+ * 購読できる下流は1つだけとする。
+ * </p>
+ */
+public class PhysicalNameProcessor implements Flow.Processor<String, PhysicalNameOutcome> {
+
+    /**
+     * 並列度の既定値（同時に生成する論理名の件数の上限）
+     * システムプロパティ {@code cherry.pname.processor.parallelism} で変更できる。
+     */
+    public static final int DEFAULT_PARALLELISM = Integer.getInteger(
+            "cherry.pname.processor.parallelism", Runtime.getRuntime().availableProcessors() * 2);
+
+    private final PhysicalNameGenerator generator;
+    private final TokenizerType tokenizerType;
+    private final NamingConvention namingConvention;
+    private final boolean enableFallback;
+    private final TokenizeBudget budget;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * 受け取った順序で並べた生成中または生成済みの結果
+     */
+    private final Queue<CompletableFuture<PhysicalNameOutcome>> inFlight = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super PhysicalNameOutcome> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+
+    // 以下は上流からの通知（逐次に呼び出される）または送り出し処理（同時に1つのスレッドのみ）からのみ参照する
+    private int index;
+    private boolean started;
+    private boolean terminated;
+
+    /**
+     * 既定のExecutor（{@link PhysicalNameGenerator#DEFAULT_BULK_EXECUTOR}）と既定の並列度で構築する
+     *
+     * @param generator        物理名を生成するジェネレーター
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     */
+    public PhysicalNameProcessor(PhysicalNameGenerator generator, TokenizerType tokenizerType, NamingConvention namingConvention, boolean enableFallback) {
+        this(generator, tokenizerType, namingConvention, enableFallback, TokenizeBudget.UNLIMITED,
+                PhysicalNameGenerator.DEFAULT_BULK_EXECUTOR, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param generator        物理名を生成するジェネレーター
+     * @param tokenizerType    トークナイザーの種類
+     * @param namingConvention 命名規則
+     * @param enableFallback   未知語のfallback処理を有効にするかどうか
+     * @param budget           論理名ごとのトークン化の処理時間と作業量の上限
+     * @param executor         生成を実行するExecutor
+     * @param parallelism      並列度（同時に生成する論理名の件数の上限）
+     * @throws IllegalArgumentException 並列度が1未満の場合
+     */
+    public PhysicalNameProcessor(PhysicalNameGenerator generator, TokenizerType tokenizerType, NamingConvention namingConvention, boolean enableFallback,
+                                 TokenizeBudget budget, Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.generator = generator;
+        this.tokenizerType = tokenizerType;
+        this.namingConvention = namingConvention;
+        this.enableFallback = enableFallback;
+        this.budget = budget;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super PhysicalNameOutcome> subscriber) {
+        Objects.requireNonNull(subscriber);
+        synchronized (this) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Only one subscriber is allowed"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+                } else {
+                    requested.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                Flow.Subscription s = upstream;
+                if (s != null) {
+                    s.cancel();
+                }
+                drain();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(String logicalName) {
+        Objects.requireNonNull(logicalName);
+        if (upstreamDone || cancelled) {
+            return;
+        }
+        int i = index++;
+        CompletableFuture<PhysicalNameOutcome> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> generate(i, logicalName), executor);
+        } catch (RuntimeException e) {
+            // Executorが受け付けない場合も、その論理名の失敗として送り出す
+            future = CompletableFuture.completedFuture(PhysicalNameOutcome.failure(i, logicalName, e));
+        }
+        inFlight.add(future);
+        future.whenComplete((outcome, error) -> drain());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable);
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * 1件の論理名から物理名を生成する（例外は結果に保持する）
+     */
+    private PhysicalNameOutcome generate(int i, String logicalName) {
+        try {
+            return PhysicalNameOutcome.success(i, logicalName,
+                    generator.generatePhysicalName(tokenizerType, namingConvention, logicalName, enableFallback, budget));
+        } catch (RuntimeException e) {
+            return PhysicalNameOutcome.failure(i, logicalName, e);
+        }
+    }
+
+    /**
+     * 生成済みの結果を下流の要求の範囲で順に送り出し、送り出した件数だけ上流に追加で要求する
+     * 複数のスレッドから呼び出されるが、送り出しは同時に1つのスレッドだけが行う。
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super PhysicalNameOutcome> subscriber = downstream;
+            Flow.Subscription subscription = upstream;
+            if (!terminated && subscriber != null && subscription != null) {
+                drainTo(subscriber, subscription);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainTo(Flow.Subscriber<? super PhysicalNameOutcome> subscriber, Flow.Subscription subscription) {
+        if (cancelled) {
+            terminated = true;
+            inFlight.clear();
+            return;
+        }
+        Throwable invalid = invalidRequest;
+        if (invalid != null) {
+            // 0以下の件数の要求は購読を取り消し、下流にエラーを伝える
+            terminated = true;
+            inFlight.clear();
+            subscription.cancel();
+            subscriber.onError(invalid);
+            return;
+        }
+        if (!started) {
+            started = true;
+            subscription.request(parallelism);
+        }
+
+        long r = requested.get();
+        long emitted = 0;
+        while (emitted != r) {
+            CompletableFuture<PhysicalNameOutcome> head = inFlight.peek();
+            if (head == null || !head.isDone()) {
+                break;
+            }
+            inFlight.poll();
+            subscriber.onNext(head.join());
+            emitted++;
+            if (cancelled) {
+                terminated = true;
+                inFlight.clear();
+                return;
+            }
+        }
+
+        if (upstreamDone && inFlight.isEmpty()) {
+            terminated = true;
+            Throwable error = upstreamError;
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+            return;
+        }
+        if (emitted != 0) {
+            if (r != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            subscription.request(emitted);
+        }
+    }
+}
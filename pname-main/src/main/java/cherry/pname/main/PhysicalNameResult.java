@@ -24,10 +24,16 @@ import java.util.List;
  * @param logicalName   元の日本語名
  * @param physicalName  生成した物理名
  * @param tokenMappings トークンの変換を「辞書キー=>辞書値」で表した文字列のリスト
+ * @param degraded      処理時間または作業量の上限に達し、一部を前方最長マッチで分割したかどうか
  */
 public record PhysicalNameResult(
         String logicalName,
         String physicalName,
-        List<String> tokenMappings
+        List<String> tokenMappings,
+        boolean degraded
 ) {
+
+    public PhysicalNameResult(String logicalName, String physicalName, List<String> tokenMappings) {
+        this(logicalName, physicalName, tokenMappings, false);
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1つの論理名から複数の命名規則で物理名を生成した結果を表すrecord
+ * トークン化とトークンマッピングは全ての命名規則で共通である。
+ *
+ * @param logicalName   元の日本語名
+ * @param physicalNames 命名規則から物理名へのマップ（指定した命名規則の順序）
+ * @param tokenMappings トークンの変換を「辞書キー=>辞書値」で表した文字列のリスト
+ * @param degraded      処理時間または作業量の上限に達し、一部を前方最長マッチで分割したかどうか
+ */
+public record PhysicalNameVariants(
+        String logicalName,
+        Map<NamingConvention, String> physicalNames,
+        List<String> tokenMappings,
+        boolean degraded
+) {
+
+    /**
+     * 命名規則に対応する物理名を取得する
+     *
+     * @param namingConvention 命名規則
+     * @return 物理名（生成していない命名規則の場合はnull）
+     */
+    public String physicalName(NamingConvention namingConvention) {
+        return physicalNames.get(namingConvention);
+    }
+
+    /**
+     * 命名規則を1つ選んで物理名生成結果に変換する
+     *
+     * @param namingConvention 命名規則
+     * @return 物理名生成結果
+     * @throws IllegalArgumentException 生成していない命名規則の場合
+     */
+    public PhysicalNameResult toResult(NamingConvention namingConvention) {
+        String physicalName = physicalNames.get(namingConvention);
+        if (physicalName == null) {
+            throw new IllegalArgumentException("Naming convention not generated: " + namingConvention);
+        }
+        return new PhysicalNameResult(logicalName, physicalName, tokenMappings, degraded);
+    }
+}
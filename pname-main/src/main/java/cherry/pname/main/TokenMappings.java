@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.TokenSpans;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * トークンマッピングを初めて参照した時に組み立てる変更できないリスト
+ * 多くの呼び出し元は物理名だけを参照するため、生成時にはトークンマッピングの文字列を組み立てない。
+ * 組み立てには生成時に求めた物理名要素（辞書の物理名と変換済みの未知語のローマ字）を使用し、ローマ字化し直すことはない。
+ * 件数はトークン化結果から求めるため、{@link #size()}では組み立てない。
+ */
+final class TokenMappings extends AbstractList<String> implements RandomAccess {
+
+    private final TokenSpans spans;
+    private final boolean enableFallback;
+    private final Map<String, List<String>> romaji;
+    private final String[] knownMappings;
+
+    private volatile String[] mappings;
+
+    /**
+     * @param spans          トークン化結果
+     * @param enableFallback 未知語のfallback処理を有効にしたかどうか
+     * @param romaji         未知語からローマ字要素のリストへのマップ（fallback処理が無効の場合はnull）
+     * @param knownMappings  既知語のトークンマッピングをエントリIDごとに保持する配列（複数の結果で共有する、nullの場合は共有しない）
+     */
+    TokenMappings(TokenSpans spans, boolean enableFallback, Map<String, List<String>> romaji, String[] knownMappings) {
+        this.spans = spans;
+        this.enableFallback = enableFallback;
+        this.romaji = romaji;
+        this.knownMappings = knownMappings;
+    }
+
+    @Override
+    public String get(int index) {
+        return mappings()[index];
+    }
+
+    @Override
+    public int size() {
+        return spans.size();
+    }
+
+    /**
+     * トークンマッピングを組み立て済みかどうかを判定する
+     */
+    boolean isComputed() {
+        return mappings != null;
+    }
+
+    /**
+     * 組み立てた場合のトークンマッピングの文字数を、組み立てずに求める
+     *
+     * @param i トークンの位置
+     * @return トークンマッピングの文字数
+     */
+    int mappingLength(int i) {
+        int wordLength = spans.end(i) - spans.start(i);
+        int length = wordLength + "=>".length();
+        if (spans.isUnknown(i)) {
+            if (enableFallback) {
+                length += "(romaji: ".length() + joinedLength(romanized(i), 1) + ")".length();
+            } else {
+                length += "(unknown: ".length() + wordLength + ")".length();
+            }
+        } else {
+            length += joinedLength(spans.physicalNames(i), 2);
+        }
+        return length;
+    }
+
+    /**
+     * トークンマッピングを組み立てる（複数のスレッドから同時に呼び出された場合は、それぞれが同じ結果を組み立てる）
+     */
+    private String[] mappings() {
+        String[] result = mappings;
+        if (result == null) {
+            result = new String[spans.size()];
+            for (int i = 0; i < result.length; i++) {
+                if (knownMappings != null && !spans.isUnknown(i)) {
+                    int entryId = spans.entryId(i);
+                    String known = knownMappings[entryId];
+                    if (known == null) {
+                        known = format(i);
+                        knownMappings[entryId] = known;
+                    }
+                    result[i] = known;
+                } else {
+                    result[i] = format(i);
+                }
+            }
+            mappings = result;
+        }
+        return result;
+    }
+
+    /**
+     * トークンマッピングを文字列形式でフォーマット（fallback制御付き）
+     */
+    private String format(int i) {
+        StringBuilder sb = new StringBuilder(mappingLength(i));
+        sb.append(spans.text(), spans.start(i), spans.end(i)).append("=>");
+
+        if (spans.isUnknown(i)) {
+            if (enableFallback) {
+                // 生成時に変換済みの物理名要素を使用
+                sb.append("(romaji: ").append(String.join(" ", romanized(i))).append(")");
+            } else {
+                sb.append("(unknown: ").append(spans.text(), spans.start(i), spans.end(i)).append(")");
+            }
+        } else {
+            sb.append(String.join(", ", spans.physicalNames(i)));
+        }
+
+        return sb.toString();
+    }
+
+    private List<String> romanized(int i) {
+        List<String> elements = romaji.get(spans.word(i));
+        return elements != null ? elements : List.of();
+    }
+
+    private static int joinedLength(List<String> elements, int delimiterLength) {
+        int length = Math.max(elements.size() - 1, 0) * delimiterLength;
+        for (String element : elements) {
+            length += element.length();
+        }
+        return length;
+    }
+}
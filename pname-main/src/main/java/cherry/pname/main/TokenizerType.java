@@ -31,5 +31,17 @@ public enum TokenizerType {
      * 考え得る分割パターンのうち最も適当な分け方を選択する
      * 評価基準：未知語長最小化 → 分割数最小化 → 辞書語数最大化 → 未知語数最小化
      */
-    OPTIMAL
+    OPTIMAL,
+
+    /**
+     * 適応型方式
+     * 前方最長マッチで分割し、未知語や辞書語の重なりがある区間のみ最適分割選択方式で分割し直す
+     */
+    ADAPTIVE,
+
+    /**
+     * 並列方式
+     * 長い入力を区間に分けて最適分割選択方式で並列に分割する（結果は最適分割選択方式と一致する）
+     */
+    PARALLEL
 }
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 変換結果をキャッシュするローマ字変換
+ * 未知語（取引先名や新しい用語など）は多くのリクエストで繰り返し現れるため、
+ * 形態素解析とローマ字変換の結果を未知語の文字列ごとに保持する。
+ * エントリは未知語のハッシュ値で区画に分けて保持し、参照と追加は区画ごとのロックで行う。
+ * 区画のエントリ数の上限を超えると、その区画で最も長く参照されていないエントリから破棄する。
+ * 変換は排他制御の外で行うため、同じ未知語が同時に変換されることはあるが、結果は同じになる。
+ * {@link RomajiStore}を設定した場合は、キャッシュにない未知語をまずファイルに保存された結果から探し、
+ * 新しく変換した結果をファイルに追加する。
+ */
+@Primary
+@Component("cachingRomajiConverter")
+public class CachingRomajiConverter implements RomajiConverter {
+
+    /**
+     * キャッシュするエントリ数の既定の上限
+     * システムプロパティ {@code cherry.pname.romaji.cache-size} で変更できる。0以下の場合はキャッシュしない。
+     */
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("cherry.pname.romaji.cache-size", 4096);
+
+    /**
+     * 区画の数の上限
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * 区画1つあたりのエントリ数の下限（これより小さい上限では区画を分けない）
+     */
+    private static final int MIN_STRIPE_ENTRIES = 64;
+
+    private final RomajiConverter delegate;
+    private final int maxEntries;
+    private final Stripe[] stripes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder storeHitCount = new LongAdder();
+
+    private volatile RomajiStore store;
+
+    /**
+     * @param kuromojiRomajiConverter 変換を行うローマ字変換
+     */
+    @Autowired
+    public CachingRomajiConverter(@Qualifier("kuromojiRomajiConverter") RomajiConverter kuromojiRomajiConverter) {
+        this(kuromojiRomajiConverter, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param delegate   変換を行うローマ字変換
+     * @param maxEntries キャッシュするエントリ数の上限（0以下の場合はキャッシュしない）
+     */
+    public CachingRomajiConverter(RomajiConverter delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxEntries / MIN_STRIPE_ENTRIES)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(maxEntries, 0) / count);
+        }
+    }
+
+    /**
+     * キャッシュした変換結果を返し、ない場合は変換して保持する
+     *
+     * @param japaneseText 日本語テキスト
+     * @return ローマ字要素のリスト（変更不可）
+     */
+    @Override
+    public List<String> convertToRomaji(String japaneseText) {
+        if (japaneseText == null || japaneseText.isEmpty()) {
+            return delegate.convertToRomaji(japaneseText);
+        }
+        if (maxEntries <= 0) {
+            return convertMiss(japaneseText);
+        }
+
+        Stripe stripe = stripe(japaneseText);
+        List<String> result = stripe.lookup(japaneseText);
+        if (result != null) {
+            hitCount.increment();
+            return result;
+        }
+
+        missCount.increment();
+        result = convertMiss(japaneseText);
+        stripe.store(japaneseText, result);
+        return result;
+    }
+
+    /**
+     * キャッシュした変換結果を返し、ない未知語だけをまとめて変換して保持する
+     * 同じ未知語が複数回現れる場合は1回だけ変換する。キャッシュから取得できなかった参照は、
+     * 同じ呼び出しの中で重複していてもすべてミスとして数える。
+     *
+     * @param japaneseTexts 日本語テキストのリスト
+     * @return 入力と同じ順序のローマ字要素のリストのリスト
+     */
+    @Override
+    public List<List<String>> convertAllToRomaji(List<String> japaneseTexts) {
+        if (maxEntries <= 0 && store == null) {
+            return delegate.convertAllToRomaji(japaneseTexts);
+        }
+
+        List<List<String>> results = new ArrayList<>(japaneseTexts.size());
+        Map<String, Integer> missIndexes = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        int hits = 0;
+        int lookups = 0;
+        for (String japaneseText : japaneseTexts) {
+            List<String> result = null;
+            if (japaneseText == null || japaneseText.isEmpty()) {
+                result = List.of();
+            } else {
+                lookups++;
+                if (!missIndexes.containsKey(japaneseText)) {
+                    result = maxEntries > 0 ? stripe(japaneseText).lookup(japaneseText) : null;
+                    if (result == null) {
+                        missIndexes.put(japaneseText, misses.size());
+                        misses.add(japaneseText);
+                    } else {
+                        hits++;
+                    }
+                }
+            }
+            results.add(result);
+        }
+        if (maxEntries > 0) {
+            hitCount.add(hits);
+            missCount.add(lookups - hits);
+        }
+        if (misses.isEmpty()) {
+            return results;
+        }
+
+        List<List<String>> converted = convertMisses(misses);
+        if (maxEntries > 0) {
+            for (int i = 0; i < misses.size(); i++) {
+                stripe(misses.get(i)).store(misses.get(i), converted.get(i));
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, converted.get(missIndexes.get(japaneseTexts.get(i))));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 未知語を保持する区画を取得する
+     */
+    private Stripe stripe(String japaneseText) {
+        int h = japaneseText.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * キャッシュにない未知語を変換する（ファイルに保存された結果があれば使用し、なければ変換して追加する）
+     */
+    private List<String> convertMiss(String japaneseText) {
+        RomajiStore s = store;
+        if (s != null) {
+            List<String> stored = s.get(japaneseText);
+            if (stored != null) {
+                storeHitCount.increment();
+                return stored;
+            }
+        }
+        List<String> result = List.copyOf(delegate.convertToRomaji(japaneseText));
+        if (s != null) {
+            s.put(japaneseText, result);
+        }
+        return result;
+    }
+
+    /**
+     * キャッシュにない未知語をまとめて変換する（ファイルに保存された結果がない未知語だけを変換して追加する）
+     */
+    private List<List<String>> convertMisses(List<String> misses) {
+        RomajiStore s = store;
+        List<List<String>> results = new ArrayList<>(misses.size());
+        List<String> unstored = new ArrayList<>();
+        for (String miss : misses) {
+            List<String> stored = s == null ? null : s.get(miss);
+            if (stored == null) {
+                unstored.add(miss);
+            }
+            results.add(stored);
+        }
+        storeHitCount.add(misses.size() - unstored.size());
+        if (unstored.isEmpty()) {
+            return results;
+        }
+
+        List<List<String>> converted = delegate.convertAllToRomaji(unstored);
+        for (int i = 0, j = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                List<String> copy = List.copyOf(converted.get(j++));
+                results.set(i, copy);
+                if (s != null) {
+                    s.put(misses.get(i), copy);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 変換結果を保存するファイルを設定する
+     * 設定したファイルの変換のバージョンがこの変換のバージョンと異なる場合は例外とする。
+     *
+     * @param store 変換結果を保存するファイル（nullの場合は解除する）
+     * @throws IllegalArgumentException 変換のバージョンが異なる場合
+     */
+    public void setStore(RomajiStore store) {
+        if (store != null && !store.getVersion().equals(getVersion())) {
+            throw new IllegalArgumentException("Romaji store version mismatch: " + store.getVersion() + " != " + getVersion());
+        }
+        this.store = store;
+    }
+
+    /**
+     * 変換結果を保存するファイルを取得する
+     *
+     * @return 変換結果を保存するファイル（設定されていない場合はnull）
+     */
+    public RomajiStore getStore() {
+        return store;
+    }
+
+    @Override
+    public String getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
+    /**
+     * キャッシュが有効かどうかを判定する
+     *
+     * @return エントリ数の上限が1以上の場合true
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * 保持しているエントリと統計情報を破棄する
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+        storeHitCount.reset();
+    }
+
+    /**
+     * 保持しているエントリ数を取得する
+     *
+     * @return エントリ数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * キャッシュした結果を使用できた回数を取得する
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュした結果を使用できなかった回数を取得する
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 上限を超えたために破棄したエントリ数を取得する
+     *
+     * @return 破棄したエントリ数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * キャッシュになかった未知語のうち、ファイルに保存された結果を使用できた回数を取得する
+     *
+     * @return ファイルに保存された結果を使用した回数
+     */
+    public long getStoreHitCount() {
+        return storeHitCount.sum();
+    }
+
+    /**
+     * キャッシュのヒット率を取得する
+     *
+     * @return ヒット率（参照がない場合は0）
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * エントリを保持する区画（アクセス順のLinkedHashMapを区画ごとのロックで保護する）
+     */
+    private final class Stripe extends LinkedHashMap<String, List<String>> {
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized List<String> lookup(String japaneseText) {
+            return get(japaneseText);
+        }
+
+        synchronized void store(String japaneseText, List<String> result) {
+            put(japaneseText, result);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            if (size() > maxEntries) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
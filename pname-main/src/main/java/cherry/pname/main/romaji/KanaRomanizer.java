@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import java.util.List;
+
+/**
+ * 表による仮名のローマ字変換
+ * カタカナだけの文字列（外来語など）を、形態素解析を行わずにローマ字に変換する。
+ * 仮名の並びの変換はひらがなにも対応するが、文字列全体の変換はカタカナだけに限り、要素の分け方を形態素解析にそろえる。
+ * 変換規則はICU4Jの「Katakana-Latin」に合わせる。
+ * <ul>
+ *   <li>拗音などの2文字の組み合わせ（「キャ」「シェ」「ファ」「ティ」など）は1つの音節として変換する。</li>
+ *   <li>促音「ッ」は次の音節の最初の子音を重ねる（「チ」の前では「t」）。重ねる子音がない場合（末尾など）は変換しない。</li>
+ *   <li>長音「ー」は直前の母音を長音記号付きの母音にする（「コーヒー」→「kōhī」）。直前に母音がない場合（先頭など）は変換しない。</li>
+ *   <li>「ン」の次が母音または「y」で始まる場合は「n'」とする。</li>
+ * </ul>
+ * 変換できない文字を含む場合は変換せず、呼び出し元が形態素解析で変換する。
+ */
+final class KanaRomanizer {
+
+    private static final char FIRST = '゠';
+    private static final char LAST = 'ヿ';
+    private static final int SIZE = LAST - FIRST + 1;
+
+    /**
+     * 1文字の変換表（カタカナの文字コード - FIRST で参照する）
+     */
+    private static final String[] MONOGRAPHS = new String[SIZE];
+
+    /**
+     * 2文字の組み合わせの変換表（1文字目、2文字目の文字コード - FIRST で参照する）
+     */
+    private static final String[][] DIGRAPHS = new String[SIZE][];
+
+    static {
+        String[] monographs = {
+                "ア", "a", "イ", "i", "ウ", "u", "エ", "e", "オ", "o",
+                "ァ", "a", "ィ", "i", "ゥ", "u", "ェ", "e", "ォ", "o",
+                "カ", "ka", "キ", "ki", "ク", "ku", "ケ", "ke", "コ", "ko",
+                "ガ", "ga", "ギ", "gi", "グ", "gu", "ゲ", "ge", "ゴ", "go",
+                "サ", "sa", "シ", "shi", "ス", "su", "セ", "se", "ソ", "so",
+                "ザ", "za", "ジ", "ji", "ズ", "zu", "ゼ", "ze", "ゾ", "zo",
+                "タ", "ta", "チ", "chi", "ツ", "tsu", "テ", "te", "ト", "to",
+                "ダ", "da", "ヂ", "di", "ヅ", "du", "デ", "de", "ド", "do",
+                "ナ", "na", "ニ", "ni", "ヌ", "nu", "ネ", "ne", "ノ", "no",
+                "ハ", "ha", "ヒ", "hi", "フ", "fu", "ヘ", "he", "ホ", "ho",
+                "バ", "ba", "ビ", "bi", "ブ", "bu", "ベ", "be", "ボ", "bo",
+                "パ", "pa", "ピ", "pi", "プ", "pu", "ペ", "pe", "ポ", "po",
+                "マ", "ma", "ミ", "mi", "ム", "mu", "メ", "me", "モ", "mo",
+                "ヤ", "ya", "ユ", "yu", "ヨ", "yo", "ャ", "ya", "ュ", "yu", "ョ", "yo",
+                "ラ", "ra", "リ", "ri", "ル", "ru", "レ", "re", "ロ", "ro",
+                "ワ", "wa", "ヰ", "wi", "ヱ", "we", "ヲ", "wo", "ヮ", "wa",
+                "ン", "n", "ヴ", "vu", "ヵ", "ka", "ヶ", "ke"};
+        for (int i = 0; i < monographs.length; i += 2) {
+            MONOGRAPHS[monographs[i].charAt(0) - FIRST] = monographs[i + 1];
+        }
+
+        String[] digraphs = {
+                "キャ", "kya", "キュ", "kyu", "キョ", "kyo", "キェ", "kye",
+                "ギャ", "gya", "ギュ", "gyu", "ギョ", "gyo", "ギェ", "gye",
+                "シャ", "sha", "シュ", "shu", "ショ", "sho", "シェ", "she",
+                "ジャ", "ja", "ジュ", "ju", "ジョ", "jo", "ジェ", "je",
+                "チャ", "cha", "チュ", "chu", "チョ", "cho", "チェ", "che",
+                "ヂャ", "dya", "ヂュ", "dyu", "ヂョ", "dyo",
+                "ニャ", "nya", "ニュ", "nyu", "ニョ", "nyo", "ニェ", "nye",
+                "ヒャ", "hya", "ヒュ", "hyu", "ヒョ", "hyo", "ヒェ", "hye",
+                "ビャ", "bya", "ビュ", "byu", "ビョ", "byo", "ビェ", "bye",
+                "ピャ", "pya", "ピュ", "pyu", "ピョ", "pyo", "ピェ", "pye",
+                "ミャ", "mya", "ミュ", "myu", "ミョ", "myo", "ミェ", "mye",
+                "リャ", "rya", "リュ", "ryu", "リョ", "ryo", "リェ", "rye",
+                "ファ", "fa", "フィ", "fi", "フェ", "fe", "フォ", "fo", "フュ", "fyu",
+                "ヴァ", "va", "ヴィ", "vi", "ヴェ", "ve", "ヴォ", "vo", "ヴュ", "vyu",
+                "ティ", "ti", "ディ", "di", "テュ", "tyu", "デュ", "dyu",
+                "トゥ", "tu", "ドゥ", "du",
+                "ツァ", "tsa", "ツィ", "tsi", "ツェ", "tse", "ツォ", "tso",
+                "ウィ", "wi", "ウェ", "we", "ウォ", "wo", "イェ", "ye",
+                "クァ", "kwa", "クィ", "kwi", "クェ", "kwe", "クォ", "kwo", "グァ", "gwa",
+                "スィ", "si", "ズィ", "zi"};
+        for (int i = 0; i < digraphs.length; i += 2) {
+            int first = digraphs[i].charAt(0) - FIRST;
+            if (DIGRAPHS[first] == null) {
+                DIGRAPHS[first] = new String[SIZE];
+            }
+            DIGRAPHS[first][digraphs[i].charAt(1) - FIRST] = digraphs[i + 1];
+        }
+    }
+
+    private KanaRomanizer() {
+    }
+
+    /**
+     * カタカナ（長音記号を含む）かどうかを判定する
+     *
+     * @param c 文字
+     * @return カタカナの場合true
+     */
+    static boolean isKatakana(char c) {
+        return (c >= 'ァ' && c <= 'ヺ') || c == 'ー';
+    }
+
+    /**
+     * カタカナだけからなる文字列（外来語など）をローマ字の要素リストに変換する
+     * 形態素解析でも1つの形態素となることが多いカタカナの並びだけを1つの要素とし、
+     * ひらがなや英数字を含む文字列は、形態素解析と要素の分け方が変わるため変換しない。
+     *
+     * @param text 変換する文字列
+     * @return ローマ字要素のリスト（カタカナ以外の文字や変換できない仮名を含む場合はnull）
+     */
+    static List<String> convert(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (!isKatakana(text.charAt(i))) {
+                return null;
+            }
+        }
+        String romaji = romanize(text, 0, length);
+        return romaji == null ? null : List.of(romaji);
+    }
+
+    /**
+     * 仮名の並びをローマ字に変換する
+     *
+     * @return ローマ字（変換できない仮名、または重ねる子音のない促音や直前に母音のない長音を含む場合はnull）
+     */
+    static String romanize(CharSequence text, int start, int end) {
+        StringBuilder sb = new StringBuilder((end - start) * 3);
+        boolean sokuon = false;
+        boolean afterN = false;
+        int i = start;
+        while (i < end) {
+            char c = toKatakana(text.charAt(i));
+            if (c == 'ー') {
+                if (sokuon || !lengthenLastVowel(sb)) {
+                    return null;
+                }
+                afterN = false;
+                i++;
+                continue;
+            }
+            if (c == 'ッ') {
+                if (sokuon) {
+                    return null;
+                }
+                sokuon = true;
+                afterN = false;
+                i++;
+                continue;
+            }
+
+            String romaji = null;
+            if (i + 1 < end) {
+                String[] digraphs = DIGRAPHS[c - FIRST];
+                if (digraphs != null) {
+                    romaji = digraphs[toKatakana(text.charAt(i + 1)) - FIRST];
+                }
+            }
+            if (romaji != null) {
+                i += 2;
+            } else {
+                romaji = MONOGRAPHS[c - FIRST];
+                if (romaji == null) {
+                    return null;
+                }
+                i++;
+            }
+
+            char head = romaji.charAt(0);
+            if (afterN && (isVowel(head) || head == 'y')) {
+                sb.append('\'');
+            }
+            if (sokuon) {
+                if (isVowel(head) || c == 'ン') {
+                    return null;
+                }
+                sb.append(romaji.startsWith("ch") ? 't' : head);
+            }
+            sb.append(romaji);
+            sokuon = false;
+            afterN = c == 'ン';
+        }
+        return sokuon ? null : sb.toString();
+    }
+
+    /**
+     * ひらがなを対応するカタカナにする
+     */
+    private static char toKatakana(char c) {
+        return c >= 'ぁ' && c <= 'ゖ' ? (char) (c + 0x60) : c;
+    }
+
+    /**
+     * 末尾の母音を長音記号付きの母音にする
+     *
+     * @return 末尾が長音記号の付いていない母音で、長音記号付きにした場合true
+     */
+    private static boolean lengthenLastVowel(StringBuilder sb) {
+        if (sb.isEmpty()) {
+            return false;
+        }
+        int last = sb.length() - 1;
+        switch (sb.charAt(last)) {
+            case 'a' -> sb.setCharAt(last, 'ā');
+            case 'i' -> sb.setCharAt(last, 'ī');
+            case 'u' -> sb.setCharAt(last, 'ū');
+            case 'e' -> sb.setCharAt(last, 'ē');
+            case 'o' -> sb.setCharAt(last, 'ō');
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'i' || c == 'u' || c == 'e' || c == 'o';
+    }
+}
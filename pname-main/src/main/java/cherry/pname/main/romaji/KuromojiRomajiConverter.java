@@ -23,15 +23,32 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Kuromojiを使用したローマ字変換実装
+ * Kuromojiの辞書（IPADIC）とICU4Jの変換規則の読み込みには時間がかかるため、
+ * 生成時には読み込まず、最初の変換または{@link #warmUp()}の呼び出し時に読み込む。
+ * Kuromojiのトークナイザーはスレッド間で共有できるが、ICU4Jの変換は同じインスタンスへの呼び出しが直列化されるため、
+ * 変換ごとにプールから専用のインスタンスを取り出して使う。
+ * カタカナだけからなる文字列（外来語など）は、形態素解析を行わずに{@link KanaRomanizer}の表で変換する。
  */
 @Component
 public class KuromojiRomajiConverter implements RomajiConverter {
 
-    private final Tokenizer tokenizer = new Tokenizer();
-    private final Transliterator katakanaToLatin = Transliterator.getInstance("Katakana-Latin");
+    /**
+     * 変換のバージョン（変換結果が変わる修正を行った場合に更新する）
+     */
+    public static final String VERSION = "kuromoji-ipadic+icu4j-katakana-latin/2";
+
+    /**
+     * 形態素解析する文字列の後に付ける区切り文字（文の区切りとなり、形態素がまたがない）
+     * 1件ずつの変換でも、まとめて変換する場合と同じく文字列の後に付けて解析し、前後の文脈をそろえる。
+     */
+    private static final String SEPARATOR = "。";
+
+    private volatile Resources resources;
 
     @Override
     public List<String> convertToRomaji(String japaneseText) {
@@ -39,8 +56,120 @@ public class KuromojiRomajiConverter implements RomajiConverter {
             return List.of();
         }
 
+        List<String> kana = KanaRomanizer.convert(japaneseText);
+        if (kana != null) {
+            return kana;
+        }
+        return convertWithTokenizer(japaneseText);
+    }
+
+    /**
+     * 複数の日本語文字列をまとめて変換する
+     * 表で変換できない文字列は、それぞれの後に区切り文字「。」を付けてつなげ、1回の形態素解析で処理してから文字列ごとに分ける。
+     * 1件ずつの変換も文字列の後に区切り文字を付けて解析するため、文字列ごとの解析の文脈は同じになり、
+     * 一緒に変換する文字列によって結果は変わらない。
+     * 形態素が区切りをまたいだ文字列は、1件ずつの形態素解析で変換し直す。
+     */
+    @Override
+    public List<List<String>> convertAllToRomaji(List<String> japaneseTexts) {
+        int count = japaneseTexts.size();
+        List<List<String>> results = new ArrayList<>(count);
+        int[] starts = new int[count];
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String japaneseText = japaneseTexts.get(i);
+            starts[i] = -1;
+            if (japaneseText == null || japaneseText.isEmpty()) {
+                results.add(List.of());
+                continue;
+            }
+            List<String> kana = KanaRomanizer.convert(japaneseText);
+            results.add(kana);
+            if (kana == null) {
+                starts[i] = joined.length();
+                joined.append(japaneseText).append(SEPARATOR);
+            }
+        }
+        if (joined.isEmpty()) {
+            return results;
+        }
+
+        Resources r = resources();
+        List<Token> tokens = r.tokenizer().tokenize(joined.toString());
+        Transliterator katakanaToLatin = r.acquireTransliterator();
+        try {
+            int k = 0;
+            List<Token> wordTokens = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (starts[i] < 0) {
+                    continue;
+                }
+                int start = starts[i];
+                int end = start + japaneseTexts.get(i).length();
+                boolean aligned = true;
+                wordTokens.clear();
+                while (k < tokens.size() && tokens.get(k).getPosition() < end) {
+                    Token token = tokens.get(k);
+                    int tokenStart = token.getPosition();
+                    int tokenEnd = tokenStart + token.getSurface().length();
+                    if (tokenStart < start) {
+                        // 前の文字列の区切り文字、または前の文字列から区切りをまたいだ形態素
+                        aligned &= tokenEnd <= start;
+                    } else if (tokenEnd > end) {
+                        // 区切り文字へまたがる形態素（次の文字列でも扱うため読み進めない）
+                        aligned = false;
+                        break;
+                    } else {
+                        wordTokens.add(token);
+                    }
+                    k++;
+                }
+                if (aligned) {
+                    results.set(i, convertTokens(wordTokens, katakanaToLatin));
+                }
+            }
+        } finally {
+            r.releaseTransliterator(katakanaToLatin);
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (results.get(i) == null) {
+                results.set(i, convertWithTokenizer(japaneseTexts.get(i)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 形態素解析の結果の読みからローマ字の要素リストに変換する
+     * まとめて変換する場合と同じく文字列の後に区切り文字を付けて解析し、文字列の範囲内の形態素だけを変換する。
+     *
+     * @param japaneseText 日本語テキスト
+     * @return ローマ字要素のリスト
+     */
+    List<String> convertWithTokenizer(String japaneseText) {
+        Resources r = resources();
+        List<Token> tokens = r.tokenizer().tokenize(japaneseText + SEPARATOR);
+        int end = japaneseText.length();
+        List<Token> wordTokens = new ArrayList<>(tokens.size());
+        for (Token token : tokens) {
+            if (token.getPosition() < end) {
+                wordTokens.add(token);
+            }
+        }
+        Transliterator katakanaToLatin = r.acquireTransliterator();
+        try {
+            return convertTokens(wordTokens, katakanaToLatin);
+        } finally {
+            r.releaseTransliterator(katakanaToLatin);
+        }
+    }
+
+    /**
+     * 形態素解析の結果をローマ字の要素リストに変換する
+     */
+    private List<String> convertTokens(List<Token> tokens, Transliterator katakanaToLatin) {
         List<String> result = new ArrayList<>();
-        List<Token> tokens = tokenizer.tokenize(japaneseText);
 
         for (Token token : tokens) {
             String surface = token.getSurface();
@@ -65,6 +194,46 @@ public class KuromojiRomajiConverter implements RomajiConverter {
         return result;
     }
 
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Kuromojiの辞書とICU4Jの変換規則を読み込む
+     */
+    @Override
+    public void warmUp() {
+        resources();
+    }
+
+    /**
+     * Kuromojiの辞書とICU4Jの変換規則が読み込み済みかどうかを判定する
+     *
+     * @return 読み込み済みの場合true
+     */
+    public boolean isInitialized() {
+        return resources != null;
+    }
+
+    /**
+     * 変換に使用するリソースを取得する（未読み込みの場合は読み込む）
+     */
+    private Resources resources() {
+        Resources r = resources;
+        if (r == null) {
+            synchronized (this) {
+                r = resources;
+                if (r == null) {
+                    r = new Resources(new Tokenizer());
+                    r.releaseTransliterator(r.acquireTransliterator());
+                    resources = r;
+                }
+            }
+        }
+        return r;
+    }
+
     private boolean containsJapanese(String text) {
         return text.chars().anyMatch(c ->
                 (c >= 0x3040 && c <= 0x309F) || // ひらがな
@@ -80,4 +249,31 @@ public class KuromojiRomajiConverter implements RomajiConverter {
                 c == 0x30FC                     // 長音符「ー」
         );
     }
+
+    /**
+     * 変換に使用するリソース
+     * ICU4Jの変換のインスタンスは、同時に変換するスレッドの数だけ生成してプールに戻して使い回す。
+     */
+    private static final class Resources {
+
+        private final Tokenizer tokenizer;
+        private final Queue<Transliterator> transliterators = new ConcurrentLinkedQueue<>();
+
+        Resources(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        Tokenizer tokenizer() {
+            return tokenizer;
+        }
+
+        Transliterator acquireTransliterator() {
+            Transliterator transliterator = transliterators.poll();
+            return transliterator != null ? transliterator : Transliterator.getInstance("Katakana-Latin");
+        }
+
+        void releaseTransliterator(Transliterator transliterator) {
+            transliterators.offer(transliterator);
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package cherry.pname.main.romaji;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,4 +31,37 @@ public interface RomajiConverter {
      * @return ローマ字要素のリスト
      */
     List<String> convertToRomaji(String japaneseText);
+
+    /**
+     * 複数の日本語文字列をまとめてローマ字の要素リストに変換する
+     * 既定の実装は1件ずつ変換する。
+     *
+     * @param japaneseTexts 日本語テキストのリスト
+     * @return 入力と同じ順序のローマ字要素のリストのリスト
+     */
+    default List<List<String>> convertAllToRomaji(List<String> japaneseTexts) {
+        List<List<String>> results = new ArrayList<>(japaneseTexts.size());
+        for (String japaneseText : japaneseTexts) {
+            results.add(convertToRomaji(japaneseText));
+        }
+        return results;
+    }
+
+    /**
+     * 変換のバージョンを取得する
+     * 変換結果をプロセスの外に保存する場合に、変換規則が異なる結果を使わないための識別に使う。
+     * 既定の実装はクラス名を返す。
+     *
+     * @return バージョン
+     */
+    default String getVersion() {
+        return getClass().getName();
+    }
+
+    /**
+     * 変換に必要なリソースを事前に読み込む
+     * 最初の変換で読み込みの時間がかからないよう、起動後に別スレッドから呼び出すことを想定する。
+     */
+    default void warmUp() {
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ローマ字変換の結果を保存するファイル
+ * 同じ未知語を含む入力を何度も処理するバッチでは、プロセスをまたいで変換結果を使い回すことで形態素解析を省ける。
+ * 開いた時にファイル全体を読み込み、保存時には新しく変換した結果を追加する。
+ * 変換規則が変わった場合に古い結果を使わないよう、ファイルには変換のバージョンを記録し、
+ * バージョンが異なるファイルの内容は読み込まない（保存時に置き換える）。
+ * <p>
+ * ファイルはUTF-8のテキストで、1行目がバージョン、2行目以降が1件1行の「未知語 TAB 要素 TAB 要素...」である。
+ * 保存時は同じディレクトリのロックファイルで他のプロセスと排他し、その時点のファイルの内容に追加した一時ファイルを
+ * 元のファイルへ移動して置き換える。このため、複数のプロセスが同時に保存しても結果は失われず、読み込み中のプロセスが
+ * 書きかけのファイルを読むこともない。
+ * </p>
+ */
+public final class RomajiStore {
+
+    private static final String HEADER = "# pname-romaji ";
+
+    private final Path file;
+    private final String version;
+    private final Map<String, List<String>> entries = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> added = new ConcurrentHashMap<>();
+
+    private RomajiStore(Path file, String version) {
+        this.file = file;
+        this.version = version;
+    }
+
+    /**
+     * ファイルを開いて保存されている変換結果を読み込む
+     *
+     * @param file    ファイル（存在しない場合は空として開き、保存時に作成する）
+     * @param version 変換のバージョン
+     * @return 開いたファイル
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    public static RomajiStore open(Path file, String version) throws IOException {
+        RomajiStore store = new RomajiStore(file, version);
+        store.entries.putAll(read(file, version));
+        return store;
+    }
+
+    /**
+     * 保存されている変換結果を取得する
+     *
+     * @param japaneseText 日本語テキスト
+     * @return ローマ字要素のリスト（保存されていない場合はnull）
+     */
+    public List<String> get(String japaneseText) {
+        return entries.get(japaneseText);
+    }
+
+    /**
+     * 変換結果を追加する（{@link #save()}でファイルに書き込む）
+     *
+     * @param japaneseText 日本語テキスト
+     * @param romaji       ローマ字要素のリスト
+     */
+    public void put(String japaneseText, List<String> romaji) {
+        List<String> copy = List.copyOf(romaji);
+        if (entries.putIfAbsent(japaneseText, copy) == null) {
+            added.put(japaneseText, copy);
+        }
+    }
+
+    /**
+     * 追加した変換結果をファイルに書き込む
+     * 追加した結果がない場合は何もしない。
+     *
+     * @return 書き込んだ変換結果の件数
+     * @throws IOException ファイルの書き込みに失敗した場合
+     */
+    public synchronized int save() throws IOException {
+        if (added.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> pending = new LinkedHashMap<>(added);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path lockFile = dir.resolve(file.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            Map<String, List<String>> merged = new LinkedHashMap<>(read(file, version));
+            pending.forEach(merged::putIfAbsent);
+
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                write(temp, version, merged);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            merged.forEach(entries::putIfAbsent);
+        }
+        pending.keySet().forEach(added::remove);
+        return pending.size();
+    }
+
+    /**
+     * 保持している変換結果の件数を取得する
+     *
+     * @return 件数（ファイルから読み込んだ件数と追加した件数の合計）
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 追加してまだファイルに書き込んでいない変換結果の件数を取得する
+     *
+     * @return 件数
+     */
+    public int getPendingCount() {
+        return added.size();
+    }
+
+    /**
+     * ファイルを取得する
+     *
+     * @return ファイル
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 変換のバージョンを取得する
+     *
+     * @return バージョン
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * ファイルを読み込む（存在しない場合とバージョンが異なる場合は空）
+     */
+    private static Map<String, List<String>> read(Path file, String version) throws IOException {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.equals(HEADER + escape(version))) {
+                return result;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                List<String> romaji = new ArrayList<>(fields.length - 1);
+                for (int i = 1; i < fields.length; i++) {
+                    romaji.add(unescape(fields[i]));
+                }
+                result.put(unescape(fields[0]), List.copyOf(romaji));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ファイルを書き込む
+     */
+    private static void write(Path file, String version, Map<String, List<String>> entries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + escape(version));
+            writer.newLine();
+            for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+                writer.write(escape(entry.getKey()));
+                for (String element : entry.getValue()) {
+                    writer.write('\t');
+                    writer.write(escape(element));
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * タブ、改行、バックスラッシュをエスケープする
+     */
+    private static String escape(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(s.length() + 8).append(s, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    /**
+     * {@link #escape(String)}を元に戻す
+     */
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char next = s.charAt(++i);
+                switch (next) {
+                    case 't' -> sb.append('\t');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    default -> sb.append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
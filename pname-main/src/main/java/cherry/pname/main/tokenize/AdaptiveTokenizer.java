@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 適応型のトークナイザー
+ * まず前方最長マッチで分割し、未知語を含む区間や辞書語の重なりがある区間のみ
+ * 最適分割選択方式で分割し直す
+ */
+@Component("adaptiveTokenizer")
+public class AdaptiveTokenizer implements Tokenizer {
+
+    private final Tokenizer greedyTokenizer;
+    private final Tokenizer optimalTokenizer;
+
+    /**
+     * 前方最長マッチの結果をそのまま採用した回数
+     */
+    private final LongAdder greedyPathCount = new LongAdder();
+
+    /**
+     * 最適分割選択方式へ切り替えた回数
+     */
+    private final LongAdder optimalPathCount = new LongAdder();
+
+    public AdaptiveTokenizer(
+            @Qualifier("greedyTokenizer") Tokenizer greedyTokenizer,
+            @Qualifier("optimalTokenizer") Tokenizer optimalTokenizer) {
+        this.greedyTokenizer = greedyTokenizer;
+        this.optimalTokenizer = optimalTokenizer;
+    }
+
+    /**
+     * 前方最長マッチの結果を、辞書語がまたがらないトークン境界で区間に分け、
+     * 未知語を含む区間または複数トークンからなる区間（辞書語の重なりがある区間）のみ再分割する。
+     * 隣接する要再分割区間は一つにまとめて再分割する。
+     */
+    @Override
+    public void tokenize(DictionaryIndex index, CharSequence text, int start, int end, SpanBuffer spans, TokenizeScratch scratch) {
+        SpanBuffer greedySpans = scratch.workSpans;
+        greedySpans.clear();
+        greedyTokenizer.tokenize(index, text, start, end, greedySpans, scratch);
+        if (greedySpans.size() == 0) {
+            return;
+        }
+
+        boolean escalated = false;
+        int hardStart = -1;
+        int regionFromToken = 0;
+        boolean regionHasUnknown = greedySpans.isUnknown(0);
+
+        for (int i = 1; i <= greedySpans.size(); i++) {
+            if (i < greedySpans.size()) {
+                int boundary = greedySpans.start(i);
+                if (isCrossed(index, text, start, end, boundary)) {
+                    regionHasUnknown |= greedySpans.isUnknown(i);
+                    continue;
+                }
+            }
+
+            // 区間[regionFromToken, i)が確定
+            boolean hard = regionHasUnknown || i - regionFromToken > 1;
+            if (hard) {
+                if (hardStart < 0) {
+                    hardStart = greedySpans.start(regionFromToken);
+                }
+            } else {
+                if (hardStart >= 0) {
+                    optimalTokenizer.tokenize(index, text, hardStart, greedySpans.start(regionFromToken), spans, scratch);
+                    hardStart = -1;
+                    escalated = true;
+                }
+                spans.addAll(greedySpans, regionFromToken, i);
+            }
+
+            if (i < greedySpans.size()) {
+                regionFromToken = i;
+                regionHasUnknown = greedySpans.isUnknown(i);
+            }
+        }
+        if (hardStart >= 0) {
+            optimalTokenizer.tokenize(index, text, hardStart, end, spans, scratch);
+            escalated = true;
+        }
+
+        if (escalated) {
+            optimalPathCount.increment();
+        } else {
+            greedyPathCount.increment();
+        }
+    }
+
+    /**
+     * 指定された境界をまたぐ辞書語が存在するかを判定する
+     * ある開始位置からの辞書語が境界をまたぐなら、その位置からの最長マッチも境界をまたぐ。
+     */
+    private boolean isCrossed(DictionaryIndex index, CharSequence text, int start, int end, int boundary) {
+        for (int pos = Math.max(start, boundary - index.maxKeyLength() + 1); pos < boundary; pos++) {
+            int entryId = index.longestMatch(text, pos, end);
+            if (entryId >= 0 && pos + index.keyLength(entryId) > boundary) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 前方最長マッチの結果をそのまま採用した回数を取得する
+     *
+     * @return 前方最長マッチのみで完了した回数
+     */
+    public long getGreedyPathCount() {
+        return greedyPathCount.sum();
+    }
+
+    /**
+     * 最適分割選択方式へ切り替えた回数を取得する
+     *
+     * @return 最適分割選択方式で再分割した回数
+     */
+    public long getOptimalPathCount() {
+        return optimalPathCount.sum();
+    }
+}
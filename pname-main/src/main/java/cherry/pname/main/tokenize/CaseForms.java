@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 物理名要素の大文字・小文字の形
+ * 命名規則は物理名要素を小文字、大文字、先頭のみ大文字のいずれかの形で連結するため、
+ * 辞書のコンパイル時に各形を求めておき、物理名の生成時には変換せずに書き出せるようにする。
+ * <p>
+ * 変換はロケールに依存しない。ASCIIの文字だけからなる要素は文字コードの計算で変換し、
+ * それ以外の文字を含む要素は{@link Locale#ROOT}で変換する。変換しても変わらない場合は元の文字列をそのまま使う。
+ * </p>
+ *
+ * @param lower       小文字の形
+ * @param upper       大文字の形
+ * @param capitalized 小文字にした上で先頭の文字を大文字にした形
+ */
+public record CaseForms(String lower, String upper, String capitalized) {
+
+    /**
+     * 物理名要素の各形を求める
+     *
+     * @param element 物理名要素
+     * @return 大文字・小文字の形
+     */
+    public static CaseForms of(String element) {
+        return new CaseForms(toLowerCase(element), toUpperCase(element), capitalize(element));
+    }
+
+    /**
+     * 小文字に変換する
+     *
+     * @param s 文字列
+     * @return 小文字の文字列（変わらない場合は引数の文字列）
+     */
+    public static String toLowerCase(String s) {
+        return convertAscii(s, 'A', 'Z', 'a' - 'A', false);
+    }
+
+    /**
+     * 大文字に変換する
+     *
+     * @param s 文字列
+     * @return 大文字の文字列（変わらない場合は引数の文字列）
+     */
+    public static String toUpperCase(String s) {
+        return convertAscii(s, 'a', 'z', 'A' - 'a', true);
+    }
+
+    /**
+     * ASCIIの文字だけからなる場合は範囲内の文字をずらして変換し、それ以外の場合は{@link Locale#ROOT}で変換する
+     */
+    private static String convertAscii(String s, char from, char to, int shift, boolean upper) {
+        int first = -1;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return upper ? s.toUpperCase(Locale.ROOT) : s.toLowerCase(Locale.ROOT);
+            }
+            if (first < 0 && c >= from && c <= to) {
+                first = i;
+            }
+        }
+        if (first < 0) {
+            return s;
+        }
+        char[] chars = s.toCharArray();
+        for (int i = first; i < chars.length; i++) {
+            if (chars[i] >= from && chars[i] <= to) {
+                chars[i] = (char) (chars[i] + shift);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 小文字にした上で先頭の文字を大文字に変換する
+     *
+     * @param s 文字列
+     * @return 変換した文字列（変わらない場合は引数の文字列）
+     */
+    public static String capitalize(String s) {
+        boolean changed = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                String lower = s.toLowerCase(Locale.ROOT);
+                String capitalized = lower.substring(0, 1).toUpperCase(Locale.ROOT) + lower.substring(1);
+                return capitalized.equals(s) ? s : capitalized;
+            }
+            if (i == 0 ? c >= 'a' && c <= 'z' : c >= 'A' && c <= 'Z') {
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return s;
+        }
+        char[] chars = s.toCharArray();
+        if (chars[0] >= 'a' && chars[0] <= 'z') {
+            chars[0] = (char) (chars[0] - ('a' - 'A'));
+        }
+        for (int i = 1; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 小文字に変換して書き出す（中間の文字列を生成しない）
+     * 変換が必要な最初の文字までは、まとめて書き出す。
+     *
+     * @param out 書き出し先
+     * @param s   文字列
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendLowerCase(Appendable out, String s) throws IOException {
+        appendConverted(out, s, 0, 'A', 'Z', 'a' - 'A', false);
+    }
+
+    /**
+     * 大文字に変換して書き出す（中間の文字列を生成しない）
+     * 変換が必要な最初の文字までは、まとめて書き出す。
+     *
+     * @param out 書き出し先
+     * @param s   文字列
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendUpperCase(Appendable out, String s) throws IOException {
+        appendConverted(out, s, 0, 'a', 'z', 'A' - 'a', true);
+    }
+
+    /**
+     * 小文字にした上で先頭の文字を大文字に変換して書き出す（ASCIIの文字だけからなる場合は中間の文字列を生成しない）
+     *
+     * @param out 書き出し先
+     * @param s   文字列
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void appendCapitalized(Appendable out, String s) throws IOException {
+        if (s.isEmpty()) {
+            return;
+        }
+        char first = s.charAt(0);
+        if (first >= 0x80) {
+            out.append(capitalize(s));
+            return;
+        }
+        out.append(first >= 'a' && first <= 'z' ? (char) (first - ('a' - 'A')) : first);
+        appendConverted(out, s, 1, 'A', 'Z', 'a' - 'A', false);
+    }
+
+    /**
+     * 開始位置以降を変換して書き出す
+     * ASCIIの範囲内の文字はずらして変換し、ASCII以外の文字が現れた場合はそこから先を{@link Locale#ROOT}で変換する。
+     * ASCII以外の文字の変換は前後の文字に依存することがあるため、文字列全体を変換した結果から切り出す。
+     */
+    private static void appendConverted(Appendable out, String s, int start, char from, char to, int shift, boolean upper) throws IOException {
+        int pending = start;
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                out.append(s, pending, i);
+                String converted = upper ? s.toUpperCase(Locale.ROOT) : s.toLowerCase(Locale.ROOT);
+                out.append(converted, i, converted.length());
+                return;
+            }
+            if (c >= from && c <= to) {
+                out.append(s, pending, i).append((char) (c + shift));
+                pending = i + 1;
+            }
+        }
+        out.append(s, pending, s.length());
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * トークン化用にコンパイルした辞書
+ * 辞書キーを配列表現のTrieに変換し、検索時にオブジェクトを生成せずにマッチを探索できるようにする。
+ * 各辞書エントリにはキーの辞書順に0始まりのエントリIDを割り当てる。
+ * 物理名要素の大文字・小文字の形（{@link CaseForms}）もコンパイル時に求めておく。
+ */
+public final class DictionaryIndex {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * 見積もりバイト数におけるオブジェクト1つあたりの固定部分（オブジェクトヘッダーと参照）
+     */
+    private static final int OBJECT_OVERHEAD = 24;
+
+    /**
+     * 空の辞書
+     */
+    public static final DictionaryIndex EMPTY = compile(Map.of());
+
+    /**
+     * コンパイルごとに一意な辞書のバージョン
+     */
+    private final long version;
+
+    private final String[] keys;
+    private final List<List<String>> physicalNames;
+    private final List<List<CaseForms>> caseForms;
+    private final int maxKeyLength;
+
+    /**
+     * 辞書キーに現れる文字種の集合（{@link ScriptRuns}の文字種ごとのビット）
+     */
+    private final int scriptMask;
+
+    /**
+     * 辞書キーの中で隣り合う文字種の組の集合（{@link ScriptRuns#transitionBit(int, int)}）
+     */
+    private final long transitionMask;
+
+    /**
+     * ノードごとの遷移文字（ルートは未使用）
+     */
+    private final char[] labels;
+
+    /**
+     * ノードごとの最初の子ノード（子ノードは連続した番号で遷移文字の昇順に並ぶ）
+     */
+    private final int[] firstChild;
+
+    /**
+     * ノードごとの子ノード数
+     */
+    private final int[] childCount;
+
+    /**
+     * ノードで終わる辞書エントリのID（なければ-1）
+     */
+    private final int[] nodeEntry;
+
+    private DictionaryIndex(String[] keys, List<List<String>> physicalNames) {
+        this.version = VERSIONS.incrementAndGet();
+        this.keys = keys;
+        this.physicalNames = physicalNames;
+
+        List<List<CaseForms>> forms = new ArrayList<>(physicalNames.size());
+        for (List<String> names : physicalNames) {
+            if (names == null || names.isEmpty()) {
+                forms.add(List.of());
+                continue;
+            }
+            CaseForms[] entryForms = new CaseForms[names.size()];
+            for (int i = 0; i < entryForms.length; i++) {
+                entryForms[i] = CaseForms.of(names.get(i));
+            }
+            forms.add(List.of(entryForms));
+        }
+        this.caseForms = forms;
+
+        int totalLength = 0;
+        int maxLength = 0;
+        int scripts = 0;
+        long transitions = 0L;
+        for (String key : keys) {
+            totalLength += key.length();
+            maxLength = Math.max(maxLength, key.length());
+            int previous = -1;
+            for (int i = 0; i < key.length(); i++) {
+                int script = ScriptRuns.classify(key.charAt(i));
+                scripts |= 1 << script;
+                if (previous >= 0) {
+                    transitions |= ScriptRuns.transitionBit(previous, script);
+                }
+                previous = script;
+            }
+        }
+        this.maxKeyLength = maxLength;
+        this.scriptMask = scripts;
+        this.transitionMask = transitions;
+
+        int capacity = totalLength + 1;
+        this.labels = new char[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new int[capacity];
+        this.nodeEntry = new int[capacity];
+        Arrays.fill(nodeEntry, -1);
+
+        // 幅優先で節点を採番し、同じ親の子ノードが連続番号になるように構築する
+        int nodeCount = 1;
+        Deque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{0, 0, keys.length, 0});
+        while (!queue.isEmpty()) {
+            int[] item = queue.poll();
+            int node = item[0];
+            int lo = item[1];
+            int hi = item[2];
+            int depth = item[3];
+
+            if (lo < hi && keys[lo].length() == depth) {
+                nodeEntry[node] = lo;
+                lo++;
+            }
+
+            firstChild[node] = nodeCount;
+            int i = lo;
+            while (i < hi) {
+                char c = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < hi && keys[j].charAt(depth) == c) {
+                    j++;
+                }
+                labels[nodeCount] = c;
+                queue.add(new int[]{nodeCount, i, j, depth + 1});
+                nodeCount++;
+                i = j;
+            }
+            childCount[node] = nodeCount - firstChild[node];
+        }
+    }
+
+    /**
+     * 辞書をコンパイルする
+     *
+     * @param dictionary 単語辞書（日本語→英語物理名のマップ）
+     * @return コンパイル済みの辞書
+     */
+    public static DictionaryIndex compile(Map<String, List<String>> dictionary) {
+        String[] keys = dictionary.keySet().stream()
+                .filter(key -> key != null && !key.isEmpty())
+                .sorted()
+                .toArray(String[]::new);
+        List<List<String>> physicalNames = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            physicalNames.add(dictionary.get(key));
+        }
+        return new DictionaryIndex(keys, physicalNames);
+    }
+
+    /**
+     * 辞書のバージョンを取得する
+     * 同じ内容の辞書でも、コンパイルするたびに異なる値となる。
+     *
+     * @return 辞書のバージョン
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 辞書のエントリ数を取得する
+     *
+     * @return エントリ数
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 最長の辞書キーの長さを取得する
+     *
+     * @return 最長の辞書キーの文字数
+     */
+    public int maxKeyLength() {
+        return maxKeyLength;
+    }
+
+    /**
+     * 辞書が使用するメモリのバイト数を見積もる
+     * 辞書キー、物理名とその大文字・小文字の形、Trieの配列から見積もる。大文字・小文字の形のうち物理名と同じ文字列は数えない。
+     *
+     * @return 見積もりバイト数
+     */
+    public long estimateBytes() {
+        long size = OBJECT_OVERHEAD + arrayBytes(keys.length, 8);
+        for (String key : keys) {
+            size += stringBytes(key);
+        }
+        for (int entryId = 0; entryId < keys.length; entryId++) {
+            List<String> names = physicalNames.get(entryId);
+            if (names == null) {
+                continue;
+            }
+            size += OBJECT_OVERHEAD * 2;
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                CaseForms forms = caseForms.get(entryId).get(i);
+                size += stringBytes(name) + OBJECT_OVERHEAD;
+                for (String form : new String[]{forms.lower(), forms.upper(), forms.capitalized()}) {
+                    if (form != name) {
+                        size += stringBytes(form);
+                    }
+                }
+            }
+        }
+        return size + arrayBytes(labels.length, 2) + arrayBytes(firstChild.length, 4) * 3;
+    }
+
+    private static long stringBytes(String s) {
+        return OBJECT_OVERHEAD + arrayBytes(s.length(), 2);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16 + (long) length * elementBytes;
+    }
+
+    /**
+     * 辞書キーに現れる文字種の集合を取得する
+     */
+    int scriptMask() {
+        return scriptMask;
+    }
+
+    /**
+     * 辞書キーの中で隣り合う文字種の組の集合を取得する
+     */
+    long transitionMask() {
+        return transitionMask;
+    }
+
+    /**
+     * エントリの辞書キーを取得する
+     *
+     * @param entryId エントリID
+     * @return 辞書キー（日本語）
+     */
+    public String key(int entryId) {
+        return keys[entryId];
+    }
+
+    /**
+     * エントリの辞書キーの長さを取得する
+     *
+     * @param entryId エントリID
+     * @return 辞書キーの文字数
+     */
+    public int keyLength(int entryId) {
+        return keys[entryId].length();
+    }
+
+    /**
+     * エントリの物理名のリストを取得する
+     *
+     * @param entryId エントリID
+     * @return 物理名のリスト（英語）
+     */
+    public List<String> physicalNames(int entryId) {
+        return physicalNames.get(entryId);
+    }
+
+    /**
+     * エントリの物理名の大文字・小文字の形のリストを取得する
+     *
+     * @param entryId エントリID
+     * @return 物理名と同じ順序の大文字・小文字の形のリスト
+     */
+    public List<CaseForms> caseForms(int entryId) {
+        return caseForms.get(entryId);
+    }
+
+    /**
+     * 指定範囲の文字列と完全に一致する辞書エントリを探す
+     *
+     * @param text  検索対象の文字列
+     * @param start 開始位置
+     * @param end   終了位置（この位置の文字は含まない）
+     * @return エントリID（一致しない場合は-1）
+     */
+    public int find(CharSequence text, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return nodeEntry[node];
+    }
+
+    /**
+     * 指定位置から始まる最長の辞書マッチを探す
+     *
+     * @param text  検索対象の文字列
+     * @param start 開始位置
+     * @param end   探索する範囲の終了位置
+     * @return 最長マッチのエントリID（マッチしない場合は-1）
+     */
+    public int longestMatch(CharSequence text, int start, int end) {
+        int node = 0;
+        int longest = -1;
+        for (int i = start; i < end; i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            if (nodeEntry[node] >= 0) {
+                longest = nodeEntry[node];
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * 指定位置から始まるすべての辞書マッチを短い順に集める
+     *
+     * @param text     検索対象の文字列
+     * @param start    開始位置
+     * @param end      探索する範囲の終了位置
+     * @param entryIds マッチしたエントリIDの格納先（{@code end - start}以上の長さが必要）
+     * @return マッチした件数
+     */
+    public int collectMatches(CharSequence text, int start, int end, int[] entryIds) {
+        int node = 0;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            if (nodeEntry[node] >= 0) {
+                entryIds[count++] = nodeEntry[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 子ノードを二分探索で探す
+     */
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
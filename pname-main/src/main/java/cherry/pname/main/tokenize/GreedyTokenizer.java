@@ -16,14 +16,8 @@
 
 package cherry.pname.main.tokenize;
 
-import org.apache.commons.collections4.trie.PatriciaTrie;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.SortedMap;
-
 /**
  * 前方最長マッチ方式のトークナイザー
  * 左から右へ順次、辞書で最も長くマッチする単語を選択する
@@ -32,88 +26,24 @@ import java.util.SortedMap;
 public class GreedyTokenizer implements Tokenizer {
 
     @Override
-    public List<Token> tokenize(Map<String, List<String>> dictionary, String logicalName) {
-        if (logicalName == null || logicalName.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Trie構造を事前に構築
-        PatriciaTrie<List<String>> trie = buildTrie(dictionary);
-
-        List<Token> tokens = new ArrayList<>();
-        int pos = 0;
-
-        while (pos < logicalName.length()) {
-            MatchResult matchResult = findLongestMatchWithTrie(trie, logicalName, pos);
-            
-            if (matchResult.hasMatch()) {
-                List<String> physicalNames = trie.get(matchResult.match());
-                tokens.add(new Token(matchResult.match(), physicalNames, false));
-                pos += matchResult.length();
+    public void tokenize(DictionaryIndex index, CharSequence text, int start, int end, SpanBuffer spans, TokenizeScratch scratch) {
+        TokenizeScratch work = end - start > scratch.maxLength() ? new TokenizeScratch(end - start) : scratch;
+        int[] limits = work.matchLimits;
+        ScriptRuns.computeMatchLimits(index, text, start, end, limits);
+
+        int pos = start;
+        while (pos < end) {
+            int limit = start + limits[pos - start];
+            int entryId = limit > pos ? index.longestMatch(text, pos, limit) : -1;
+            if (entryId >= 0) {
+                int length = index.keyLength(entryId);
+                spans.add(pos, pos + length, entryId);
+                pos += length;
             } else {
-                // 連続する未知語をまとめて処理
-                int unknownStart = pos;
-                while (pos < logicalName.length()) {
-                    MatchResult nextMatch = findLongestMatchWithTrie(trie, logicalName, pos);
-                    if (nextMatch.hasMatch()) {
-                        break;
-                    }
-                    pos++;
-                }
-
-                String unknownWord = logicalName.substring(unknownStart, pos);
-                tokens.add(new Token(unknownWord, List.of(), true));
+                // 連続する未知語はSpanBufferで一つにまとめられる
+                spans.add(pos, pos + 1, -1);
+                pos++;
             }
         }
-
-        return tokens;
-    }
-
-    /**
-     * 辞書からTrie構造を構築
-     */
-    private PatriciaTrie<List<String>> buildTrie(Map<String, List<String>> dictionary) {
-        PatriciaTrie<List<String>> trie = new PatriciaTrie<>();
-        for (Map.Entry<String, List<String>> entry : dictionary.entrySet()) {
-            trie.put(entry.getKey(), entry.getValue());
-        }
-        return trie;
-    }
-
-    /**
-     * Trie構造を使って指定位置から始まる最長マッチを探す
-     */
-    private MatchResult findLongestMatchWithTrie(PatriciaTrie<List<String>> trie, String text, int startPos) {
-        String longestMatch = null;
-        int longestLength = 0;
-        
-        // startPosから始まる部分文字列で接頭辞マッチを探索
-        for (int end = startPos + 1; end <= text.length(); end++) {
-            String candidate = text.substring(startPos, end);
-            
-            if (trie.containsKey(candidate)) {
-                longestMatch = candidate;
-                longestLength = candidate.length();
-            }
-            
-            // 接頭辞マッチがなくなったら早期終了
-            SortedMap<String, List<String>> prefixMatches = trie.prefixMap(candidate);
-            if (prefixMatches.isEmpty()) {
-                break;
-            }
-        }
-
-        return longestMatch != null ? 
-            new MatchResult(longestMatch, longestLength) : 
-            new MatchResult(null, 0);
-    }
-
-    /**
-     * マッチ結果を保持するレコード
-     */
-    private record MatchResult(String match, int length) {
-        boolean hasMatch() {
-            return match != null;
-        }
     }
 }
@@ -16,13 +16,9 @@
 
 package cherry.pname.main.tokenize;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * 最適分割選択方式のトークナイザー
  * 考え得る分割パターンのうち最も適当な分け方を選択する
@@ -33,131 +29,159 @@ import java.util.Map;
 @Component("optimalTokenizer")
 public class OptimalTokenizer implements Tokenizer {
 
-    @Override
-    public List<Token> tokenize(Map<String, List<String>> dictionary, String logicalName) {
-        if (logicalName == null || logicalName.isEmpty()) {
-            return new ArrayList<>();
-        }
+    private final SegmentCache segmentCache;
 
-        // メモ化用のマップをメソッドローカル変数として初期化
-        Map<Integer, TokenizeResult> memoization = new HashMap<>();
+    /**
+     * 上限に達した場合に残りの範囲を分割するトークナイザー
+     */
+    private final GreedyTokenizer fallbackTokenizer = new GreedyTokenizer();
 
-        TokenizeResult best = findOptimalTokenization(dictionary, logicalName, 0, memoization);
-        List<Token> tokens = best != null ? best.tokens : new ArrayList<>();
-        return mergeConsecutiveUnknownTokens(tokens);
+    public OptimalTokenizer() {
+        this(SegmentCache.DISABLED);
     }
 
     /**
-     * 連続する未知語トークンを一つにマージする
+     * @param segmentCache 探索結果のキャッシュ
      */
-    private List<Token> mergeConsecutiveUnknownTokens(List<Token> tokens) {
-        if (tokens.isEmpty()) {
-            return tokens;
-        }
-
-        List<Token> merged = new ArrayList<>();
-        StringBuilder unknownBuffer = new StringBuilder();
-
-        for (Token token : tokens) {
-            if (token.isUnknown()) {
-                unknownBuffer.append(token.word());
-            } else {
-                // 既知語が来たら、バッファの未知語をフラッシュ
-                if (!unknownBuffer.isEmpty()) {
-                    merged.add(new Token(unknownBuffer.toString(), List.of(), true));
-                    unknownBuffer.setLength(0);
-                }
-                merged.add(token);
-            }
-        }
-
-        // 最後に未知語が残っている場合
-        if (!unknownBuffer.isEmpty()) {
-            merged.add(new Token(unknownBuffer.toString(), List.of(), true));
-        }
-
-        return merged;
+    @Autowired
+    public OptimalTokenizer(SegmentCache segmentCache) {
+        this.segmentCache = segmentCache;
     }
 
     /**
-     * 動的プログラミングとメモ化を使用して最適な分割を探す
+     * 動的計画法で最適な分割を探す
+     * 末尾から順に、各位置から範囲の終わりまでの最適な分割の評価値と最初のトークンの終了位置を求める。
+     * 未知語の直後に最適な分割が未知語から始まる位置を続ける候補は、二つの未知語をつなげた候補より
+     * 必ず劣るため評価しない。連続する未知語はSpanBufferで一つにまとめられる。
+     * キャッシュが有効な場合、末尾の部分文字列の探索結果がキャッシュにあればその位置から探索を再開する。
+     * 作業領域に設定された上限に達した場合は探索を打ち切り、探索済みの位置より前の範囲を前方最長マッチで分割する。
      */
-    private TokenizeResult findOptimalTokenization(Map<String, List<String>> dictionary, String text, int start, Map<Integer, TokenizeResult> memoization) {
-        if (start >= text.length()) {
-            return new TokenizeResult(List.of(), 0, 0, 0);
+    @Override
+    public void tokenize(DictionaryIndex index, CharSequence text, int start, int end, SpanBuffer spans, TokenizeScratch scratch) {
+        int length = end - start;
+        if (length <= 0) {
+            return;
         }
+        TokenizeScratch work = length > scratch.maxLength() ? new TokenizeScratch(length) : scratch;
 
-        // メモ化チェック
-        if (memoization.containsKey(start)) {
-            return memoization.get(start);
-        }
+        int restored = segmentCache.isEnabled() ? segmentCache.restore(index, text, start, end, work) : length;
+        int searched = search(index, text, start, end, restored, work, scratch);
 
-        TokenizeResult bestResult = null;
+        if (searched > 0) {
+            // 上限に達したため、探索済みの位置より前は前方最長マッチで分割する
+            fallbackTokenizer.tokenize(index, text, start, start + searched, spans, scratch);
+        } else if (restored > 0 && segmentCache.isEnabled()) {
+            segmentCache.store(index, text, start, end, restored, work);
+        }
 
-        // 現在位置から始まるすべての可能な分割を試す
-        for (int end = start + 1; end <= text.length(); end++) {
-            String word = text.substring(start, end);
-            boolean isInDictionary = dictionary.containsKey(word);
+        for (int i = searched; i < length; i = work.nextEnd[i]) {
+            spans.add(start + i, start + work.nextEnd[i], work.nextEntry[i]);
+        }
+    }
 
-            // 残りの部分を再帰的に分割
-            TokenizeResult remainingResult = findOptimalTokenization(dictionary, text, end, memoization);
-            if (remainingResult != null) {
-                List<Token> tokens = new ArrayList<>();
-                if (isInDictionary) {
-                    List<String> physicalNames = dictionary.get(word);
-                    tokens.add(new Token(word, physicalNames, false));
+    /**
+     * 指定された位置より前の各位置について、範囲の終わりまでの最適な分割を探す
+     * 指定された位置以降の評価値、遷移先、エントリID、既知語の開始位置は作業領域に設定済みであること。
+     *
+     * @param index    コンパイル済み辞書
+     * @param text     分割対象の文字列
+     * @param start    範囲の開始位置
+     * @param end      範囲の終了位置
+     * @param restored 探索済みの位置（範囲の開始位置からの相対位置）
+     * @param work     評価値などの格納先
+     * @param budget   上限を管理する作業領域
+     * @return 上限に達して探索を打ち切った場合は探索済みの位置、最後まで探索した場合は0
+     */
+    int search(DictionaryIndex index, CharSequence text, int start, int end, int restored, TokenizeScratch work, TokenizeScratch budget) {
+        int length = end - start;
+        int[] unknownLength = work.unknownLength;
+        int[] totalTokens = work.totalTokens;
+        int[] unknownWords = work.unknownWords;
+        int[] nextEnd = work.nextEnd;
+        int[] nextEntry = work.nextEntry;
+        int[] knownNext = work.knownNext;
+        int[] matchIds = work.matchIds;
+        int[] limits = work.matchLimits;
+        ScriptRuns.computeMatchLimits(index, text, start, end, limits);
+
+        unknownLength[length] = 0;
+        totalTokens[length] = 0;
+        unknownWords[length] = 0;
+        knownNext[length] = length;
+
+        for (int i = restored - 1; i >= 0; i--) {
+            int matchCount = limits[i] > i ? index.collectMatches(text, start + i, start + limits[i], matchIds) : 0;
+            if (!budget.spend(matchCount + 1)) {
+                return i + 1;
+            }
+            int match = 0;
+            int unknownEnd = knownNext[i + 1];
+            boolean found = false;
+
+            // 辞書語の候補と未知語の候補を終了位置の昇順に試す
+            while (match < matchCount || unknownEnd <= length) {
+                int matchEnd = match < matchCount ? i + index.keyLength(matchIds[match]) : Integer.MAX_VALUE;
+                int e;
+                int entryId;
+                if (matchEnd <= unknownEnd) {
+                    e = matchEnd;
+                    entryId = matchIds[match++];
+                    if (unknownEnd == e) {
+                        unknownEnd = nextUnknownEnd(knownNext, unknownEnd, length);
+                    }
                 } else {
-                    tokens.add(new Token(word, List.of(), true));
+                    e = unknownEnd;
+                    entryId = -1;
+                    unknownEnd = nextUnknownEnd(knownNext, unknownEnd, length);
                 }
-                tokens.addAll(remainingResult.tokens);
-
-                int unknownWords = remainingResult.unknownWords + (isInDictionary ? 0 : 1);
-                int unknownLength = remainingResult.unknownLength + (isInDictionary ? 0 : word.length());
-                int totalTokens = remainingResult.totalTokens + 1;
-
-                TokenizeResult currentResult = new TokenizeResult(new ArrayList<>(tokens), unknownWords, unknownLength, totalTokens);
-
-                if (bestResult == null || isBetter(currentResult, bestResult)) {
-                    bestResult = currentResult;
+                boolean isInDictionary = entryId >= 0;
+
+                int currentUnknownLength = unknownLength[e] + (isInDictionary ? 0 : e - i);
+                int currentTotalTokens = totalTokens[e] + 1;
+                int currentUnknownWords = unknownWords[e] + (isInDictionary ? 0 : 1);
+
+                if (!found || isBetter(currentUnknownLength, currentTotalTokens, currentUnknownWords,
+                        unknownLength[i], totalTokens[i], unknownWords[i])) {
+                    unknownLength[i] = currentUnknownLength;
+                    totalTokens[i] = currentTotalTokens;
+                    unknownWords[i] = currentUnknownWords;
+                    nextEnd[i] = e;
+                    nextEntry[i] = entryId;
+                    found = true;
                 }
             }
+            knownNext[i] = nextEntry[i] >= 0 ? i : knownNext[i + 1];
         }
+        return 0;
+    }
 
-        // メモ化
-        memoization.put(start, bestResult);
-        return bestResult;
+    /**
+     * 未知語の候補として次に試す終了位置を求める
+     */
+    private int nextUnknownEnd(int[] knownNext, int unknownEnd, int length) {
+        return unknownEnd < length ? knownNext[unknownEnd + 1] : length + 1;
     }
 
     /**
      * 分割結果の評価：優先順位に従って評価する
      */
-    private boolean isBetter(TokenizeResult current, TokenizeResult best) {
+    private boolean isBetter(int currentUnknownLength, int currentTotalTokens, int currentUnknownWords,
+                             int bestUnknownLength, int bestTotalTokens, int bestUnknownWords) {
         // 1. 未知語の長さで比較（短い方が良い）
-        if (current.unknownLength != best.unknownLength) {
-            return current.unknownLength < best.unknownLength;
+        if (currentUnknownLength != bestUnknownLength) {
+            return currentUnknownLength < bestUnknownLength;
         }
         // 2. 分割数で比較（少ない方が良い）
-        if (current.totalTokens != best.totalTokens) {
-            return current.totalTokens < best.totalTokens;
+        if (currentTotalTokens != bestTotalTokens) {
+            return currentTotalTokens < bestTotalTokens;
         }
         // 3. 辞書語数で比較（多い方が良い）
-        int currentKnownWords = current.totalTokens - current.unknownWords;
-        int bestKnownWords = best.totalTokens - best.unknownWords;
+        int currentKnownWords = currentTotalTokens - currentUnknownWords;
+        int bestKnownWords = bestTotalTokens - bestUnknownWords;
         if (currentKnownWords != bestKnownWords) {
             return currentKnownWords > bestKnownWords;
         }
         // 4. 未知語数で比較（少ない方が良い）
-        return current.unknownWords < best.unknownWords;
-    }
-
-    /**
-     * 分割結果を保持するrecord
-     */
-    private record TokenizeResult(
-            List<Token> tokens,
-            int unknownWords,
-            int unknownLength,
-            int totalTokens
-    ) {
+        return currentUnknownWords < bestUnknownWords;
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 長い入力を区間に分けて並列に分割するトークナイザー
+ * 辞書語がまたがない位置で始まり、辞書語がまたがない位置で終わる辞書語（アンカー）は、
+ * どの最適な分割にも必ず含まれる。そこで、アンカーの前後で入力を区間に分け、
+ * 各区間を{@link ForkJoinPool}上で並列に分割してからアンカーとともにつなぎ合わせる。
+ * 結果は入力全体を逐次に分割した場合と一致する。
+ * 区切り文字（「・」「、」や空白）や辞書語がまたがない位置だけで分けると、
+ * 前後の未知語が連結されるため評価が変わり得る。そのため区間の境界には用いない。
+ */
+@Component("parallelTokenizer")
+public class ParallelTokenizer implements Tokenizer {
+
+    /**
+     * 区間の長さの下限の既定値（この2倍未満の入力は分けずに分割する）
+     * システムプロパティ {@code cherry.pname.tokenize.parallel-segment-length} で変更できる。
+     */
+    public static final int DEFAULT_SEGMENT_LENGTH = Integer.getInteger("cherry.pname.tokenize.parallel-segment-length", 512);
+
+    private final Tokenizer delegate;
+    private final ForkJoinPool pool;
+    private final int segmentLength;
+
+    /**
+     * @param optimalTokenizer 各区間を分割するトークナイザー
+     */
+    @Autowired
+    public ParallelTokenizer(@Qualifier("optimalTokenizer") Tokenizer optimalTokenizer) {
+        this(optimalTokenizer, ForkJoinPool.commonPool(), DEFAULT_SEGMENT_LENGTH);
+    }
+
+    /**
+     * @param delegate      各区間を分割するトークナイザー（最適分割選択方式または前方最長マッチ方式）
+     * @param pool          区間の分割を実行するプール
+     * @param segmentLength 区間の長さの下限
+     */
+    public ParallelTokenizer(Tokenizer delegate, ForkJoinPool pool, int segmentLength) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.segmentLength = Math.max(1, segmentLength);
+    }
+
+    /**
+     * アンカーで区切った区間を並列に分割し、順に結果へ追加する
+     * 各区間には呼び出し元の作業領域の期限を引き継ぎ、残りの作業量は区間の長さに比例して分ける。
+     * 区間が消費した作業量は呼び出し元の残りから差し引き、いずれかが縮退した場合は結果全体を縮退したものとする。
+     */
+    @Override
+    public void tokenize(DictionaryIndex index, CharSequence text, int start, int end, SpanBuffer spans, TokenizeScratch scratch) {
+        if (end - start < segmentLength * 2) {
+            delegate.tokenize(index, text, start, end, spans, scratch);
+            return;
+        }
+
+        int[] anchors = findAnchors(index, text, start, end);
+        int anchorCount = anchors.length / 3;
+        if (anchorCount == 0) {
+            delegate.tokenize(index, text, start, end, spans, scratch);
+            return;
+        }
+
+        int anchored = 0;
+        for (int k = 0; k < anchorCount; k++) {
+            anchored += anchors[k * 3 + 1] - anchors[k * 3];
+        }
+        int segmented = end - start - anchored;
+        long remaining = scratch.workRemaining();
+
+        List<SegmentTask> tasks = new ArrayList<>(anchorCount + 1);
+        int segmentStart = start;
+        for (int k = 0; k <= anchorCount; k++) {
+            int segmentEnd = k < anchorCount ? anchors[k * 3] : end;
+            long work = share(remaining, segmentEnd - segmentStart, segmented);
+            tasks.add(new SegmentTask(index, text, segmentStart, segmentEnd, scratch, work));
+            if (k < anchorCount) {
+                segmentStart = anchors[k * 3 + 1];
+            }
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+
+        for (int k = 0; k <= anchorCount; k++) {
+            SegmentTask task = tasks.get(k);
+            spans.addAll(task.spans, 0, task.spans.size());
+            scratch.chargeWork(task.scratch, task.work);
+            if (k < anchorCount) {
+                spans.add(anchors[k * 3], anchors[k * 3 + 1], anchors[k * 3 + 2]);
+            }
+        }
+    }
+
+    /**
+     * 残りの作業量のうち、区間の長さに比例する分を求める（上限がない場合は分けない）
+     */
+    private static long share(long remaining, int length, int total) {
+        if (remaining == Long.MAX_VALUE || total == 0) {
+            return remaining;
+        }
+        return remaining / total * length + remaining % total * length / total;
+    }
+
+    /**
+     * 区間の境界とするアンカーを探す
+     * 前の区間の終わりから区間の長さの下限以上離れた最初のアンカーを順に選ぶ。
+     *
+     * @return アンカーの開始位置、終了位置、エントリIDを順に並べた配列
+     */
+    private int[] findAnchors(DictionaryIndex index, CharSequence text, int start, int end) {
+        int length = end - start;
+
+        // 各位置からの最長マッチの終了位置と、それより前の位置からの最長マッチの終了位置の最大値
+        int[] reach = new int[length];
+        int[] maxReach = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            int entryId = index.longestMatch(text, start + i, end);
+            reach[i] = entryId >= 0 ? i + index.keyLength(entryId) : i;
+            maxReach[i + 1] = Math.max(maxReach[i], reach[i]);
+        }
+
+        int[] anchors = new int[3 * (length / segmentLength)];
+        int count = 0;
+        int segmentStart = 0;
+        for (int i = segmentLength; i < length; i++) {
+            if (i - segmentStart < segmentLength) {
+                continue;
+            }
+            int e = reach[i];
+            // 位置iと位置eのいずれも、より前から始まる辞書語にまたがれない
+            if (e > i && maxReach[i] <= i && maxReach[e] <= e) {
+                anchors[count++] = start + i;
+                anchors[count++] = start + e;
+                anchors[count++] = index.longestMatch(text, start + i, end);
+                segmentStart = e;
+                i = e - 1;
+            }
+        }
+        return Arrays.copyOf(anchors, count);
+    }
+
+    /**
+     * 一つの区間を分割するタスク
+     */
+    private final class SegmentTask extends RecursiveAction {
+
+        private final DictionaryIndex index;
+        private final CharSequence text;
+        private final int start;
+        private final int end;
+        private final TokenizeScratch parent;
+        private final long work;
+
+        private TokenizeScratch scratch;
+        private SpanBuffer spans;
+
+        SegmentTask(DictionaryIndex index, CharSequence text, int start, int end, TokenizeScratch parent, long work) {
+            this.index = index;
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.parent = parent;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            // ワーカースレッドのスレッドごとの作業領域は呼び出し元と共有され得るため、区間ごとに確保する
+            scratch = new TokenizeScratch(Math.max(1, end - start));
+            scratch.inheritBudget(parent, work);
+            spans = scratch.spans();
+            delegate.tokenize(index, text, start, end, spans, scratch);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+/**
+ * 文字種（漢字、カタカナ、ひらがな、英字、数字）による事前分割
+ * 辞書キーに現れない文字種や、辞書キーの中で隣り合うことのない文字種の境界は
+ * どの辞書語もまたがないため、辞書マッチの探索範囲をその境界までに制限できる。
+ */
+final class ScriptRuns {
+
+    static final int OTHER = 0;
+    static final int DIGIT = 1;
+    static final int ALPHA = 2;
+    static final int HIRAGANA = 3;
+    static final int KATAKANA = 4;
+    static final int KANJI = 5;
+
+    /**
+     * 文字種の数
+     */
+    static final int SCRIPT_COUNT = 6;
+
+    /**
+     * U+3100未満の文字の文字種（ASCII、ひらがな、カタカナを含む）
+     */
+    private static final byte[] TABLE = new byte[0x3100];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            TABLE[c] = DIGIT;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            TABLE[c] = ALPHA;
+            TABLE[c + ('a' - 'A')] = ALPHA;
+        }
+        for (char c = 0x3041; c <= 0x309F; c++) {
+            TABLE[c] = HIRAGANA;
+        }
+        for (char c = 0x30A0; c <= 0x30FF; c++) {
+            TABLE[c] = KATAKANA;
+        }
+        TABLE[0x3005] = KANJI; // 々
+        TABLE[0x3006] = KANJI; // 〆
+    }
+
+    private ScriptRuns() {
+    }
+
+    /**
+     * 文字の文字種を判定する
+     *
+     * @param c 文字
+     * @return 文字種
+     */
+    static int classify(char c) {
+        if (c < TABLE.length) {
+            return TABLE[c];
+        }
+        if ((c >= 0x4E00 && c <= 0x9FFF) || (c >= 0x3400 && c <= 0x4DBF) || (c >= 0xF900 && c <= 0xFAFF)) {
+            return KANJI;
+        }
+        if (c >= 0x31F0 && c <= 0x31FF) {
+            return KATAKANA; // カタカナ拡張
+        }
+        if (c >= 0xFF10 && c <= 0xFF19) {
+            return DIGIT; // 全角数字
+        }
+        if ((c >= 0xFF21 && c <= 0xFF3A) || (c >= 0xFF41 && c <= 0xFF5A)) {
+            return ALPHA; // 全角英字
+        }
+        if (c >= 0xFF66 && c <= 0xFF9F) {
+            return KATAKANA; // 半角カタカナ
+        }
+        return OTHER;
+    }
+
+    /**
+     * 文字種の遷移を表すビット
+     *
+     * @param from 前の文字の文字種
+     * @param to   後の文字の文字種
+     * @return 遷移を表すビット
+     */
+    static long transitionBit(int from, int to) {
+        return 1L << (from * SCRIPT_COUNT + to);
+    }
+
+    /**
+     * 指定範囲の各位置について、そこから始まる辞書語が越えられない位置を求める
+     * {@code limits[i - start]}は位置iから始まる辞書マッチの終了位置の上限（相対位置）となる。
+     * 上限が自身と等しい位置からは辞書語が始まらないため、辞書の探索を省略できる。
+     *
+     * @param index  コンパイル済み辞書
+     * @param text   対象の文字列
+     * @param start  範囲の開始位置
+     * @param end    範囲の終了位置
+     * @param limits 結果の格納先（{@code end - start}以上の長さが必要）
+     */
+    static void computeMatchLimits(DictionaryIndex index, CharSequence text, int start, int end, int[] limits) {
+        int scriptMask = index.scriptMask();
+        long transitionMask = index.transitionMask();
+        int length = end - start;
+
+        int limit = length;
+        int nextScript = -1;
+        for (int i = length - 1; i >= 0; i--) {
+            int script = classify(text.charAt(start + i));
+            if ((scriptMask & (1 << script)) == 0) {
+                // 辞書キーに現れない文字種の文字は、どの辞書語にも含まれない
+                limit = i;
+            } else if (nextScript >= 0 && (transitionMask & transitionBit(script, nextScript)) == 0) {
+                // 辞書キーの中で隣り合わない文字種の境界は、どの辞書語もまたがない
+                limit = i + 1;
+            }
+            limits[i] = limit;
+            nextScript = script;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 最適分割選択方式の部分結果のキャッシュ
+ * 最適分割の探索は末尾から行い、各位置の評価値はその位置から範囲の終わりまでの部分文字列だけで決まる。
+ * そこで、範囲全体と、文字種が変わる位置から範囲の終わりまでの部分文字列ごとに探索結果を保持し、
+ * 後続の呼び出しで末尾の部分文字列が一致すれば、その位置から探索を再開する。
+ * 参照と保持は範囲の先頭と文字種の境界に限るため、1回の分割あたりの参照回数は文字種の連なりの数となる。
+ * 1回の保持で生成する探索結果の配列と文字列は1つとし、末尾の部分文字列のエントリはそれを共有する。
+ * キーには辞書のバージョンを含めるため、辞書を読み込み直すと以前の結果は使われない。
+ * <p>
+ * エントリはキーのハッシュ値で分けた複数の区画に保持し、区画ごとに排他制御する。
+ * 区画ごとのエントリ数の上限を超えると、その区画で最も長く参照されていないエントリから破棄する。
+ * 既定ではキャッシュしない。論理名の末尾が共通することの多い入力でのみ有効にする。
+ * </p>
+ */
+@Component("segmentCache")
+public final class SegmentCache {
+
+    /**
+     * キャッシュするエントリ数の既定の上限
+     * システムプロパティ {@code cherry.pname.tokenize.segment-cache-size} で変更できる。0以下（既定）の場合はキャッシュしない。
+     */
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("cherry.pname.tokenize.segment-cache-size", 0);
+
+    /**
+     * キャッシュしない設定
+     */
+    public static final SegmentCache DISABLED = new SegmentCache(0);
+
+    /**
+     * 位置ごとに保持する値の数（未知語の長さ、分割数、未知語数、遷移先、エントリID、既知語の開始位置）
+     */
+    private static final int STRIDE = 6;
+
+    /**
+     * 区画の数の上限
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * 区画1つあたりのエントリ数の下限（これより小さい上限では区画を分けない）
+     */
+    private static final int MIN_STRIPE_ENTRIES = 64;
+
+    private final int maxEntries;
+    private final Stripe[] stripes;
+    private final ThreadLocal<Key> probe = ThreadLocal.withInitial(Key::new);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public SegmentCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries キャッシュするエントリ数の上限（0以下の場合はキャッシュしない）
+     */
+    public SegmentCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxEntries / MIN_STRIPE_ENTRIES)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(maxEntries, 0) / count);
+        }
+    }
+
+    /**
+     * キャッシュが有効かどうかを判定する
+     *
+     * @return エントリ数の上限が1以上の場合true
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * 最も長い一致する末尾の部分文字列の探索結果を作業領域に復元する
+     * 範囲の先頭と文字種の境界の位置だけを、先頭に近い位置から順に参照する。
+     * 復元した位置からの評価値、遷移先、エントリID、既知語の開始位置が作業領域に設定される。
+     *
+     * @param index コンパイル済み辞書
+     * @param text  分割対象の文字列
+     * @param start 範囲の開始位置
+     * @param end   範囲の終了位置
+     * @param work  作業領域
+     * @return 復元した位置（範囲の開始位置からの相対位置）。一致しない場合は範囲の長さ
+     */
+    int restore(DictionaryIndex index, CharSequence text, int start, int end, TokenizeScratch work) {
+        int length = end - start;
+        int[] hashes = work.suffixHashes;
+        hashes[length] = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            hashes[i] = hashes[i + 1] * 31 + text.charAt(start + i);
+        }
+
+        Key key = probe.get();
+        for (int from = 0; from < length; from++) {
+            if (!isBoundary(text, start, from)) {
+                continue;
+            }
+            key.set(index.version(), text, start + from, end, hashes[from]);
+            Entry entry = stripe(key).lookup(key);
+            if (entry != null) {
+                key.text = null;
+                hitCount.increment();
+                int[] values = entry.values();
+                int shift = from - entry.from();
+                for (int i = from; i < length; i++) {
+                    int offset = (i - shift) * STRIDE;
+                    work.unknownLength[i] = values[offset];
+                    work.totalTokens[i] = values[offset + 1];
+                    work.unknownWords[i] = values[offset + 2];
+                    work.nextEnd[i] = values[offset + 3] + shift;
+                    work.nextEntry[i] = values[offset + 4];
+                    work.knownNext[i] = values[offset + 5] + shift;
+                }
+                return from;
+            }
+        }
+        key.text = null;
+        missCount.increment();
+        return length;
+    }
+
+    /**
+     * 最適な分割の境界のうち、範囲の先頭と文字種の境界から範囲の終わりまでの探索結果を保持する
+     * 範囲全体の探索結果の配列と文字列を1つだけ生成し、各エントリで共有する。
+     * 復元した位置以降の境界は、復元元の結果を保持したときに保持済みのため対象としない。
+     *
+     * @param index    コンパイル済み辞書
+     * @param text     分割対象の文字列
+     * @param start    範囲の開始位置
+     * @param end      範囲の終了位置
+     * @param restored {@link #restore}で復元した位置
+     * @param work     探索結果を保持する作業領域
+     */
+    void store(DictionaryIndex index, CharSequence text, int start, int end, int restored, TokenizeScratch work) {
+        int length = end - start;
+        int[] values = null;
+        String key = null;
+        for (int from = 0; from < restored; from = work.nextEnd[from]) {
+            if (!isBoundary(text, start, from)) {
+                continue;
+            }
+            if (values == null) {
+                values = new int[length * STRIDE];
+                for (int i = 0; i < length; i++) {
+                    int offset = i * STRIDE;
+                    values[offset] = work.unknownLength[i];
+                    values[offset + 1] = work.totalTokens[i];
+                    values[offset + 2] = work.unknownWords[i];
+                    values[offset + 3] = work.nextEnd[i];
+                    values[offset + 4] = work.nextEntry[i];
+                    values[offset + 5] = work.knownNext[i];
+                }
+                key = text.subSequence(start, end).toString();
+            }
+            Key entryKey = new Key();
+            entryKey.set(index.version(), key, from, length, work.suffixHashes[from]);
+            stripe(entryKey).store(entryKey, new Entry(values, from));
+        }
+    }
+
+    /**
+     * 参照と保持の対象となる位置かどうかを判定する（範囲の先頭または直前と文字種が異なる位置）
+     */
+    private static boolean isBoundary(CharSequence text, int start, int from) {
+        return from == 0 || ScriptRuns.classify(text.charAt(start + from - 1)) != ScriptRuns.classify(text.charAt(start + from));
+    }
+
+    /**
+     * キーに対応する区画を取得する
+     */
+    private Stripe stripe(Key key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * 保持しているエントリと統計情報を破棄する
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * 保持しているエントリ数を取得する
+     *
+     * @return エントリ数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * キャッシュした結果を使用できた回数を取得する
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュした結果を使用できなかった回数を取得する
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * キャッシュのヒット率を取得する
+     *
+     * @return ヒット率（参照がない場合は0）
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * 探索結果
+     *
+     * @param values 保持した範囲全体の位置ごとの値（位置は範囲の先頭からの相対位置）
+     * @param from   このエントリの末尾の部分文字列の開始位置（範囲の先頭からの相対位置）
+     */
+    private record Entry(int[] values, int from) {
+    }
+
+    /**
+     * エントリを保持する区画（アクセス順のLinkedHashMapを区画ごとのロックで保護する）
+     */
+    private static final class Stripe extends LinkedHashMap<Key, Entry> {
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized Entry lookup(Key key) {
+            return get(key);
+        }
+
+        synchronized void store(Key key, Entry entry) {
+            put(key, entry);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    /**
+     * キャッシュのキー
+     * 検索時はスレッドごとのインスタンスを書き換えて使い、部分文字列を生成しない。
+     */
+    private static final class Key {
+
+        private long version;
+        private CharSequence text;
+        private int start;
+        private int end;
+        private int hash;
+
+        void set(long version, CharSequence text, int start, int end, int hash) {
+            this.version = version;
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            if (version != other.version || hash != other.hash || end - start != other.end - other.start) {
+                return false;
+            }
+            for (int i = 0; i < end - start; i++) {
+                if (text.charAt(start + i) != other.text.charAt(other.start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(version) * 31 + hash;
+        }
+    }
+}
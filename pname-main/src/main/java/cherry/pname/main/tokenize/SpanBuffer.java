@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * トークンの位置を保持する再利用可能なバッファ
+ * 各トークンを入力文字列上の（開始位置, 終了位置, エントリID）で表す。
+ * 未知語のエントリIDは-1とし、連続する未知語は追加時に一つにまとめる。
+ */
+public final class SpanBuffer {
+
+    private int[] starts;
+    private int[] ends;
+    private int[] entryIds;
+    private int size;
+
+    /**
+     * @param capacity 初期容量（トークン数）
+     */
+    public SpanBuffer(int capacity) {
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.entryIds = new int[capacity];
+    }
+
+    /**
+     * 保持しているトークンを破棄する
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 先頭から指定された数のトークンだけを残す
+     *
+     * @param size 残すトークン数
+     */
+    public void truncate(int size) {
+        if (size < this.size) {
+            this.size = size;
+        }
+    }
+
+    /**
+     * トークンを追加する
+     * 未知語が直前の未知語に隣接する場合は直前のトークンを延長する。
+     *
+     * @param start   開始位置
+     * @param end     終了位置
+     * @param entryId エントリID（未知語の場合は-1）
+     */
+    public void add(int start, int end, int entryId) {
+        if (entryId < 0 && size > 0 && entryIds[size - 1] < 0 && ends[size - 1] == start) {
+            ends[size - 1] = end;
+            return;
+        }
+        if (size == starts.length) {
+            int capacity = Math.max(8, size * 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            entryIds = Arrays.copyOf(entryIds, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        entryIds[size] = entryId;
+        size++;
+    }
+
+    /**
+     * 他のバッファのトークンを追加する
+     *
+     * @param other 追加元のバッファ
+     * @param from  追加元の開始インデックス
+     * @param to    追加元の終了インデックス（このインデックスは含まない）
+     */
+    public void addAll(SpanBuffer other, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(other.starts[i], other.ends[i], other.entryIds[i]);
+        }
+    }
+
+    /**
+     * トークン数を取得する
+     *
+     * @return トークン数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * トークンの開始位置を取得する
+     *
+     * @param index トークンのインデックス
+     * @return 開始位置
+     */
+    public int start(int index) {
+        return starts[index];
+    }
+
+    /**
+     * トークンの終了位置を取得する
+     *
+     * @param index トークンのインデックス
+     * @return 終了位置（この位置の文字は含まない）
+     */
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * トークンのエントリIDを取得する
+     *
+     * @param index トークンのインデックス
+     * @return エントリID（未知語の場合は-1）
+     */
+    public int entryId(int index) {
+        return entryIds[index];
+    }
+
+    /**
+     * トークンが未知語かどうかを判定する
+     *
+     * @param index トークンのインデックス
+     * @return 未知語の場合true
+     */
+    public boolean isUnknown(int index) {
+        return entryIds[index] < 0;
+    }
+
+    /**
+     * 保持しているトークンを不変のトークン化結果に変換する
+     *
+     * @param index    位置の解決に使用したコンパイル済み辞書
+     * @param text     トークン化した文字列
+     * @param degraded 上限に達して縮退した結果かどうか
+     * @return トークン化結果
+     */
+    public TokenSpans toTokenSpans(DictionaryIndex index, String text, boolean degraded) {
+        return new TokenSpans(text, index,
+                Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(entryIds, size), degraded);
+    }
+
+    /**
+     * 保持しているトークンをトークンのリストに変換する
+     *
+     * @param index 位置の解決に使用したコンパイル済み辞書
+     * @param text  トークン化した文字列
+     * @return トークンのリスト
+     */
+    public List<Token> toTokens(DictionaryIndex index, String text) {
+        List<Token> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String word = text.substring(starts[i], ends[i]);
+            if (entryIds[i] < 0) {
+                tokens.add(new Token(word, List.of(), true));
+            } else {
+                tokens.add(new Token(word, index.physicalNames(entryIds[i]), false));
+            }
+        }
+        return tokens;
+    }
+}
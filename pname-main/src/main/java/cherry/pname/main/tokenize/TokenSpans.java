@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * トークン化結果のコンパクトな表現
+ * 元の文字列に対するトークンの位置（開始位置、終了位置、エントリID）を配列で保持する。
+ * 単語の文字列や物理名のリストは、参照されたときに元の文字列と辞書から取り出す。
+ * 不変であり、スレッド間で共有できる。
+ */
+public final class TokenSpans {
+
+    private final String text;
+    private final DictionaryIndex index;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] entryIds;
+    private final boolean degraded;
+
+    TokenSpans(String text, DictionaryIndex index, int[] starts, int[] ends, int[] entryIds, boolean degraded) {
+        this.text = text;
+        this.index = index;
+        this.starts = starts;
+        this.ends = ends;
+        this.entryIds = entryIds;
+        this.degraded = degraded;
+    }
+
+    /**
+     * 空のトークン化結果を生成する
+     *
+     * @param text トークン化した文字列
+     * @return トークンを含まない結果
+     */
+    public static TokenSpans empty(String text) {
+        return new TokenSpans(text, DictionaryIndex.EMPTY, new int[0], new int[0], new int[0], false);
+    }
+
+    /**
+     * トークン化した文字列を取得する
+     *
+     * @return トークン化した文字列
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * 位置の解決に使用したコンパイル済み辞書を取得する
+     *
+     * @return コンパイル済み辞書
+     */
+    public DictionaryIndex index() {
+        return index;
+    }
+
+    /**
+     * 処理時間または作業量の上限に達し、一部を前方最長マッチで分割した結果かどうかを判定する
+     *
+     * @return 縮退した結果の場合true
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * トークン数を取得する
+     *
+     * @return トークン数
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * トークンの開始位置を取得する
+     *
+     * @param i トークンのインデックス
+     * @return 開始位置
+     */
+    public int start(int i) {
+        return starts[i];
+    }
+
+    /**
+     * トークンの終了位置を取得する
+     *
+     * @param i トークンのインデックス
+     * @return 終了位置（この位置の文字は含まない）
+     */
+    public int end(int i) {
+        return ends[i];
+    }
+
+    /**
+     * トークンのエントリIDを取得する
+     *
+     * @param i トークンのインデックス
+     * @return エントリID（未知語の場合は-1）
+     */
+    public int entryId(int i) {
+        return entryIds[i];
+    }
+
+    /**
+     * トークンが未知語かどうかを判定する
+     *
+     * @param i トークンのインデックス
+     * @return 未知語の場合true
+     */
+    public boolean isUnknown(int i) {
+        return entryIds[i] < 0;
+    }
+
+    /**
+     * トークンの単語を取得する
+     * 呼び出すたびに元の文字列から切り出す。
+     *
+     * @param i トークンのインデックス
+     * @return 単語（日本語）
+     */
+    public String word(int i) {
+        return text.substring(starts[i], ends[i]);
+    }
+
+    /**
+     * トークンの物理名のリストを取得する
+     * 既知語の場合は辞書が保持するリストをそのまま返す。
+     *
+     * @param i トークンのインデックス
+     * @return 物理名のリスト（未知語の場合は空）
+     */
+    public List<String> physicalNames(int i) {
+        return entryIds[i] < 0 ? List.of() : index.physicalNames(entryIds[i]);
+    }
+
+    /**
+     * トークンの物理名の大文字・小文字の形のリストを取得する
+     * 既知語の場合は辞書のコンパイル時に求めた形をそのまま返す。
+     *
+     * @param i トークンのインデックス
+     * @return 物理名と同じ順序の大文字・小文字の形のリスト（未知語の場合は空）
+     */
+    public List<CaseForms> caseForms(int i) {
+        return entryIds[i] < 0 ? List.of() : index.caseForms(entryIds[i]);
+    }
+
+    /**
+     * トークンを生成する
+     *
+     * @param i トークンのインデックス
+     * @return トークン
+     */
+    public Token token(int i) {
+        return new Token(word(i), physicalNames(i), isUnknown(i));
+    }
+
+    /**
+     * すべてのトークンをトークンのリストに変換する
+     *
+     * @return トークンのリスト
+     */
+    public List<Token> toTokens() {
+        List<Token> tokens = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            tokens.add(token(i));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.time.Duration;
+
+/**
+ * トークン化処理に許容する時間と作業量の上限
+ * 最適分割の探索が上限に達した場合、残りの範囲は前方最長マッチで分割し、結果を縮退したものとして扱う。
+ * 作業量は探索で評価する分割候補の数で数える。
+ */
+public final class TokenizeBudget {
+
+    /**
+     * 上限なし
+     */
+    public static final TokenizeBudget UNLIMITED = new TokenizeBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long timeoutNanos;
+    private final long maxWork;
+
+    private TokenizeBudget(long timeoutNanos, long maxWork) {
+        this.timeoutNanos = timeoutNanos;
+        this.maxWork = maxWork;
+    }
+
+    /**
+     * 処理時間の上限を指定する
+     *
+     * @param timeout 1回のトークン化に許容する時間
+     * @return 処理時間の上限
+     */
+    public static TokenizeBudget ofTime(Duration timeout) {
+        return new TokenizeBudget(timeout.toNanos(), Long.MAX_VALUE);
+    }
+
+    /**
+     * 作業量の上限を指定する
+     *
+     * @param maxWork 1回のトークン化で評価する分割候補の数の上限
+     * @return 作業量の上限
+     */
+    public static TokenizeBudget ofWork(long maxWork) {
+        return new TokenizeBudget(Long.MAX_VALUE, maxWork);
+    }
+
+    /**
+     * 処理時間の上限を追加する
+     *
+     * @param timeout 1回のトークン化に許容する時間
+     * @return 処理時間と作業量の上限
+     */
+    public TokenizeBudget withTime(Duration timeout) {
+        return new TokenizeBudget(timeout.toNanos(), maxWork);
+    }
+
+    /**
+     * 作業量の上限を追加する
+     *
+     * @param maxWork 1回のトークン化で評価する分割候補の数の上限
+     * @return 処理時間と作業量の上限
+     */
+    public TokenizeBudget withWork(long maxWork) {
+        return new TokenizeBudget(timeoutNanos, maxWork);
+    }
+
+    /**
+     * 処理時間の上限を取得する
+     *
+     * @return 処理時間の上限（ナノ秒、上限なしの場合は{@link Long#MAX_VALUE}）
+     */
+    public long timeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * 作業量の上限を取得する
+     *
+     * @return 評価する分割候補の数の上限（上限なしの場合は{@link Long#MAX_VALUE}）
+     */
+    public long maxWork() {
+        return maxWork;
+    }
+
+    /**
+     * 上限がないかどうかを判定する
+     *
+     * @return 処理時間と作業量のいずれにも上限がない場合true
+     */
+    public boolean isUnlimited() {
+        return timeoutNanos == Long.MAX_VALUE && maxWork == Long.MAX_VALUE;
+    }
+}
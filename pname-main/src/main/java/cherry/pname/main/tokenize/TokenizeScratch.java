@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+/**
+ * トークン化処理の作業領域
+ * 最大長以下の入力であれば、トークン化の途中でオブジェクトを生成せずに済むよう配列を事前に確保しておく。
+ * スレッド間で共有してはならない。スレッドごとのインスタンスは{@link #acquire(int)}で取得できる。
+ */
+public final class TokenizeScratch {
+
+    /**
+     * スレッドごとの作業領域で扱う入力の最大長
+     * システムプロパティ {@code cherry.pname.tokenize.max-length} で変更できる。
+     */
+    public static final int DEFAULT_MAX_LENGTH = Integer.getInteger("cherry.pname.tokenize.max-length", 256);
+
+    private static final ThreadLocal<TokenizeScratch> PER_THREAD =
+            ThreadLocal.withInitial(() -> new TokenizeScratch(DEFAULT_MAX_LENGTH));
+
+    private final int maxLength;
+
+    /**
+     * トークン化結果の格納先
+     */
+    private final SpanBuffer spans;
+
+    /**
+     * 複数のトークナイザーを組み合わせる場合の中間結果の格納先
+     */
+    final SpanBuffer workSpans;
+
+    /**
+     * 最適分割の探索で使用する位置ごとの評価値と遷移先
+     */
+    final int[] unknownLength;
+    final int[] totalTokens;
+    final int[] unknownWords;
+    final int[] nextEnd;
+    final int[] nextEntry;
+
+    /**
+     * 最適分割の探索で使用する、各位置以降で最適な分割が既知語から始まる最初の位置
+     */
+    final int[] knownNext;
+
+    /**
+     * 辞書マッチの収集先
+     */
+    final int[] matchIds;
+
+    /**
+     * 位置ごとの辞書マッチの終了位置の上限（{@link ScriptRuns#computeMatchLimits}）
+     */
+    final int[] matchLimits;
+
+    /**
+     * 位置ごとの、そこから範囲の終わりまでの部分文字列のハッシュ値（{@link SegmentCache}）
+     */
+    final int[] suffixHashes;
+
+    /**
+     * 処理時間を確認する間隔（作業量の単位）
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    private long deadline;
+    private boolean timeLimited;
+    private long workRemaining;
+    private long workUntilTimeCheck;
+    private boolean degraded;
+
+    /**
+     * @param maxLength オブジェクトを生成せずに扱える入力の最大長
+     */
+    public TokenizeScratch(int maxLength) {
+        this.maxLength = maxLength;
+        this.spans = new SpanBuffer(maxLength);
+        this.workSpans = new SpanBuffer(maxLength);
+        this.unknownLength = new int[maxLength + 1];
+        this.totalTokens = new int[maxLength + 1];
+        this.unknownWords = new int[maxLength + 1];
+        this.nextEnd = new int[maxLength + 1];
+        this.nextEntry = new int[maxLength + 1];
+        this.knownNext = new int[maxLength + 1];
+        this.matchIds = new int[maxLength + 1];
+        this.matchLimits = new int[maxLength + 1];
+        this.suffixHashes = new int[maxLength + 1];
+        startBudget(TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 指定された長さの入力を扱える作業領域を取得する
+     * 最大長以下であれば現在のスレッド専用の作業領域を再利用し、超える場合は新たに確保する。
+     *
+     * @param length 入力の長さ
+     * @return 作業領域
+     */
+    public static TokenizeScratch acquire(int length) {
+        TokenizeScratch scratch = PER_THREAD.get();
+        if (length > scratch.maxLength) {
+            return new TokenizeScratch(length);
+        }
+        return scratch;
+    }
+
+    /**
+     * オブジェクトを生成せずに扱える入力の最大長を取得する
+     *
+     * @return 入力の最大長
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * トークン化処理に許容する上限を設定し、縮退の状態を初期化する
+     * 処理時間の上限は、この呼び出しの時点から数える。
+     *
+     * @param budget 処理時間と作業量の上限
+     */
+    public void startBudget(TokenizeBudget budget) {
+        this.timeLimited = budget.timeoutNanos() != Long.MAX_VALUE;
+        this.deadline = timeLimited ? System.nanoTime() + budget.timeoutNanos() : 0L;
+        this.workRemaining = budget.maxWork();
+        this.workUntilTimeCheck = TIME_CHECK_INTERVAL;
+        this.degraded = false;
+    }
+
+    /**
+     * 上限に達したため、処理の一部を縮退させたかどうかを判定する
+     *
+     * @return 縮退させた場合true
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * 別の作業領域の期限と、残りの作業量のうち指定された分を引き継ぐ
+     * 処理を分担する作業領域に、呼び出し元と同じ期限と分担する作業量を設定する。
+     *
+     * @param parent 引き継ぎ元の作業領域
+     * @param work   分担する作業量
+     */
+    void inheritBudget(TokenizeScratch parent, long work) {
+        this.timeLimited = parent.timeLimited;
+        this.deadline = parent.deadline;
+        this.workRemaining = work;
+        this.workUntilTimeCheck = TIME_CHECK_INTERVAL;
+        this.degraded = parent.degraded;
+    }
+
+    /**
+     * 残りの作業量を取得する
+     *
+     * @return 残りの作業量（上限に達した場合は0）
+     */
+    long workRemaining() {
+        return Math.max(0L, workRemaining);
+    }
+
+    /**
+     * 処理を分担した作業領域が消費した作業量を、この作業領域の残りから差し引く
+     *
+     * @param child 処理を分担した作業領域
+     * @param work  分担させた作業量
+     */
+    void chargeWork(TokenizeScratch child, long work) {
+        workRemaining -= work - child.workRemaining();
+        if (child.degraded) {
+            degraded = true;
+        }
+    }
+
+    /**
+     * 作業量を消費する
+     * 上限に達した場合は縮退の状態とし、以降の呼び出しでもfalseを返す。
+     *
+     * @param work 消費する作業量
+     * @return 上限内であればtrue
+     */
+    boolean spend(int work) {
+        if (degraded) {
+            return false;
+        }
+        workRemaining -= work;
+        if (workRemaining < 0) {
+            degraded = true;
+            return false;
+        }
+        if (timeLimited) {
+            workUntilTimeCheck -= work;
+            if (workUntilTimeCheck <= 0) {
+                workUntilTimeCheck = TIME_CHECK_INTERVAL;
+                if (System.nanoTime() - deadline > 0) {
+                    degraded = true;
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 結果の格納先を空にして取得する
+     *
+     * @return 空の結果格納先
+     */
+    public SpanBuffer spans() {
+        spans.clear();
+        return spans;
+    }
+}
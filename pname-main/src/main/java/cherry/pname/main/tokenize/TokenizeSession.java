@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 編集される論理名を逐次トークン化するセッション
+ * 最適分割選択方式と同じ結果を保ちながら、編集の影響を受ける範囲だけを分割し直す。
+ * <ul>
+ *   <li>辞書語がまたがない位置で始まり、辞書語がまたがない位置で終わる辞書語（アンカー）は、
+ *       どの最適な分割にも必ず含まれる。編集位置から最長の辞書キー長以上離れたアンカーまでの分割はそのまま使う。</li>
+ *   <li>最適分割の探索は末尾から行い、各位置の評価値はその位置以降の文字列だけで決まる。
+ *       編集位置より後ろの変化しない部分は、前回の探索結果をそのまま使う。</li>
+ * </ul>
+ * セッションは作成時の辞書に固定される。スレッド間で共有してはならない。
+ */
+public final class TokenizeSession {
+
+    private final DictionaryIndex index;
+    private final OptimalTokenizer tokenizer = new OptimalTokenizer();
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * 現在のトークン化結果
+     */
+    private final SpanBuffer tokens = new SpanBuffer(16);
+
+    /**
+     * アンカーとなるトークンのインデックスと終了位置
+     */
+    private int[] anchorTokens = new int[8];
+    private int[] anchorEnds = new int[8];
+    private int anchorCount;
+
+    /**
+     * 最後のアンカー以降の範囲（探索範囲）の探索結果
+     */
+    private TokenizeScratch work = new TokenizeScratch(16);
+    private int tailStart;
+
+    /**
+     * 直前の編集で探索し直した位置の数
+     */
+    private int lastSearchedLength;
+
+    /**
+     * @param index コンパイル済み辞書
+     */
+    public TokenizeSession(DictionaryIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * @param index       コンパイル済み辞書
+     * @param logicalName 初期の論理名（nullの場合は空）
+     */
+    public TokenizeSession(DictionaryIndex index, CharSequence logicalName) {
+        this(index);
+        if (logicalName != null) {
+            append(logicalName);
+        }
+    }
+
+    /**
+     * 末尾に文字列を追加する
+     *
+     * @param str 追加する文字列
+     * @return このセッション
+     */
+    public TokenizeSession append(CharSequence str) {
+        return replace(text.length(), 0, str);
+    }
+
+    /**
+     * 指定位置に文字列を挿入する
+     *
+     * @param offset 挿入位置
+     * @param str    挿入する文字列
+     * @return このセッション
+     */
+    public TokenizeSession insert(int offset, CharSequence str) {
+        return replace(offset, 0, str);
+    }
+
+    /**
+     * 指定範囲の文字列を削除する
+     *
+     * @param offset 削除の開始位置
+     * @param length 削除する文字数
+     * @return このセッション
+     */
+    public TokenizeSession delete(int offset, int length) {
+        return replace(offset, length, "");
+    }
+
+    /**
+     * 指定範囲の文字列を置き換える
+     *
+     * @param offset      置換の開始位置
+     * @param length      置き換える文字数
+     * @param replacement 置き換え後の文字列
+     * @return このセッション
+     * @throws IndexOutOfBoundsException 範囲が現在の文字列の外にある場合
+     */
+    public TokenizeSession replace(int offset, int length, CharSequence replacement) {
+        Objects.checkFromIndexSize(offset, length, text.length());
+        int oldLength = text.length();
+        text.replace(offset, offset + length, replacement.toString());
+        update(offset, length, replacement.length(), oldLength);
+        return this;
+    }
+
+    /**
+     * 現在の論理名を取得する
+     *
+     * @return 論理名
+     */
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * 現在のトークン化結果を取得する
+     *
+     * @return トークン化結果
+     */
+    public TokenSpans spans() {
+        return tokens.toTokenSpans(index, text.toString(), false);
+    }
+
+    /**
+     * 現在のトークン化結果をトークンのリストとして取得する
+     *
+     * @return トークンのリスト
+     */
+    public List<Token> tokens() {
+        return tokens.toTokens(index, text.toString());
+    }
+
+    /**
+     * 直前の編集で探索し直した位置の数を取得する
+     *
+     * @return 探索し直した位置の数
+     */
+    public int getLastSearchedLength() {
+        return lastSearchedLength;
+    }
+
+    /**
+     * 編集に合わせてトークン化結果を更新する
+     *
+     * @param offset    編集位置
+     * @param removed   削除した文字数
+     * @param inserted  挿入した文字数
+     * @param oldLength 編集前の文字列の長さ
+     */
+    private void update(int offset, int removed, int inserted, int oldLength) {
+        int length = text.length();
+
+        // 編集の影響を受けるアンカーを破棄する（辞書語のまたがりは前後の最長キー長の範囲で決まる）
+        int margin = Math.max(index.maxKeyLength() - 1, 0);
+        while (anchorCount > 0 && anchorEnds[anchorCount - 1] + margin > offset) {
+            anchorCount--;
+        }
+        int newTailStart = anchorCount > 0 ? anchorEnds[anchorCount - 1] : 0;
+        tokens.truncate(anchorCount > 0 ? anchorTokens[anchorCount - 1] + 1 : 0);
+
+        // 編集位置より後ろの変化しない部分の探索結果を移す
+        int oldTailLength = oldLength - tailStart;
+        int newTailLength = length - newTailStart;
+        int reused = Math.max(0, Math.min(length - (offset + inserted), oldLength - Math.max(offset + removed, tailStart)));
+        TokenizeScratch target = newTailLength > work.maxLength()
+                ? new TokenizeScratch(Math.max(newTailLength, work.maxLength() * 2))
+                : work;
+        moveSearched(work, oldTailLength - reused, target, newTailLength - reused, reused);
+        work = target;
+        tailStart = newTailStart;
+
+        // 変化した部分を探索し直す
+        work.startBudget(TokenizeBudget.UNLIMITED);
+        tokenizer.search(index, text, tailStart, length, newTailLength - reused, work, work);
+        lastSearchedLength = newTailLength - reused;
+
+        for (int i = 0; i < newTailLength; i = work.nextEnd[i]) {
+            int start = tailStart + i;
+            int end = tailStart + work.nextEnd[i];
+            tokens.add(start, end, work.nextEntry[i]);
+            if (work.nextEntry[i] >= 0 && !isCrossed(start, length) && !isCrossed(end, length)) {
+                addAnchor(tokens.size() - 1, end);
+            }
+        }
+    }
+
+    /**
+     * 探索結果を移す
+     * 遷移先と既知語の開始位置は探索範囲の開始位置からの相対位置のため、移動量だけずらす。
+     */
+    private static void moveSearched(TokenizeScratch src, int srcFrom, TokenizeScratch dst, int dstFrom, int count) {
+        if (count <= 0) {
+            return;
+        }
+        System.arraycopy(src.unknownLength, srcFrom, dst.unknownLength, dstFrom, count);
+        System.arraycopy(src.totalTokens, srcFrom, dst.totalTokens, dstFrom, count);
+        System.arraycopy(src.unknownWords, srcFrom, dst.unknownWords, dstFrom, count);
+        System.arraycopy(src.nextEnd, srcFrom, dst.nextEnd, dstFrom, count);
+        System.arraycopy(src.nextEntry, srcFrom, dst.nextEntry, dstFrom, count);
+        System.arraycopy(src.knownNext, srcFrom, dst.knownNext, dstFrom, count);
+        int shift = dstFrom - srcFrom;
+        for (int i = dstFrom; i < dstFrom + count; i++) {
+            dst.nextEnd[i] += shift;
+            dst.knownNext[i] += shift;
+        }
+    }
+
+    /**
+     * 指定された境界をまたぐ辞書語が存在するかを判定する
+     * 探索範囲の開始位置はアンカーの終了位置のため、それより前から始まる辞書語は探索範囲内の境界をまたがない。
+     */
+    private boolean isCrossed(int boundary, int end) {
+        for (int pos = Math.max(tailStart, boundary - index.maxKeyLength() + 1); pos < boundary; pos++) {
+            int entryId = index.longestMatch(text, pos, end);
+            if (entryId >= 0 && pos + index.keyLength(entryId) > boundary) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addAnchor(int tokenIndex, int end) {
+        if (anchorCount == anchorTokens.length) {
+            anchorTokens = Arrays.copyOf(anchorTokens, anchorCount * 2);
+            anchorEnds = Arrays.copyOf(anchorEnds, anchorCount * 2);
+        }
+        anchorTokens[anchorCount] = tokenIndex;
+        anchorEnds[anchorCount] = end;
+        anchorCount++;
+    }
+}
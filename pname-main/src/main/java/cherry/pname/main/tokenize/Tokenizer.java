@@ -16,6 +16,7 @@
 
 package cherry.pname.main.tokenize;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -31,5 +32,107 @@ public interface Tokenizer {
      * @param logicalName 分割対象の論理名（日本語）
      * @return 分割されたトークンのリスト（単語、物理名、未知語フラグを含む）
      */
-    List<Token> tokenize(Map<String, List<String>> dictionary, String logicalName);
+    default List<Token> tokenize(Map<String, List<String>> dictionary, String logicalName) {
+        if (logicalName == null || logicalName.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return tokenize(DictionaryIndex.compile(dictionary), logicalName);
+    }
+
+    /**
+     * コンパイル済み辞書を使って論理名をトークンのリストに分割する
+     *
+     * @param index       コンパイル済み辞書
+     * @param logicalName 分割対象の論理名（日本語）
+     * @return 分割されたトークンのリスト（単語、物理名、未知語フラグを含む）
+     */
+    default List<Token> tokenize(DictionaryIndex index, String logicalName) {
+        if (logicalName == null || logicalName.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TokenizeScratch scratch = TokenizeScratch.acquire(logicalName.length());
+        scratch.startBudget(TokenizeBudget.UNLIMITED);
+        SpanBuffer spans = scratch.spans();
+        tokenize(index, logicalName, 0, logicalName.length(), spans, scratch);
+        return spans.toTokens(index, logicalName);
+    }
+
+    /**
+     * コンパイル済み辞書を使って論理名を分割し、トークンの位置のみを保持する結果を返す
+     * 単語の文字列や物理名のリストは参照されるまで生成しない。
+     *
+     * @param index       コンパイル済み辞書
+     * @param logicalName 分割対象の論理名（日本語）
+     * @return トークン化結果
+     */
+    default TokenSpans tokenizeSpans(DictionaryIndex index, String logicalName) {
+        return tokenizeSpans(index, logicalName, TokenizeBudget.UNLIMITED);
+    }
+
+    /**
+     * 処理時間または作業量の上限を指定して論理名を分割し、トークンの位置のみを保持する結果を返す
+     * 上限に達した場合は残りの範囲を前方最長マッチで分割し、縮退した結果として返す。
+     *
+     * @param index       コンパイル済み辞書
+     * @param logicalName 分割対象の論理名（日本語）
+     * @param budget      処理時間と作業量の上限
+     * @return トークン化結果
+     */
+    default TokenSpans tokenizeSpans(DictionaryIndex index, String logicalName, TokenizeBudget budget) {
+        if (logicalName == null || logicalName.isEmpty()) {
+            return TokenSpans.empty(logicalName == null ? "" : logicalName);
+        }
+        TokenizeScratch scratch = TokenizeScratch.acquire(logicalName.length());
+        scratch.startBudget(budget);
+        SpanBuffer spans = scratch.spans();
+        tokenize(index, logicalName, 0, logicalName.length(), spans, scratch);
+        return spans.toTokenSpans(index, logicalName, scratch.isDegraded());
+    }
+
+    /**
+     * 複数の論理名をまとめて分割し、入力と同じ順序でトークン化結果を返す
+     * 最も長い論理名に合わせた作業領域を一つだけ確保し、すべての論理名の分割で使い回す。
+     * 処理時間と作業量の上限は論理名ごとに適用する。
+     *
+     * @param index        コンパイル済み辞書
+     * @param logicalNames 分割対象の論理名（日本語）のリスト
+     * @param budget       論理名ごとの処理時間と作業量の上限
+     * @return トークン化結果のリスト（nullまたは空の論理名は空の結果）
+     */
+    default List<TokenSpans> tokenizeSpans(DictionaryIndex index, List<String> logicalNames, TokenizeBudget budget) {
+        int maxLength = 0;
+        for (String logicalName : logicalNames) {
+            if (logicalName != null) {
+                maxLength = Math.max(maxLength, logicalName.length());
+            }
+        }
+        TokenizeScratch scratch = TokenizeScratch.acquire(maxLength);
+
+        List<TokenSpans> results = new ArrayList<>(logicalNames.size());
+        for (String logicalName : logicalNames) {
+            if (logicalName == null || logicalName.isEmpty()) {
+                results.add(TokenSpans.empty(logicalName == null ? "" : logicalName));
+                continue;
+            }
+            scratch.startBudget(budget);
+            SpanBuffer spans = scratch.spans();
+            tokenize(index, logicalName, 0, logicalName.length(), spans, scratch);
+            results.add(spans.toTokenSpans(index, logicalName, scratch.isDegraded()));
+        }
+        return results;
+    }
+
+    /**
+     * 文字列の指定範囲を分割し、トークンの位置を追加する
+     * 作業領域の最大長以下の範囲であれば、処理中に新たなオブジェクトを生成しない。
+     * 作業領域に設定された上限（{@link TokenizeScratch#startBudget}）に達した場合は処理を縮退させてよい。
+     *
+     * @param index   コンパイル済み辞書
+     * @param text    分割対象の文字列
+     * @param start   分割範囲の開始位置
+     * @param end     分割範囲の終了位置（この位置の文字は含まない）
+     * @param spans   トークンの位置の追加先
+     * @param scratch 作業領域
+     */
+    void tokenize(DictionaryIndex index, CharSequence text, int start, int end, SpanBuffer spans, TokenizeScratch scratch);
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.dictionary.CsvDictionaryLoader;
+import cherry.pname.main.dictionary.JsonDictionaryLoader;
+import cherry.pname.main.dictionary.TsvDictionaryLoader;
+import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.DictionaryIndex;
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
+import cherry.pname.main.tokenize.TokenizeBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DictionaryRegistryのテストクラス
+ *
+ * <p>名前を付けた辞書のレジストリを階層的にテストします：</p>
+ * <ul>
+ *   <li>登録、置き換え、登録解除</li>
+ *   <li>名前で選んだ辞書での生成</li>
+ *   <li>見積もりバイト数による破棄</li>
+ * </ul>
+ */
+class DictionaryRegistryTest {
+
+    private PhysicalNameGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+        OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+        generator = new PhysicalNameGenerator(
+                new CsvDictionaryLoader(),
+                new TsvDictionaryLoader(),
+                new JsonDictionaryLoader(),
+                new YamlDictionaryLoader(),
+                greedyTokenizer,
+                optimalTokenizer,
+                new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                new ParallelTokenizer(optimalTokenizer),
+                new KuromojiRomajiConverter()
+        );
+    }
+
+    /**
+     * 登録、置き換え、登録解除のテスト
+     */
+    @Nested
+    class Registration {
+
+        /**
+         * 登録と取得のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>登録した辞書を名前で取得できる</li>
+         *   <li>登録した名前の一覧と改訂番号が取得できる</li>
+         *   <li>同じ名前での登録と、登録されていない名前の取得は例外となる</li>
+         * </ul>
+         */
+        @Test
+        void testRegisterAndGet() throws IOException {
+            DictionaryRegistry registry = new DictionaryRegistry(generator);
+            DictionaryIndex sales = registry.register("sales", DictionaryFormat.CSV, "顧客,customer\n");
+            registry.register("hr", DictionaryFormat.CSV,
+                    new ByteArrayResource("社員,employee\n".getBytes(StandardCharsets.UTF_8)));
+
+            assertSame(sales, registry.get("sales"));
+            assertEquals(1, registry.get("hr").size());
+            assertTrue(registry.contains("hr"));
+            assertEquals(Set.of("hr", "sales"), registry.names());
+            assertEquals(1, registry.getRevision("sales"));
+
+            assertThrows(IllegalArgumentException.class, () -> registry.register("sales", DictionaryFormat.CSV, "顧客,client\n"));
+            assertSame(sales, registry.get("sales"));
+            assertThrows(IllegalArgumentException.class, () -> registry.get("finance"));
+        }
+
+        /**
+         * 置き換えと登録解除のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>置き換えると新しい辞書が取得でき、改訂番号が増える</li>
+         *   <li>置き換え前に取得した辞書は変わらない</li>
+         *   <li>登録されていない名前の置き換えは例外となる</li>
+         *   <li>登録を解除すると取得できなくなり、見積もりバイト数から除かれる</li>
+         * </ul>
+         */
+        @Test
+        void testReplaceAndUnregister() throws IOException {
+            DictionaryRegistry registry = new DictionaryRegistry(generator);
+            DictionaryIndex first = registry.register("sales", DictionaryFormat.CSV, "顧客,customer\n");
+            DictionaryIndex second = registry.replace("sales", DictionaryFormat.CSV, "顧客,client\n注文,order\n");
+
+            assertNotSame(first, second);
+            assertSame(second, registry.get("sales"));
+            assertEquals(2, registry.getRevision("sales"));
+            assertEquals(1, first.size());
+            assertEquals(second.estimateBytes(), registry.getResidentBytes());
+            assertThrows(IllegalArgumentException.class, () -> registry.replace("hr", DictionaryFormat.CSV, "社員,employee\n"));
+            assertFalse(registry.contains("hr"));
+
+            assertTrue(registry.unregister("sales"));
+            assertFalse(registry.unregister("sales"));
+            assertFalse(registry.contains("sales"));
+            assertEquals(0, registry.getResidentBytes());
+            assertThrows(IllegalArgumentException.class, () -> registry.get("sales"));
+        }
+    }
+
+    /**
+     * 名前で選んだ辞書での生成のテスト
+     */
+    @Nested
+    class Generation {
+
+        /**
+         * 辞書ごとの生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>名前で選んだ辞書で物理名が生成される</li>
+         *   <li>ジェネレーターの既定の辞書は変わらない</li>
+         *   <li>複数の命名規則での生成とまとめての生成でも、名前で選んだ辞書が使われる</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateByName() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,account\n");
+            DictionaryRegistry registry = new DictionaryRegistry(generator);
+            registry.register("sales", DictionaryFormat.CSV, "顧客,customer\n管理,management\n");
+            registry.register("support", DictionaryFormat.CSV, "顧客,client\n管理,admin\n");
+
+            assertEquals("customer_management", registry.generatePhysicalName(
+                    "sales", TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+            assertEquals("client_admin", registry.generatePhysicalName(
+                    "support", TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+            assertEquals("account", generator.generatePhysicalName(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客", false).physicalName());
+
+            assertEquals("ClientAdmin", registry.generatePhysicalNameVariants("support", TokenizerType.OPTIMAL,
+                    List.of(NamingConvention.PASCAL), "顧客管理", false, TokenizeBudget.UNLIMITED).physicalName(NamingConvention.PASCAL));
+            assertEquals(List.of("customer", "management"), registry.generatePhysicalNames("sales", TokenizerType.OPTIMAL,
+                            NamingConvention.SNAKE, List.of("顧客", "管理"), false, TokenizeBudget.UNLIMITED)
+                    .stream().map(PhysicalNameResult::physicalName).toList());
+        }
+
+        /**
+         * 置き換えながらの生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>複数のスレッドから生成している間に置き換えても、いずれかの版の辞書で生成される</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentReplace() throws Exception {
+            DictionaryRegistry registry = new DictionaryRegistry(generator);
+            registry.register("sales", DictionaryFormat.CSV, "顧客,customer0\n");
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            String physicalName = registry.generatePhysicalName(
+                                    "sales", TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客", false).physicalName();
+                            assertTrue(physicalName.matches("customer\\d+"), physicalName);
+                        }
+                    }));
+                }
+                for (int r = 1; r <= 20; r++) {
+                    registry.replace("sales", DictionaryFormat.CSV, "顧客,customer" + r + "\n");
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(21, registry.getRevision("sales"));
+            assertEquals("customer20", registry.generatePhysicalName(
+                    "sales", TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客", false).physicalName());
+        }
+        /**
+         * 登録直後の参照と並行した登録のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>登録した直後に複数のスレッドから参照しても、登録した辞書が読み込み直されない</li>
+         *   <li>見積もりバイト数の合計が、保持しているコンパイル結果の見積もりバイト数の和と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentRegisterAndGet() throws Exception {
+            DictionaryRegistry registry = new DictionaryRegistry(generator, 0);
+            int names = 200;
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int writer = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = writer; i < names; i += 4) {
+                            registry.register("d" + i, DictionaryFormat.CSV, "顧客,customer\n項目" + i + ",item" + i + "\n");
+                            registry.get("d" + i);
+                        }
+                        return null;
+                    }));
+                    futures.add(executor.submit(() -> {
+                        for (int n = 0; n < 20_000; n++) {
+                            String name = "d" + (n % names);
+                            if (registry.contains(name)) {
+                                registry.get(name);
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            long expected = 0;
+            for (int i = 0; i < names; i++) {
+                expected += registry.get("d" + i).estimateBytes();
+            }
+            assertEquals(names, registry.getLoadCount());
+            assertEquals(expected, registry.getResidentBytes());
+        }
+    }
+
+    /**
+     * 見積もりバイト数による破棄のテスト
+     */
+    @Nested
+    class Eviction {
+
+        /**
+         * 上限を超えた場合の破棄と読み込み直しのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>見積もりバイト数の合計が上限を超えると、最も長く参照されていない辞書のコンパイル結果が破棄される</li>
+         *   <li>破棄された辞書も登録は解除されず、次に参照された時に読み込み直される</li>
+         *   <li>上限が0以下の場合は破棄しない</li>
+         * </ul>
+         */
+        @Test
+        void testEvictLeastRecentlyUsed() throws IOException {
+            String data = "顧客,customer\n管理,management\n";
+            long bytes = generator.compileDictionary(DictionaryFormat.CSV, data).estimateBytes();
+            DictionaryRegistry registry = new DictionaryRegistry(generator, bytes * 2);
+
+            registry.register("a", DictionaryFormat.CSV, data);
+            registry.register("b", DictionaryFormat.CSV, data);
+            registry.get("a");
+            registry.register("c", DictionaryFormat.CSV, data);
+
+            assertEquals(1, registry.getEvictionCount());
+            assertTrue(registry.getResidentBytes() <= registry.getMaxBytes());
+            assertTrue(registry.contains("b"));
+            assertEquals(3, registry.getLoadCount());
+
+            // 破棄された「b」を参照すると読み込み直され、代わりに最も長く参照されていない「a」が破棄される
+            assertEquals("customer_management", registry.generatePhysicalName(
+                    "b", TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+            assertEquals(4, registry.getLoadCount());
+            assertEquals(2, registry.getEvictionCount());
+            assertEquals(1, registry.getRevision("b"));
+            registry.get("c");
+            assertEquals(4, registry.getLoadCount());
+
+            DictionaryRegistry unlimited = new DictionaryRegistry(generator, 0);
+            for (String name : List.of("a", "b", "c")) {
+                unlimited.register(name, DictionaryFormat.CSV, data);
+            }
+            assertEquals(0, unlimited.getEvictionCount());
+            assertEquals(bytes * 3, unlimited.getResidentBytes());
+        }
+    }
+}
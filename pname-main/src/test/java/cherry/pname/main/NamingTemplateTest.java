@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.CaseForms;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NamingTemplateのテストクラス
+ *
+ * <p>命名規則のテンプレートを階層的にテストします：</p>
+ * <ul>
+ *   <li>組み込みの命名規則と独自のテンプレート</li>
+ *   <li>接頭辞と接尾辞</li>
+ *   <li>長さの上限</li>
+ * </ul>
+ */
+class NamingTemplateTest {
+
+    private static final List<String> ELEMENTS = List.of("Customer", "ID", "order");
+
+    /**
+     * 組み込みの命名規則と独自のテンプレートのテスト
+     */
+    @Nested
+    class Conventions {
+
+        /**
+         * 組み込みの命名規則のテンプレートテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>命名規則ごとに同じテンプレートのインスタンスを返す</li>
+         *   <li>組み込みのテンプレートは接頭辞、接尾辞、長さの上限を持たない</li>
+         *   <li>要素を変換しながら書き出した場合とコンパイル時に求めた形を書き出した場合で同じ物理名となる</li>
+         * </ul>
+         */
+        @Test
+        void testBuiltIn() {
+            for (NamingConvention convention : NamingConvention.values()) {
+                NamingTemplate template = NamingTemplate.of(convention);
+                assertSame(template, NamingTemplate.of(convention));
+                assertEquals("", template.prefix());
+                assertEquals("", template.suffix());
+                assertFalse(template.hasMaxLength());
+
+                StringBuilder forms = new StringBuilder();
+                for (int i = 0; i < ELEMENTS.size(); i++) {
+                    template.appendElement(forms, i, CaseForms.of(ELEMENTS.get(i)));
+                }
+                assertEquals(template.format(ELEMENTS), forms.toString(), convention.name());
+            }
+            assertEquals("customerIdOrder", NamingTemplate.of(NamingConvention.CAMEL).format(ELEMENTS));
+            assertEquals("CUSTOMER-ID-ORDER", NamingTemplate.of(NamingConvention.UPPER_KEBAB).format(ELEMENTS));
+        }
+
+        /**
+         * 独自の区切り文字と大文字・小文字の形のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>先頭の要素と2番目以降の要素をそれぞれの形に変換する</li>
+         *   <li>区切り文字は複数文字でもよい</li>
+         * </ul>
+         */
+        @Test
+        void testCustom() {
+            NamingTemplate template = NamingTemplate.of("__", NamingTemplate.ElementCase.UPPER, NamingTemplate.ElementCase.CAPITALIZED);
+            assertEquals("CUSTOMER__Id__Order", template.format(ELEMENTS));
+            assertEquals("", template.format(List.of()));
+        }
+    }
+
+    /**
+     * 接頭辞と接尾辞のテスト
+     */
+    @Nested
+    class PrefixAndSuffix {
+
+        /**
+         * 接頭辞と接尾辞の書き出しテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>接頭辞と接尾辞は変換せずにそのまま書き出す</li>
+         *   <li>元のテンプレートは変更されない</li>
+         *   <li>既存の内容に続けて書き出す</li>
+         * </ul>
+         */
+        @Test
+        void testPrefixAndSuffix() {
+            NamingTemplate snake = NamingTemplate.of(NamingConvention.UPPER_SNAKE);
+            NamingTemplate table = snake.withPrefix("T_");
+            NamingTemplate code = NamingTemplate.of(NamingConvention.LOWER_SNAKE).withSuffix("_cd");
+
+            assertEquals("T_CUSTOMER_ID_ORDER", table.format(ELEMENTS));
+            assertEquals("customer_id_order_cd", code.format(ELEMENTS));
+            assertEquals("", snake.prefix());
+
+            StringBuilder sb = new StringBuilder("schema.");
+            assertSame(sb, table.appendTo(sb, ELEMENTS));
+            assertEquals("schema.T_CUSTOMER_ID_ORDER", sb.toString());
+        }
+    }
+
+    /**
+     * 長さの上限のテスト
+     */
+    @Nested
+    class MaxLength {
+
+        /**
+         * 長さの上限による切り詰めテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限を超える場合は接頭辞と接尾辞を残して本体の末尾を切り詰める</li>
+         *   <li>切り詰めた末尾の区切り文字は除く</li>
+         *   <li>上限以下の場合は切り詰めない</li>
+         * </ul>
+         */
+        @Test
+        void testTruncate() {
+            NamingTemplate code = NamingTemplate.of(NamingConvention.LOWER_SNAKE).withPrefix("t_").withSuffix("_cd");
+
+            assertEquals("t_customer_id_order_cd", code.withMaxLength(22).format(ELEMENTS));
+            assertEquals("t_customer_id_ord_cd", code.withMaxLength(20).format(ELEMENTS));
+            assertEquals("t_customer_id_cd", code.withMaxLength(17).format(ELEMENTS));
+            assertEquals("t_customer_cd", code.withMaxLength(14).format(ELEMENTS));
+            assertEquals("t_cus_cd", code.withMaxLength(8).format(ELEMENTS));
+            assertEquals(20, code.withMaxLength(20).maxLength());
+
+            StringBuilder sb = new StringBuilder("schema.");
+            code.withMaxLength(14).appendTo(sb, ELEMENTS);
+            assertEquals("schema.t_customer_cd", sb.toString());
+        }
+
+        /**
+         * 接頭辞と接尾辞が収まらない上限のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限が接頭辞と接尾辞の長さ以下の場合は例外となる</li>
+         *   <li>上限を指定した後に接頭辞を指定して収まらなくなる場合も例外となる</li>
+         *   <li>本体が1文字だけ収まる上限は指定できる</li>
+         * </ul>
+         */
+        @Test
+        void testInvalidMaxLength() {
+            NamingTemplate code = NamingTemplate.of(NamingConvention.LOWER_SNAKE).withSuffix("_cd");
+            assertThrows(IllegalArgumentException.class, () -> code.withMaxLength(3));
+            assertThrows(IllegalArgumentException.class, () -> code.withMaxLength(5).withPrefix("t_"));
+            assertEquals("c_cd", code.withMaxLength(4).format(ELEMENTS));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PhysicalNameCacheのテストクラス
+ *
+ * <p>物理名生成結果のキャッシュを階層的にテストします：</p>
+ * <ul>
+ *   <li>キャッシュの参照と統計情報</li>
+ *   <li>見積もりバイト数による上限</li>
+ * </ul>
+ */
+class PhysicalNameCacheTest {
+
+    private static PhysicalNameCache.Key key(String logicalName) {
+        return new PhysicalNameCache.Key(logicalName, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false, 1L);
+    }
+
+    private static PhysicalNameResult result(String logicalName, String physicalName) {
+        return new PhysicalNameResult(logicalName, physicalName, new ArrayList<>(List.of(logicalName + "=>" + physicalName)));
+    }
+
+    /**
+     * キャッシュの参照と統計情報のテスト
+     */
+    @Nested
+    class Lookup {
+
+        /**
+         * 保持した結果の参照テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>保持した結果が同じ生成条件で取得できる</li>
+         *   <li>生成条件のいずれかが異なる場合は取得できない</li>
+         *   <li>ヒット数、ミス数、ヒット率が更新される</li>
+         *   <li>保持した結果のトークンマッピングは変更できない</li>
+         * </ul>
+         */
+        @Test
+        void testHitAndMiss() {
+            PhysicalNameCache cache = new PhysicalNameCache(1024 * 1024);
+            PhysicalNameResult stored = cache.put(key("顧客"), result("顧客", "customer"));
+
+            assertSame(stored, cache.get(key("顧客")));
+            assertNull(cache.get(new PhysicalNameCache.Key("顧客", TokenizerType.GREEDY, NamingConvention.SNAKE, false, 1L)));
+            assertNull(cache.get(new PhysicalNameCache.Key("顧客", TokenizerType.OPTIMAL, NamingConvention.KEBAB, false, 1L)));
+            assertNull(cache.get(new PhysicalNameCache.Key("顧客", TokenizerType.OPTIMAL, NamingConvention.SNAKE, true, 1L)));
+            assertNull(cache.get(new PhysicalNameCache.Key("顧客", TokenizerType.OPTIMAL, NamingConvention.SNAKE, false, 2L)));
+
+            assertEquals(1, cache.getHitCount());
+            assertEquals(4, cache.getMissCount());
+            assertEquals(0.2, cache.getHitRate(), 1e-9);
+            assertThrows(UnsupportedOperationException.class, () -> stored.tokenMappings().add("x"));
+        }
+
+        /**
+         * 破棄とキャッシュしない設定のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>invalidateで保持した結果は破棄されるが、統計情報は残る</li>
+         *   <li>clearで統計情報も破棄される</li>
+         *   <li>上限が0の場合は保持せず、統計情報も更新されない</li>
+         * </ul>
+         */
+        @Test
+        void testInvalidateAndDisabled() {
+            PhysicalNameCache cache = new PhysicalNameCache(1024 * 1024);
+            cache.put(key("顧客"), result("顧客", "customer"));
+            cache.get(key("顧客"));
+
+            cache.invalidate();
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getBytes());
+            assertNull(cache.get(key("顧客")));
+            assertEquals(1, cache.getHitCount());
+
+            cache.clear();
+            assertEquals(0, cache.getHitCount() + cache.getMissCount());
+
+            PhysicalNameCache disabled = new PhysicalNameCache(0);
+            disabled.put(key("顧客"), result("顧客", "customer"));
+            assertNull(disabled.get(key("顧客")));
+            assertFalse(disabled.isEnabled());
+            assertEquals(0, disabled.size());
+            assertEquals(0, disabled.getHitCount() + disabled.getMissCount());
+        }
+    }
+
+    /**
+     * 見積もりバイト数による上限のテスト
+     */
+    @Nested
+    class Eviction {
+
+        /**
+         * 上限を超えた場合の破棄テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>見積もりバイト数の合計が上限を超えないように、最も長く参照されていない結果から破棄される</li>
+         *   <li>大きな結果は小さな結果より多くの結果を押し出す</li>
+         * </ul>
+         */
+        @Test
+        void testLeastRecentlyUsedBySize() {
+            PhysicalNameResult small = result("顧客", "customer");
+            long smallBytes = PhysicalNameCache.estimateBytes(key("顧客"), small);
+            PhysicalNameCache cache = new PhysicalNameCache(smallBytes * 3);
+
+            cache.put(key("a"), result("a", "customer"));
+            cache.put(key("b"), result("b", "customer"));
+            cache.put(key("c"), result("c", "customer"));
+            cache.get(key("a"));
+            assertEquals(3, cache.size());
+
+            // 2件分より小さく、1件分より十分に大きい結果
+            PhysicalNameResult large = result("d", "x".repeat(64));
+            long largeBytes = PhysicalNameCache.estimateBytes(key("d"), large);
+            assertTrue(largeBytes > smallBytes && largeBytes < smallBytes * 2);
+            cache.put(key("d"), large);
+            assertNotNull(cache.get(key("a")));
+            assertNull(cache.get(key("b")));
+            assertNull(cache.get(key("c")));
+            assertNotNull(cache.get(key("d")));
+            assertEquals(2, cache.getEvictionCount());
+            assertTrue(cache.getBytes() <= cache.getMaxBytes());
+        }
+
+        /**
+         * 上限を超える1件の結果のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>1件で上限を超える結果は保持せず、既存の結果も破棄しない</li>
+         * </ul>
+         */
+        @Test
+        void testTooLarge() {
+            PhysicalNameCache cache = new PhysicalNameCache(1024);
+            cache.put(key("a"), result("a", "customer"));
+
+            PhysicalNameResult large = result("b", "x".repeat(1024));
+            assertSame(large, cache.put(key("b"), large));
+            assertNull(cache.get(key("b")));
+            assertNotNull(cache.get(key("a")));
+            assertEquals(0, cache.getEvictionCount());
+        }
+    
+        /**
+         * 区画に分けたキャッシュへの複数スレッドからの保持と参照のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限が大きく区画に分けて保持する場合も、保持した結果を同じ生成条件で取得できる</li>
+         *   <li>見積もりバイト数の合計は上限を超えず、保持している結果の見積もりバイト数の和と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentStriped() throws Exception {
+            PhysicalNameCache cache = new PhysicalNameCache(1024 * 1024);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 5000; i++) {
+                            String logicalName = String.format("名%05d", (i * 31 + seed) % 20000);
+                            PhysicalNameResult cached = cache.get(key(logicalName));
+                            if (cached == null) {
+                                cached = cache.put(key(logicalName), result(logicalName, "n" + logicalName.length()));
+                            }
+                            assertEquals(logicalName, cached.logicalName());
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertTrue(cache.getBytes() <= cache.getMaxBytes());
+            // 論理名と物理名の長さをそろえているため、結果1件あたりの見積もりバイト数は同じになる
+            assertEquals(cache.size() * PhysicalNameCache.estimateBytes(key("名00000"), result("名00000", "n6")), cache.getBytes());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.CaseForms;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PhysicalNameFormatterのテストクラス
+ *
+ * <p>物理名要素の書き出しを階層的にテストします：</p>
+ * <ul>
+ *   <li>各命名規則でのフォーマット</li>
+ *   <li>書き出し先とコンパイル時に求めた形</li>
+ * </ul>
+ */
+class PhysicalNameFormatterTest {
+
+    private static final List<String> ELEMENTS = List.of("Customer", "ID", "order");
+
+    /**
+     * 各命名規則でのフォーマットのテスト
+     */
+    @Nested
+    class Format {
+
+        /**
+         * 全ての命名規則のフォーマットテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>大文字・小文字が混在する要素が各命名規則の形に変換される</li>
+         *   <li>要素がない場合は空文字列となる</li>
+         * </ul>
+         */
+        @Test
+        void testAllConventions() {
+            Map<NamingConvention, String> expected = Map.of(
+                    NamingConvention.CAMEL, "customerIdOrder",
+                    NamingConvention.LOWER_CAMEL, "customerIdOrder",
+                    NamingConvention.PASCAL, "CustomerIdOrder",
+                    NamingConvention.UPPER_CAMEL, "CustomerIdOrder",
+                    NamingConvention.SNAKE, "customer_id_order",
+                    NamingConvention.LOWER_SNAKE, "customer_id_order",
+                    NamingConvention.UPPER_SNAKE, "CUSTOMER_ID_ORDER",
+                    NamingConvention.KEBAB, "customer-id-order",
+                    NamingConvention.LOWER_KEBAB, "customer-id-order",
+                    NamingConvention.UPPER_KEBAB, "CUSTOMER-ID-ORDER");
+            for (NamingConvention convention : NamingConvention.values()) {
+                assertEquals(expected.get(convention), PhysicalNameFormatter.format(ELEMENTS, convention), convention.name());
+                assertEquals("", PhysicalNameFormatter.format(List.of(), convention));
+            }
+        }
+
+        /**
+         * ASCII以外の文字を含む要素のフォーマットテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>fallback処理を無効にした場合の日本語の要素はそのまま連結される</li>
+         * </ul>
+         */
+        @Test
+        void testNonAsciiElements() {
+            assertEquals("customerXy管理", PhysicalNameFormatter.format(List.of("customer", "XY管理"), NamingConvention.LOWER_CAMEL));
+            assertEquals("CUSTOMER_XY管理", PhysicalNameFormatter.format(List.of("customer", "XY管理"), NamingConvention.UPPER_SNAKE));
+        }
+    }
+
+    /**
+     * 書き出し先とコンパイル時に求めた形のテスト
+     */
+    @Nested
+    class AppendTo {
+
+        /**
+         * 書き出し先の種類と要素の形による一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>StringBuilderとAppendableのいずれにも、既存の内容に続けて同じ物理名が書き出される</li>
+         *   <li>コンパイル時に求めた形を書き出しても、要素を変換しながら書き出した場合と同じ物理名となる</li>
+         * </ul>
+         */
+        @Test
+        void testBuilderWriterAndForms() throws IOException {
+            for (NamingConvention convention : NamingConvention.values()) {
+                String expected = PhysicalNameFormatter.format(ELEMENTS, convention);
+
+                StringBuilder sb = new StringBuilder("table.");
+                assertSame(sb, PhysicalNameFormatter.appendTo(sb, ELEMENTS, convention));
+                assertEquals("table." + expected, sb.toString());
+
+                StringWriter writer = new StringWriter();
+                PhysicalNameFormatter.appendTo(writer, ELEMENTS, convention);
+                assertEquals(expected, writer.toString());
+
+                StringBuilder forms = new StringBuilder();
+                for (int i = 0; i < ELEMENTS.size(); i++) {
+                    PhysicalNameFormatter.appendElement(forms, convention, i, CaseForms.of(ELEMENTS.get(i)));
+                }
+                assertEquals(expected, forms.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PhysicalNameGeneratorBuilderのテストクラス
+ *
+ * <p>DIコンテナを使わない物理名ジェネレーターの組み立てを階層的にテストします：</p>
+ * <ul>
+ *   <li>既定の組み立て</li>
+ *   <li>トークナイザーと辞書の形式の選択</li>
+ *   <li>ローマ字変換と生成結果のキャッシュ</li>
+ * </ul>
+ */
+class PhysicalNameGeneratorBuilderTest {
+
+    private static final String CSV = """
+            顧客,customer
+            管理,management
+            """;
+
+    /**
+     * 既定の組み立てのテスト
+     */
+    @Nested
+    class Defaults {
+
+        /**
+         * 全てのトークナイザーと辞書の形式による生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既定では全てのトークナイザーで同じ物理名を生成できる</li>
+         *   <li>既定では全ての辞書の形式を読み込める</li>
+         * </ul>
+         */
+        @Test
+        void testAllEnabled() throws IOException {
+            PhysicalNameGenerator generator = PhysicalNameGenerator.builder().build();
+            generator.loadDictionary(DictionaryFormat.CSV, CSV);
+            for (TokenizerType type : TokenizerType.values()) {
+                assertEquals("customer_management",
+                        generator.generatePhysicalName(type, NamingConvention.SNAKE, "顧客管理", false).physicalName(), type.name());
+            }
+            generator.loadDictionary(DictionaryFormat.TSV, "顧客\tclient\n");
+            assertEquals("client", generator.generatePhysicalName(TokenizerType.GREEDY, NamingConvention.SNAKE, "顧客", false).physicalName());
+        }
+    }
+
+    /**
+     * トークナイザーと辞書の形式の選択のテスト
+     */
+    @Nested
+    class Selection {
+
+        /**
+         * 有効にしていない種類と形式のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>有効にしたトークナイザーと辞書の形式で生成できる</li>
+         *   <li>有効にしていないトークナイザーを指定した場合は例外となる</li>
+         *   <li>有効にしていない辞書の形式を指定した場合は例外となる</li>
+         *   <li>トークナイザーを1つも指定しない場合は例外となる</li>
+         * </ul>
+         */
+        @Test
+        void testDisabled() throws IOException {
+            PhysicalNameGenerator generator = PhysicalNameGenerator.builder()
+                    .tokenizers(TokenizerType.OPTIMAL)
+                    .dictionaryFormats(DictionaryFormat.CSV)
+                    .build();
+            generator.loadDictionary(DictionaryFormat.CSV, CSV);
+            assertEquals("customerManagement",
+                    generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.CAMEL, "顧客管理", false).physicalName());
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> generator.generatePhysicalName(TokenizerType.GREEDY, NamingConvention.CAMEL, "顧客管理", false));
+            assertThrows(IllegalArgumentException.class, () -> generator.tokenize(TokenizerType.ADAPTIVE, "顧客管理"));
+            assertThrows(IllegalArgumentException.class, () -> generator.loadDictionary(DictionaryFormat.JSON, "{}"));
+            assertThrows(IllegalArgumentException.class, () -> PhysicalNameGenerator.builder().tokenizers());
+        }
+
+        /**
+         * 実装を指定した組み立てテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>指定した辞書ローダーで辞書を読み込む</li>
+         *   <li>指定したトークナイザーの種類は、tokenizersで無効にした後でも有効になる</li>
+         * </ul>
+         */
+        @Test
+        void testCustomImplementations() throws IOException {
+            PhysicalNameGenerator generator = PhysicalNameGenerator.builder()
+                    .tokenizers(TokenizerType.OPTIMAL)
+                    .tokenizer(TokenizerType.GREEDY, new GreedyTokenizer())
+                    .dictionaryFormats()
+                    .dictionaryLoader(DictionaryFormat.JSON, data -> Map.of("顧客", List.of("customer")))
+                    .build();
+            generator.loadDictionary(DictionaryFormat.JSON, "ignored");
+            assertEquals("customer", generator.generatePhysicalName(TokenizerType.GREEDY, NamingConvention.SNAKE, "顧客", false).physicalName());
+            assertThrows(IllegalArgumentException.class, () -> generator.loadDictionary(DictionaryFormat.CSV, CSV));
+        }
+    }
+
+    /**
+     * ローマ字変換と生成結果のキャッシュのテスト
+     */
+    @Nested
+    class RomajiAndCache {
+
+        /**
+         * ローマ字変換を指定しない場合と指定した場合のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>指定しない場合はfallback処理を有効にしても未知語をそのまま残す</li>
+         *   <li>指定した場合は未知語を指定した変換でローマ字化する</li>
+         * </ul>
+         */
+        @Test
+        void testRomajiConverter() throws IOException {
+            PhysicalNameGenerator plain = PhysicalNameGenerator.builder().build();
+            plain.loadDictionary(DictionaryFormat.CSV, CSV);
+            assertEquals("customer_区分", plain.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客区分", true).physicalName());
+
+            PhysicalNameGenerator romaji = PhysicalNameGenerator.builder()
+                    .romajiConverter(text -> List.of("kubun"))
+                    .build();
+            romaji.loadDictionary(DictionaryFormat.CSV, CSV);
+            assertEquals("customer_kubun", romaji.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客区分", true).physicalName());
+        }
+
+        /**
+         * 生成結果のキャッシュの上限の指定テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既定、または上限を0とした場合はキャッシュしない</li>
+         *   <li>上限を指定した場合はその上限でキャッシュする</li>
+         * </ul>
+         */
+        @Test
+        void testResultCache() {
+            assertFalse(PhysicalNameGenerator.builder().build().getResultCache().isEnabled());
+            assertFalse(PhysicalNameGenerator.builder().resultCacheMaxBytes(0).build().getResultCache().isEnabled());
+            assertEquals(4096, PhysicalNameGenerator.builder().resultCacheMaxBytes(4096).build().getResultCache().getMaxBytes());
+        }
+    }
+}
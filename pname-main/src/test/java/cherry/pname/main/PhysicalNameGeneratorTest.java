@@ -21,9 +21,16 @@ import cherry.pname.main.dictionary.JsonDictionaryLoader;
 import cherry.pname.main.dictionary.TsvDictionaryLoader;
 import cherry.pname.main.dictionary.YamlDictionaryLoader;
 import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.romaji.RomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.DictionaryIndex;
 import cherry.pname.main.tokenize.GreedyTokenizer;
 import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
 import cherry.pname.main.tokenize.Token;
+import cherry.pname.main.tokenize.TokenSpans;
+import cherry.pname.main.tokenize.TokenizeBudget;
+import cherry.pname.main.tokenize.TokenizeSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -32,7 +39,14 @@ import org.springframework.core.io.Resource;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,6 +59,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>トークン化処理（既知語/未知語）</li>
  *   <li>物理名生成（各種命名規則）</li>
  *   <li>フォールバック制御機能</li>
+ *   <li>並列の一括生成</li>
  *   <li>エラーハンドリング</li>
  * </ul>
  */
@@ -54,13 +69,17 @@ class PhysicalNameGeneratorTest {
 
     @BeforeEach
     void setUp() {
+        GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+        OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
         generator = new PhysicalNameGenerator(
                 new CsvDictionaryLoader(),
                 new TsvDictionaryLoader(),
                 new JsonDictionaryLoader(),
                 new YamlDictionaryLoader(),
-                new GreedyTokenizer(),
-                new OptimalTokenizer(),
+                greedyTokenizer,
+                optimalTokenizer,
+                new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                new ParallelTokenizer(optimalTokenizer),
                 new KuromojiRomajiConverter()
         );
     }
@@ -430,6 +449,59 @@ class PhysicalNameGeneratorTest {
             assertEquals(List.of("management", "admin"), tokens.get(1).physicalNames());
             assertEquals(List.of("system"), tokens.get(2).physicalNames());
         }
+        /**
+         * 位置のみのトークン化結果からの物理名生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>tokenizeSpansの結果がtokenizeの結果と同じ分割になる</li>
+         *   <li>位置のみの結果から直接フォーマットした物理名がgeneratePhysicalNameと一致する</li>
+         * </ul>
+         */
+        @Test
+        void testFormatFromSpans() throws IOException {
+            String csvData = """
+                    顧客,customer client
+                    管理,management admin
+                    """;
+
+            generator.loadDictionary(DictionaryFormat.CSV, csvData);
+
+            TokenSpans spans = generator.tokenizeSpans(TokenizerType.OPTIMAL, "顧客XY管理");
+            assertEquals(generator.tokenize(TokenizerType.OPTIMAL, "顧客XY管理"), spans.toTokens());
+
+            assertEquals("customer_client_xy_management_admin",
+                    generator.formatPhysicalName(spans, NamingConvention.SNAKE, false));
+            assertEquals(generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.CAMEL, "顧客XY管理", false).physicalName(),
+                    generator.formatPhysicalName(spans, NamingConvention.CAMEL, false));
+        }
+
+        /**
+         * 逐次トークン化セッションからの物理名生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>セッションで編集した結果がOPTIMALでのトークン化と一致する</li>
+         *   <li>セッションの結果から生成した物理名がgeneratePhysicalNameと一致する</li>
+         * </ul>
+         */
+        @Test
+        void testOpenSession() throws IOException {
+            String csvData = """
+                    顧客,customer
+                    管理,management
+                    システム,system
+                    """;
+            generator.loadDictionary(DictionaryFormat.CSV, csvData);
+
+            TokenizeSession session = generator.openSession("顧客");
+            session.append("管理").append("システム");
+            assertEquals(generator.tokenize(TokenizerType.OPTIMAL, "顧客管理システム"), session.tokens());
+
+            PhysicalNameResult result = generator.generatePhysicalName(session.spans(), NamingConvention.SNAKE, true);
+            assertEquals(generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理システム", true), result);
+            assertEquals("customer_management_system", result.physicalName());
+        }
     }
 
     /**
@@ -614,6 +686,224 @@ class PhysicalNameGeneratorTest {
             assertEquals("顧客=>customer, client", result.tokenMappings().get(0));
             assertEquals("管理=>management, admin", result.tokenMappings().get(1));
         }
+
+        /**
+         * まとめて物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>入力と同じ順序で、1件ずつ生成した結果と同じ結果が返る</li>
+         *   <li>未知語を含む論理名と空文字列も1件ずつの生成と同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testGeneratePhysicalNames() throws IOException {
+            String csvData = """
+                    顧客,customer
+                    管理,management
+                    システム,system
+                    注文,order
+                    """;
+            generator.loadDictionary(DictionaryFormat.CSV, csvData);
+
+            List<String> logicalNames = List.of("顧客管理システム", "注文XYZ", "", "システム管理");
+            List<PhysicalNameResult> results = generator.generatePhysicalNames(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames, false);
+
+            assertEquals(logicalNames.size(), results.size());
+            for (int i = 0; i < logicalNames.size(); i++) {
+                assertEquals(generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames.get(i), false),
+                        results.get(i));
+            }
+            assertEquals("customer_management_system", results.get(0).physicalName());
+            assertEquals("order_xyz", results.get(1).physicalName());
+        }
+
+        /**
+         * 複数の命名規則で物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>命名規則ごとに1件ずつ生成した結果と同じ物理名が返る</li>
+         *   <li>物理名は指定した命名規則の順序で返り、重複した命名規則は1つにまとめる</li>
+         *   <li>1つの命名規則を選んで物理名生成結果に変換できる</li>
+         *   <li>命名規則が指定されていない場合は例外となる</li>
+         * </ul>
+         */
+        @Test
+        void testGeneratePhysicalNameVariants() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\nシステム,system\n");
+
+            List<NamingConvention> conventions = List.of(
+                    NamingConvention.LOWER_SNAKE, NamingConvention.LOWER_CAMEL, NamingConvention.PASCAL, NamingConvention.LOWER_SNAKE);
+            PhysicalNameVariants variants = generator.generatePhysicalNameVariants(
+                    TokenizerType.OPTIMAL, conventions, "顧客管理システム", false);
+
+            assertEquals("顧客管理システム", variants.logicalName());
+            assertEquals(List.of(NamingConvention.LOWER_SNAKE, NamingConvention.LOWER_CAMEL, NamingConvention.PASCAL),
+                    List.copyOf(variants.physicalNames().keySet()));
+            for (NamingConvention convention : conventions) {
+                assertEquals(generator.generatePhysicalName(TokenizerType.OPTIMAL, convention, "顧客管理システム", false),
+                        variants.toResult(convention));
+            }
+            assertEquals("customer_management_system", variants.physicalName(NamingConvention.LOWER_SNAKE));
+            assertEquals("CustomerManagementSystem", variants.physicalName(NamingConvention.PASCAL));
+            assertNull(variants.physicalName(NamingConvention.UPPER_KEBAB));
+            assertThrows(IllegalArgumentException.class, () -> variants.toResult(NamingConvention.UPPER_KEBAB));
+
+            assertThrows(IllegalArgumentException.class, () -> generator.generatePhysicalNameVariants(
+                    TokenizerType.OPTIMAL, List.of(), "顧客管理システム", false));
+        }
+
+        /**
+         * 辞書を指定して物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>指定した辞書で物理名が生成される</li>
+         *   <li>辞書をコンパイルしても既定の辞書は変わらない</li>
+         *   <li>まとめて生成する場合も指定した辞書が使われる</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateWithDictionary() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,client\n管理,admin\n");
+            DictionaryIndex defaultDictionary = generator.getDictionaryIndex();
+
+            DictionaryIndex inline = generator.compileDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\n");
+
+            assertEquals("customer_management", generator.generatePhysicalName(
+                    inline, TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false, TokenizeBudget.UNLIMITED).physicalName());
+            assertEquals(List.of("customer_management"), generator.generatePhysicalNames(
+                    inline, TokenizerType.OPTIMAL, NamingConvention.SNAKE, List.of("顧客管理"), false, TokenizeBudget.UNLIMITED)
+                    .stream().map(PhysicalNameResult::physicalName).toList());
+            assertSame(defaultDictionary, generator.getDictionaryIndex());
+            assertEquals(2, generator.getDictionarySize());
+            assertEquals("client_admin", generator.generatePhysicalName(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+        }
+
+        /**
+         * 生成結果のキャッシュのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既定ではキャッシュしない</li>
+         *   <li>上限を指定した場合、同じ条件の2回目の生成ではキャッシュした結果が返る</li>
+         *   <li>キャッシュした結果のトークンマッピングは組み立て済みのリストとなる</li>
+         *   <li>辞書を設定し直すとキャッシュした結果は使われず、新しい辞書で生成される</li>
+         *   <li>リクエストごとにコンパイルした辞書の結果はキャッシュしない</li>
+         * </ul>
+         */
+        @Test
+        void testResultCache() throws IOException {
+            assertFalse(generator.getResultCache().isEnabled());
+
+            PhysicalNameGenerator generator = PhysicalNameGenerator.builder().resultCacheMaxBytes(1024 * 1024).build();
+            PhysicalNameCache cache = generator.getResultCache();
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,client\n管理,admin\n");
+
+            PhysicalNameResult first = generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false);
+            PhysicalNameResult second = generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false);
+            assertEquals("client_admin", first.physicalName());
+            assertSame(first, second);
+            assertFalse(first.tokenMappings() instanceof TokenMappings);
+            assertEquals(List.of("顧客=>client", "管理=>admin"), first.tokenMappings());
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.size());
+
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\n");
+            assertEquals(0, cache.size());
+            assertEquals("customer_management", generator.generatePhysicalName(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+
+            DictionaryIndex inline = generator.compileDictionary(DictionaryFormat.CSV, "顧客,account\n");
+            generator.generatePhysicalName(inline, TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false, TokenizeBudget.UNLIMITED);
+            assertEquals(1, cache.size());
+        }
+
+        /**
+         * 複数スレッドから異なる辞書で物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既定の辞書と指定した辞書の生成が同時に行われても、互いの辞書が混ざらない</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentGenerationWithDifferentDictionaries() throws Exception {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,client\n管理,admin\n");
+            DictionaryIndex[] dictionaries = new DictionaryIndex[4];
+            for (int d = 0; d < dictionaries.length; d++) {
+                dictionaries[d] = generator.compileDictionary(DictionaryFormat.CSV, "顧客,customer" + d + "\n管理,management\n");
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            int d = (i + seed) % (dictionaries.length + 1);
+                            if (d == dictionaries.length) {
+                                assertEquals("client_admin", generator.generatePhysicalName(
+                                        TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false).physicalName());
+                            } else {
+                                assertEquals("customer" + d + "_management", generator.generatePhysicalName(
+                                        dictionaries[d], TokenizerType.OPTIMAL, NamingConvention.SNAKE, "顧客管理", false, TokenizeBudget.UNLIMITED).physicalName());
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        /**
+         * 命名規則のテンプレートによる物理名生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>組み込みの命名規則のテンプレートは命名規則を指定した場合と同じ物理名となる</li>
+         *   <li>接頭辞、接尾辞、長さの上限が物理名に適用される</li>
+         *   <li>トークンマッピングはテンプレートによらず同じとなる</li>
+         *   <li>書き出し先への書き出しとまとめての生成も同じ物理名となる</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateWithTemplate() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, """
+                    顧客,customer
+                    区分,type
+                    管理,management
+                    """);
+
+            PhysicalNameResult builtIn = generator.generatePhysicalName(TokenizerType.OPTIMAL, NamingConvention.UPPER_SNAKE, "顧客管理区分", false);
+            assertEquals(builtIn.physicalName(), generator.generatePhysicalName(
+                    TokenizerType.OPTIMAL, NamingTemplate.of(NamingConvention.UPPER_SNAKE), "顧客管理区分", false).physicalName());
+
+            NamingTemplate table = NamingTemplate.of(NamingConvention.UPPER_SNAKE).withPrefix("T_").withMaxLength(20);
+            PhysicalNameResult result = generator.generatePhysicalName(TokenizerType.OPTIMAL, table, "顧客管理区分", false);
+            assertEquals("T_CUSTOMER_MANAGEMEN", result.physicalName());
+            assertEquals(builtIn.tokenMappings(), result.tokenMappings());
+
+            NamingTemplate code = NamingTemplate.of(NamingConvention.LOWER_SNAKE).withSuffix("_cd");
+            TokenSpans spans = generator.tokenizeSpans(TokenizerType.OPTIMAL, "顧客XY区分");
+            assertEquals("customer_xy_type_cd", generator.formatPhysicalName(spans, code, false));
+            StringBuilder sb = new StringBuilder();
+            generator.appendPhysicalName(sb, spans, code, false);
+            generator.appendPhysicalName(sb.append(','), spans, code.withMaxLength(12), false);
+            assertEquals("customer_xy_type_cd,customer_cd", sb.toString());
+
+            List<PhysicalNameResult> results = generator.generatePhysicalNames(generator.getDictionaryIndex(),
+                    TokenizerType.OPTIMAL, table, List.of("顧客区分", "管理"), false, TokenizeBudget.UNLIMITED);
+            assertEquals(List.of("T_CUSTOMER_TYPE", "T_MANAGEMENT"), results.stream().map(PhysicalNameResult::physicalName).toList());
+        }
     }
 
     /**
@@ -684,6 +974,281 @@ class PhysicalNameGeneratorTest {
             assertEquals("顧客=>customer", result.tokenMappings().get(0));
             assertEquals("XY管理=>(unknown: XY管理)", result.tokenMappings().get(1));
         }
+
+        /**
+         * フォールバック有効時にまとめて物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>未知語をまとめてローマ字化しても、1件ずつ生成した結果と同じ結果が返る</li>
+         *   <li>同じ未知語を含む論理名が複数あっても結果は変わらない</li>
+         * </ul>
+         */
+        @Test
+        void testGeneratePhysicalNamesWithUnknownWords() throws IOException {
+            String csvData = """
+                    顧客,customer
+                    """;
+            generator.loadDictionary(DictionaryFormat.CSV, csvData);
+
+            List<String> logicalNames = List.of("顧客XY管理", "顧客アカウント", "取引先顧客", "顧客XY管理");
+            List<PhysicalNameResult> results = generator.generatePhysicalNames(
+                    TokenizerType.GREEDY, NamingConvention.LOWER_CAMEL, logicalNames, true);
+
+            assertEquals(logicalNames.size(), results.size());
+            for (int i = 0; i < logicalNames.size(); i++) {
+                assertEquals(generator.generatePhysicalName(TokenizerType.GREEDY, NamingConvention.LOWER_CAMEL, logicalNames.get(i), true),
+                        results.get(i));
+            }
+            assertEquals("customerXyKanri", results.get(0).physicalName());
+        }
+
+        /**
+         * フォールバック有効時に複数の命名規則で物理名を生成するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>命名規則の数にかかわらず、未知語のローマ字化は1回だけ行われる</li>
+         *   <li>命名規則ごとに1件ずつ生成した結果と同じ結果が返る</li>
+         * </ul>
+         */
+        @Test
+        void testGeneratePhysicalNameVariantsWithUnknownWords() throws IOException {
+            KuromojiRomajiConverter kuromoji = new KuromojiRomajiConverter();
+            AtomicInteger conversions = new AtomicInteger();
+            RomajiConverter counting = japaneseText -> {
+                conversions.incrementAndGet();
+                return kuromoji.convertToRomaji(japaneseText);
+            };
+            GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+            OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+            PhysicalNameGenerator countingGenerator = new PhysicalNameGenerator(
+                    new CsvDictionaryLoader(),
+                    new TsvDictionaryLoader(),
+                    new JsonDictionaryLoader(),
+                    new YamlDictionaryLoader(),
+                    greedyTokenizer,
+                    optimalTokenizer,
+                    new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                    new ParallelTokenizer(optimalTokenizer),
+                    counting
+            );
+            countingGenerator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n");
+
+            List<NamingConvention> conventions = List.of(
+                    NamingConvention.LOWER_SNAKE, NamingConvention.LOWER_CAMEL, NamingConvention.UPPER_KEBAB);
+            PhysicalNameVariants variants = countingGenerator.generatePhysicalNameVariants(
+                    TokenizerType.GREEDY, conventions, "顧客XY管理", true);
+            assertEquals(1, conversions.get());
+
+            for (NamingConvention convention : conventions) {
+                assertEquals(countingGenerator.generatePhysicalName(TokenizerType.GREEDY, convention, "顧客XY管理", true),
+                        variants.toResult(convention));
+            }
+        }
+
+        /**
+         * トークンマッピングを参照した時に組み立てるテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>未知語のローマ字化はトークンごとに1回だけ行われ、トークンマッピングの参照時にローマ字化し直さない</li>
+         *   <li>トークンマッピングは参照されるまで組み立てず、件数は組み立てずに取得できる</li>
+         *   <li>組み立てずに求めた文字数は、組み立てたトークンマッピングの文字数と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testLazyTokenMappings() throws IOException {
+            KuromojiRomajiConverter kuromoji = new KuromojiRomajiConverter();
+            AtomicInteger conversions = new AtomicInteger();
+            RomajiConverter counting = japaneseText -> {
+                conversions.incrementAndGet();
+                return kuromoji.convertToRomaji(japaneseText);
+            };
+            GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+            OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+            PhysicalNameGenerator countingGenerator = new PhysicalNameGenerator(
+                    new CsvDictionaryLoader(),
+                    new TsvDictionaryLoader(),
+                    new JsonDictionaryLoader(),
+                    new YamlDictionaryLoader(),
+                    greedyTokenizer,
+                    optimalTokenizer,
+                    new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                    new ParallelTokenizer(optimalTokenizer),
+                    counting
+            );
+            countingGenerator.loadDictionary(DictionaryFormat.CSV, "顧客,customer client\n");
+
+            for (boolean enableFallback : new boolean[]{true, false}) {
+                conversions.set(0);
+                PhysicalNameResult result = countingGenerator.generatePhysicalName(
+                        TokenizerType.GREEDY, NamingConvention.LOWER_CAMEL, "顧客XY管理", enableFallback);
+                assertEquals(enableFallback ? 1 : 0, conversions.get());
+
+                TokenMappings tokenMappings = assertInstanceOfTokenMappings(result.tokenMappings());
+                assertEquals(2, tokenMappings.size());
+                assertFalse(tokenMappings.isComputed());
+                for (int i = 0; i < tokenMappings.size(); i++) {
+                    assertEquals(tokenMappings.get(i).length(), tokenMappings.mappingLength(i));
+                }
+                assertTrue(tokenMappings.isComputed());
+                assertEquals("顧客=>customer, client", tokenMappings.get(0));
+                assertEquals(enableFallback ? 1 : 0, conversions.get());
+            }
+        }
+
+        private TokenMappings assertInstanceOfTokenMappings(List<String> tokenMappings) {
+            assertTrue(tokenMappings instanceof TokenMappings);
+            return (TokenMappings) tokenMappings;
+        }
+    }
+
+    /**
+     * 並列の一括生成のテスト
+     * 複数のスレッドに分けて生成した結果の順序と、論理名ごとの例外の保持をテストします
+     */
+    @Nested
+    class BulkGeneration {
+
+        /**
+         * コレクションの論理名からの並列生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>仮想スレッドとForkJoinPoolのいずれでも、入力と同じ順序でまとめての生成と同じ結果が返る</li>
+         *   <li>各結果は入力の中での位置と元の論理名を保持する</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateAll() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\nシステム,system\n注文,order\n");
+            String[] words = {"顧客", "管理", "システム", "注文", "XYZ"};
+            List<String> logicalNames = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                logicalNames.add(words[i % words.length] + words[(i / words.length) % words.length]);
+            }
+            List<PhysicalNameResult> expected = generator.generatePhysicalNames(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames, false);
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                for (List<PhysicalNameOutcome> outcomes : List.of(
+                        generator.generateAll(TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames, false),
+                        generator.generateAll(TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames, false, TokenizeBudget.UNLIMITED, pool))) {
+                    assertEquals(logicalNames.size(), outcomes.size());
+                    for (int i = 0; i < logicalNames.size(); i++) {
+                        PhysicalNameOutcome outcome = outcomes.get(i);
+                        assertEquals(i, outcome.index());
+                        assertEquals(logicalNames.get(i), outcome.logicalName());
+                        assertTrue(outcome.isSuccess());
+                        assertEquals(expected.get(i), outcome.getOrThrow());
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        /**
+         * ストリームの論理名からの並列生成テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>入力と同じ順序でまとめての生成と同じ結果が返る</li>
+         *   <li>空のストリームからは空の結果が返る</li>
+         *   <li>結果のストリームを閉じると入力のストリームも閉じる</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateAllFromStream() throws IOException {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\n");
+            List<String> logicalNames = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                logicalNames.add(i % 2 == 0 ? "顧客管理" + i : "管理顧客" + i);
+            }
+            List<PhysicalNameResult> expected = generator.generatePhysicalNames(
+                    TokenizerType.GREEDY, NamingConvention.KEBAB, logicalNames, false);
+
+            AtomicInteger closed = new AtomicInteger();
+            try (Stream<PhysicalNameOutcome> outcomes = generator.generateAll(
+                    TokenizerType.GREEDY, NamingConvention.KEBAB, logicalNames.stream().onClose(closed::incrementAndGet), false)) {
+                assertEquals(expected, outcomes.map(PhysicalNameOutcome::getOrThrow).toList());
+            }
+            assertEquals(1, closed.get());
+
+            assertEquals(0, generator.generateAll(TokenizerType.GREEDY, NamingConvention.KEBAB, Stream.<String>empty(), false).count());
+        }
+
+        /**
+         * 論理名ごとの例外の保持テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>生成に失敗した論理名は例外を保持し、他の論理名は生成される</li>
+         *   <li>失敗した結果から物理名生成結果を取得しようとすると、保持した例外が送出される</li>
+         * </ul>
+         */
+        @Test
+        void testGenerateAllCapturesErrors() throws IOException {
+            KuromojiRomajiConverter kuromoji = new KuromojiRomajiConverter();
+            RomajiConverter failing = japaneseText -> {
+                if (japaneseText.contains("障害")) {
+                    throw new IllegalStateException("conversion failed: " + japaneseText);
+                }
+                return kuromoji.convertToRomaji(japaneseText);
+            };
+            GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+            OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+            PhysicalNameGenerator failingGenerator = new PhysicalNameGenerator(
+                    new CsvDictionaryLoader(),
+                    new TsvDictionaryLoader(),
+                    new JsonDictionaryLoader(),
+                    new YamlDictionaryLoader(),
+                    greedyTokenizer,
+                    optimalTokenizer,
+                    new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                    new ParallelTokenizer(optimalTokenizer),
+                    failing
+            );
+            failingGenerator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\n");
+
+            List<String> logicalNames = List.of("顧客管理", "顧客障害", "管理顧客");
+            List<PhysicalNameOutcome> outcomes = failingGenerator.generateAll(
+                    TokenizerType.GREEDY, NamingConvention.SNAKE, logicalNames, true);
+
+            assertEquals(3, outcomes.size());
+            assertEquals("customer_management", outcomes.get(0).getOrThrow().physicalName());
+            assertFalse(outcomes.get(1).isSuccess());
+            assertNull(outcomes.get(1).result());
+            assertEquals("顧客障害", outcomes.get(1).logicalName());
+            assertThrows(IllegalStateException.class, () -> outcomes.get(1).getOrThrow());
+            assertEquals("management_customer", outcomes.get(2).getOrThrow().physicalName());
+        }
+
+        /**
+         * まとめての生成に使用するExecutorの指定テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>数値を指定した場合は、その並列度のForkJoinPoolとなる</li>
+         *   <li>誤った名前や1未満の並列度を指定した場合は、仮想スレッドで代替せずに例外となる</li>
+         * </ul>
+         */
+        @Test
+        void testCreateBulkExecutor() {
+            ForkJoinPool pool = (ForkJoinPool) PhysicalNameGenerator.createBulkExecutor("2");
+            try {
+                assertEquals(2, pool.getParallelism());
+            } finally {
+                pool.shutdown();
+            }
+            assertSame(ForkJoinPool.commonPool(), PhysicalNameGenerator.createBulkExecutor("fork-join"));
+            for (String spec : List.of("virtaul", "0", "-1", "")) {
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PhysicalNameGenerator.createBulkExecutor(spec));
+                assertTrue(e.getMessage().contains("cherry.pname.bulk.executor"));
+            }
+        }
     }
 
     /**
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main;
+
+import cherry.pname.main.dictionary.CsvDictionaryLoader;
+import cherry.pname.main.dictionary.JsonDictionaryLoader;
+import cherry.pname.main.dictionary.TsvDictionaryLoader;
+import cherry.pname.main.dictionary.YamlDictionaryLoader;
+import cherry.pname.main.romaji.KuromojiRomajiConverter;
+import cherry.pname.main.romaji.RomajiConverter;
+import cherry.pname.main.tokenize.AdaptiveTokenizer;
+import cherry.pname.main.tokenize.GreedyTokenizer;
+import cherry.pname.main.tokenize.OptimalTokenizer;
+import cherry.pname.main.tokenize.ParallelTokenizer;
+import cherry.pname.main.tokenize.TokenizeBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PhysicalNameProcessorのテストクラス
+ *
+ * <p>論理名のストリームからの物理名生成を階層的にテストします：</p>
+ * <ul>
+ *   <li>結果の順序と内容</li>
+ *   <li>要求に基づく流量制御</li>
+ *   <li>エラーと取り消し</li>
+ * </ul>
+ */
+class PhysicalNameProcessorTest {
+
+    private PhysicalNameGenerator generator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        generator = createGenerator(new KuromojiRomajiConverter());
+    }
+
+    private static PhysicalNameGenerator createGenerator(RomajiConverter romajiConverter) throws IOException {
+        GreedyTokenizer greedyTokenizer = new GreedyTokenizer();
+        OptimalTokenizer optimalTokenizer = new OptimalTokenizer();
+        PhysicalNameGenerator generator = new PhysicalNameGenerator(
+                new CsvDictionaryLoader(),
+                new TsvDictionaryLoader(),
+                new JsonDictionaryLoader(),
+                new YamlDictionaryLoader(),
+                greedyTokenizer,
+                optimalTokenizer,
+                new AdaptiveTokenizer(greedyTokenizer, optimalTokenizer),
+                new ParallelTokenizer(optimalTokenizer),
+                romajiConverter
+        );
+        generator.loadDictionary(DictionaryFormat.CSV, "顧客,customer\n管理,management\nシステム,system\n");
+        return generator;
+    }
+
+    /**
+     * 要求した件数だけ論理名を送り出し、要求された件数の合計を記録する上流
+     */
+    private static class CountingPublisher implements Flow.Publisher<String> {
+
+        private final List<String> logicalNames;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final RuntimeException error;
+
+        CountingPublisher(List<String> logicalNames, RuntimeException error) {
+            this.logicalNames = logicalNames;
+            this.error = error;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int next;
+                private boolean done;
+
+                @Override
+                public synchronized void request(long n) {
+                    requested.addAndGet(n);
+                    for (long k = 0; k < n && next < logicalNames.size() && !cancelled.get(); k++) {
+                        subscriber.onNext(logicalNames.get(next++));
+                    }
+                    if (next == logicalNames.size() && !done && !cancelled.get()) {
+                        done = true;
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+
+    /**
+     * 受け取った結果と終了の通知を記録する下流
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<PhysicalNameOutcome> {
+
+        private final List<PhysicalNameOutcome> outcomes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final long initialRequest;
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(PhysicalNameOutcome item) {
+            outcomes.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        }
+
+        void awaitCount(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (outcomes.size() < count) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static List<String> logicalNames(int count) {
+        String[] words = {"顧客", "管理", "システム", "XYZ"};
+        List<String> logicalNames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logicalNames.add(words[i % words.length] + words[(i / words.length) % words.length]);
+        }
+        return logicalNames;
+    }
+
+    /**
+     * 結果の順序と内容のテスト
+     */
+    @Nested
+    class Ordering {
+
+        /**
+         * 並列に生成した結果の順序のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>並列に生成しても、論理名を受け取った順序で結果が送り出される</li>
+         *   <li>結果はまとめての生成と同じで、入力の中での位置を保持する</li>
+         *   <li>上流の完了後、すべての結果を送り出してから完了が通知される</li>
+         * </ul>
+         */
+        @Test
+        void testOrderedResults() throws Exception {
+            List<String> logicalNames = logicalNames(1000);
+            List<PhysicalNameResult> expected = generator.generatePhysicalNames(
+                    TokenizerType.OPTIMAL, NamingConvention.SNAKE, logicalNames, false);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+                PhysicalNameProcessor processor = new PhysicalNameProcessor(generator, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false,
+                        TokenizeBudget.UNLIMITED, executor, 8);
+                RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+                processor.subscribe(subscriber);
+                publisher.subscribe(processor);
+                logicalNames.forEach(publisher::submit);
+                publisher.close();
+
+                subscriber.await();
+                assertTrue(subscriber.completed);
+                assertEquals(logicalNames.size(), subscriber.outcomes.size());
+                for (int i = 0; i < logicalNames.size(); i++) {
+                    PhysicalNameOutcome outcome = subscriber.outcomes.get(i);
+                    assertEquals(i, outcome.index());
+                    assertEquals(expected.get(i), outcome.getOrThrow());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 要求に基づく流量制御のテスト
+     */
+    @Nested
+    class Backpressure {
+
+        /**
+         * 下流の要求に応じた上流への要求のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>下流の要求がない間は、上流には並列度の件数だけ要求する</li>
+         *   <li>下流の要求を超えて結果を送り出さない</li>
+         *   <li>送り出した件数だけ上流に追加で要求する</li>
+         * </ul>
+         */
+        @Test
+        void testDemandDrivenRequests() throws Exception {
+            CountingPublisher publisher = new CountingPublisher(logicalNames(100), null);
+            PhysicalNameProcessor processor = new PhysicalNameProcessor(generator, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false,
+                    TokenizeBudget.UNLIMITED, Runnable::run, 4);
+            RecordingSubscriber subscriber = new RecordingSubscriber(0);
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+
+            assertEquals(4, publisher.requested.get());
+            assertEquals(0, subscriber.outcomes.size());
+
+            subscriber.subscription.request(10);
+            subscriber.awaitCount(10);
+            assertEquals(10, subscriber.outcomes.size());
+            assertEquals(14, publisher.requested.get());
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            subscriber.await();
+            assertTrue(subscriber.completed);
+            assertEquals(100, subscriber.outcomes.size());
+        }
+
+        /**
+         * 不正な要求のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>0以下の件数を要求すると、エラーが通知され上流の購読が取り消される</li>
+         *   <li>並列度が1未満の場合は例外となる</li>
+         * </ul>
+         */
+        @Test
+        void testInvalidRequest() throws Exception {
+            CountingPublisher publisher = new CountingPublisher(logicalNames(10), null);
+            PhysicalNameProcessor processor = new PhysicalNameProcessor(generator, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false,
+                    TokenizeBudget.UNLIMITED, Runnable::run, 4);
+            RecordingSubscriber subscriber = new RecordingSubscriber(0);
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+
+            subscriber.subscription.request(0);
+            subscriber.await();
+            assertTrue(subscriber.error instanceof IllegalArgumentException);
+            assertTrue(publisher.cancelled.get());
+
+            assertThrows(IllegalArgumentException.class, () -> new PhysicalNameProcessor(generator, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false,
+                    TokenizeBudget.UNLIMITED, Runnable::run, 0));
+        }
+    }
+
+    /**
+     * エラーと取り消しのテスト
+     */
+    @Nested
+    class ErrorsAndCancellation {
+
+        /**
+         * 論理名ごとの例外と上流のエラーのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>生成に失敗した論理名は例外を保持した結果として送り出され、ストリームは続く</li>
+         *   <li>上流のエラーは、受け取った論理名の結果をすべて送り出してから通知される</li>
+         * </ul>
+         */
+        @Test
+        void testErrors() throws Exception {
+            KuromojiRomajiConverter kuromoji = new KuromojiRomajiConverter();
+            PhysicalNameGenerator failingGenerator = createGenerator(japaneseText -> {
+                if (japaneseText.contains("障害")) {
+                    throw new IllegalStateException("conversion failed: " + japaneseText);
+                }
+                return kuromoji.convertToRomaji(japaneseText);
+            });
+            IllegalStateException upstreamError = new IllegalStateException("queue closed");
+            CountingPublisher publisher = new CountingPublisher(List.of("顧客管理", "顧客障害", "管理顧客"), upstreamError);
+            PhysicalNameProcessor processor = new PhysicalNameProcessor(failingGenerator, TokenizerType.GREEDY, NamingConvention.SNAKE, true,
+                    TokenizeBudget.UNLIMITED, Runnable::run, 2);
+            RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+
+            subscriber.await();
+            assertSame(upstreamError, subscriber.error);
+            assertEquals(3, subscriber.outcomes.size());
+            assertEquals("customer_management", subscriber.outcomes.get(0).getOrThrow().physicalName());
+            assertFalse(subscriber.outcomes.get(1).isSuccess());
+            assertEquals("management_customer", subscriber.outcomes.get(2).getOrThrow().physicalName());
+        }
+
+        /**
+         * 取り消しと2つ目の下流のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>下流が購読を取り消すと、上流の購読も取り消され、以降は送り出さない</li>
+         *   <li>2つ目の下流にはエラーが通知される</li>
+         * </ul>
+         */
+        @Test
+        void testCancelAndSecondSubscriber() throws Exception {
+            CountingPublisher publisher = new CountingPublisher(logicalNames(100), null);
+            PhysicalNameProcessor processor = new PhysicalNameProcessor(generator, TokenizerType.OPTIMAL, NamingConvention.SNAKE, false,
+                    TokenizeBudget.UNLIMITED, Runnable::run, 4);
+            RecordingSubscriber subscriber = new RecordingSubscriber(5);
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+            subscriber.awaitCount(5);
+
+            subscriber.subscription.cancel();
+            assertTrue(publisher.cancelled.get());
+            subscriber.subscription.request(10);
+            assertEquals(5, subscriber.outcomes.size());
+            assertFalse(subscriber.completed);
+
+            RecordingSubscriber second = new RecordingSubscriber(1);
+            processor.subscribe(second);
+            second.await();
+            assertTrue(second.error instanceof IllegalStateException);
+        }
+    }
+}
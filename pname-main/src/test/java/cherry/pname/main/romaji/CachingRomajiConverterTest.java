@@ -0,0 +1,341 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingRomajiConverterのテストクラス
+ *
+ * <p>変換結果のキャッシュを階層的にテストします：</p>
+ * <ul>
+ *   <li>キャッシュの参照と統計情報</li>
+ *   <li>まとめて変換する場合</li>
+ *   <li>変換結果の保存ファイル</li>
+ *   <li>エントリ数の上限</li>
+ *   <li>並行アクセス</li>
+ * </ul>
+ */
+class CachingRomajiConverterTest {
+
+    private AtomicInteger conversions;
+    private RomajiConverter delegate;
+
+    @BeforeEach
+    void setUp() {
+        conversions = new AtomicInteger();
+        delegate = japaneseText -> {
+            conversions.incrementAndGet();
+            if (japaneseText == null || japaneseText.isEmpty()) {
+                return List.of();
+            }
+            return new ArrayList<>(List.of("r" + japaneseText.length(), japaneseText));
+        };
+    }
+
+    /**
+     * キャッシュの参照と統計情報のテスト
+     */
+    @Nested
+    class Lookup {
+
+        /**
+         * 同じ未知語の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>2回目以降の変換は変換処理を呼び出さずに同じ結果を返す</li>
+         *   <li>ヒット数、ミス数、ヒット率が更新される</li>
+         * </ul>
+         */
+        @Test
+        void testHit() {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 16);
+
+            List<String> first = converter.convertToRomaji("ほげ");
+            List<String> second = converter.convertToRomaji("ほげ");
+
+            assertEquals(List.of("r2", "ほげ"), first);
+            assertEquals(first, second);
+            assertEquals(1, conversions.get());
+            assertEquals(1, converter.getHitCount());
+            assertEquals(1, converter.getMissCount());
+            assertEquals(0.5, converter.getHitRate());
+            assertEquals(1, converter.size());
+            assertThrows(UnsupportedOperationException.class, () -> second.add("x"));
+        }
+
+        /**
+         * キャッシュしない設定のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限が0の場合は毎回変換し、統計情報も更新されない</li>
+         *   <li>nullと空文字列はキャッシュせずに変換処理へ渡す</li>
+         * </ul>
+         */
+        @Test
+        void testDisabled() {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 0);
+
+            converter.convertToRomaji("ほげ");
+            converter.convertToRomaji("ほげ");
+            assertFalse(converter.isEnabled());
+            assertEquals(2, conversions.get());
+            assertEquals(0, converter.getHitCount() + converter.getMissCount());
+
+            CachingRomajiConverter enabled = new CachingRomajiConverter(delegate, 16);
+            assertTrue(enabled.convertToRomaji(null).isEmpty());
+            assertTrue(enabled.convertToRomaji("").isEmpty());
+            assertEquals(0, enabled.size());
+        }
+    }
+
+    /**
+     * まとめて変換する場合のテスト
+     */
+    @Nested
+    class Batch {
+
+        /**
+         * 複数の未知語をまとめて変換するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>結果は入力と同じ順序で、1件ずつ変換した結果と一致する</li>
+         *   <li>キャッシュにない未知語だけを、重複を除いて変換する</li>
+         *   <li>キャッシュにない未知語の重複はヒットではなくミスとして数える</li>
+         *   <li>nullと空文字列は空のリストとなり、統計情報に含まれない</li>
+         * </ul>
+         */
+        @Test
+        void testConvertBatch() {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 16);
+            converter.convertToRomaji("ほげ");
+            conversions.set(0);
+
+            List<List<String>> results = converter.convertAllToRomaji(Arrays.asList("ほげ", "ふが", null, "ふが", "", "ぴよぴよ"));
+
+            assertEquals(List.of(
+                    List.of("r2", "ほげ"), List.of("r2", "ふが"), List.of(),
+                    List.of("r2", "ふが"), List.of(), List.of("r4", "ぴよぴよ")), results);
+            assertEquals(2, conversions.get());
+            assertEquals(1, converter.getHitCount());
+            assertEquals(4, converter.getMissCount());
+            assertEquals(3, converter.size());
+        }
+    }
+
+    /**
+     * 変換結果の保存ファイルのテスト
+     */
+    @Nested
+    class Store {
+
+        /**
+         * 保存ファイルを設定した変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>新しく変換した結果がファイルに追加される</li>
+         *   <li>別のインスタンスでは、ファイルに保存された結果を使用して変換処理を呼び出さない</li>
+         *   <li>キャッシュしない設定でも、まとめて変換する場合でもファイルを使用する</li>
+         * </ul>
+         */
+        @Test
+        void testReuseStoredResults() throws IOException {
+            Path file = Files.createTempFile("romaji", ".cache");
+            try {
+                assertReuseStoredResults(file);
+            } finally {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".lock"));
+            }
+        }
+
+        private void assertReuseStoredResults(Path file) throws IOException {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 16);
+            RomajiStore store = RomajiStore.open(file, converter.getVersion());
+            converter.setStore(store);
+            converter.convertToRomaji("ほげ");
+            converter.convertAllToRomaji(List.of("ふが", "ほげ"));
+            assertEquals(2, conversions.get());
+            assertEquals(2, store.save());
+
+            conversions.set(0);
+            for (int maxEntries : new int[]{16, 0}) {
+                CachingRomajiConverter next = new CachingRomajiConverter(delegate, maxEntries);
+                next.setStore(RomajiStore.open(file, next.getVersion()));
+                assertEquals(List.of("r2", "ほげ"), next.convertToRomaji("ほげ"));
+                assertEquals(List.of(List.of("r2", "ふが"), List.of("r3", "ぴよよ")), next.convertAllToRomaji(List.of("ふが", "ぴよよ")));
+                assertEquals(2, next.getStoreHitCount());
+            }
+            assertEquals(2, conversions.get());
+        }
+
+        /**
+         * 変換のバージョンが異なる保存ファイルのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>変換のバージョンが異なるファイルは設定できない</li>
+         * </ul>
+         */
+        @Test
+        void testVersionMismatch() throws IOException {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 16);
+            RomajiStore store = RomajiStore.open(Path.of("romaji.cache"), "other");
+            assertThrows(IllegalArgumentException.class, () -> converter.setStore(store));
+            assertNull(converter.getStore());
+        }
+    }
+
+    /**
+     * エントリ数の上限のテスト
+     */
+    @Nested
+    class Eviction {
+
+        /**
+         * 最も長く参照されていないエントリの破棄テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限を超えると最も長く参照されていないエントリが破棄され、破棄数が数えられる</li>
+         *   <li>参照したエントリは残る</li>
+         *   <li>clearでエントリと統計情報が破棄される</li>
+         * </ul>
+         */
+        @Test
+        void testLeastRecentlyUsed() {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 2);
+
+            converter.convertToRomaji("あ");
+            converter.convertToRomaji("い");
+            converter.convertToRomaji("あ");
+            converter.convertToRomaji("う");
+
+            assertEquals(2, converter.size());
+            assertEquals(1, converter.getEvictionCount());
+
+            converter.convertToRomaji("あ");
+            assertEquals(2, converter.getHitCount());
+            converter.convertToRomaji("い");
+            assertEquals(4, converter.getMissCount());
+
+            converter.clear();
+            assertEquals(0, converter.size());
+            assertEquals(0, converter.getHitCount() + converter.getMissCount() + converter.getEvictionCount());
+        }
+    }
+
+    /**
+     * 並行アクセスのテスト
+     */
+    @Nested
+    class Concurrency {
+
+        /**
+         * 複数スレッドからの変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>複数スレッドから同じ未知語群を変換しても、結果は変換処理の結果と一致する</li>
+         *   <li>ヒット数とミス数の合計が変換回数と一致し、エントリ数は上限を超えない</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentConversions() throws Exception {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 32);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 1000; i++) {
+                            String word = "あ".repeat(1 + (i * 7 + seed) % 50);
+                            assertEquals(List.of("r" + word.length(), word), converter.convertToRomaji(word));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(8000, converter.getHitCount() + converter.getMissCount());
+            assertTrue(converter.size() <= 32);
+        }
+    
+        /**
+         * 区画に分けたキャッシュへの複数スレッドからの変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限が大きく区画に分けて保持する場合も、結果は変換処理の結果と一致する</li>
+         *   <li>エントリ数は上限を超えず、保持しているエントリ数と破棄数の合計はミス数を超えない</li>
+         * </ul>
+         */
+        @Test
+        void testStripedConversions() throws Exception {
+            CachingRomajiConverter converter = new CachingRomajiConverter(delegate, 256);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 1000; i++) {
+                            String word = "あい".repeat(1 + (i * 13 + seed) % 7) + (char) ('か' + (i + seed) % 60);
+                            List<String> result = i % 2 == 0
+                                    ? converter.convertToRomaji(word)
+                                    : converter.convertAllToRomaji(List.of(word, word)).get(1);
+                            assertEquals(List.of("r" + word.length(), word), result);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(12000, converter.getHitCount() + converter.getMissCount());
+            assertTrue(converter.size() <= 256);
+            assertTrue(converter.size() + converter.getEvictionCount() <= converter.getMissCount());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KanaRomanizerのテストクラス
+ *
+ * <p>表による仮名のローマ字変換を階層的にテストします：</p>
+ * <ul>
+ *   <li>音節の変換（拗音、外来語の表記を含む）</li>
+ *   <li>促音、長音、撥音</li>
+ *   <li>文字列全体の変換の対象（カタカナだけ）</li>
+ * </ul>
+ */
+class KanaRomanizerTest {
+
+    private static String romanize(String kana) {
+        return KanaRomanizer.romanize(kana, 0, kana.length());
+    }
+
+    /**
+     * 音節の変換テスト
+     */
+    @Nested
+    class Syllables {
+
+        /**
+         * 基本的な音節の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>カタカナがヘボン式で変換される</li>
+         *   <li>ひらがなはカタカナと同じく変換される</li>
+         * </ul>
+         */
+        @Test
+        void testBasic() {
+            assertEquals("katakana", romanize("カタカナ"));
+            assertEquals("shisutemu", romanize("システム"));
+            assertEquals("tsuchifu", romanize("ツチフ"));
+            assertEquals("furigana", romanize("ふりがな"));
+            assertEquals(romanize("アカウント"), romanize("あかうんと"));
+        }
+
+        /**
+         * 2文字の組み合わせの変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>拗音と外来語の表記が1つの音節として変換される</li>
+         * </ul>
+         */
+        @Test
+        void testDigraphs() {
+            assertEquals("kyasshu", romanize("キャッシュ"));
+            assertEquals("shea", romanize("シェア"));
+            assertEquals("fairu", romanize("ファイル"));
+            assertEquals("chiketto", romanize("チケット"));
+            assertEquals("pāti", romanize("パーティ"));
+            assertEquals("uindou", romanize("ウインドウ"));
+            assertEquals("wea", romanize("ウェア"));
+            assertEquals("vaiorin", romanize("ヴァイオリン"));
+        }
+    }
+
+    /**
+     * 促音、長音、撥音のテスト
+     */
+    @Nested
+    class SpecialMarks {
+
+        /**
+         * 促音の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>次の音節の最初の子音が重なる</li>
+         *   <li>「チ」の前では「t」が付く</li>
+         * </ul>
+         */
+        @Test
+        void testSokuon() {
+            assertEquals("dasshubōdo", romanize("ダッシュボード"));
+            assertEquals("matchi", romanize("マッチ"));
+            assertEquals("kappu", romanize("カップ"));
+        }
+
+        /**
+         * 重ねる子音のない促音のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>末尾の促音、母音や撥音の前の促音、続けた促音を含む場合はnullとなり、読みを落とさない</li>
+         *   <li>変換できない場合は文字列全体がnullとなり、形態素解析での変換に回る</li>
+         * </ul>
+         */
+        @Test
+        void testSokuonWithoutConsonant() {
+            assertNull(romanize("アッ"));
+            assertNull(romanize("あっ"));
+            assertNull(romanize("ッア"));
+            assertNull(romanize("カッン"));
+            assertNull(romanize("カッッパ"));
+            assertNull(KanaRomanizer.convert("カッ"));
+        }
+
+        /**
+         * 長音の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>直前の母音が長音記号付きの母音になる</li>
+         * </ul>
+         */
+        @Test
+        void testLongVowel() {
+            assertEquals("kōhī", romanize("コーヒー"));
+            assertEquals("dēta", romanize("データ"));
+            assertEquals("sābā", romanize("サーバー"));
+        }
+
+        /**
+         * 直前に母音のない長音のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>先頭の長音、撥音や促音の後の長音、続けた長音を含む場合はnullとなり、長音を無視しない</li>
+         *   <li>変換できない場合は文字列全体がnullとなる</li>
+         * </ul>
+         */
+        @Test
+        void testLongVowelWithoutVowel() {
+            assertNull(romanize("ーア"));
+            assertNull(romanize("ンー"));
+            assertNull(romanize("カッー"));
+            assertNull(romanize("カーー"));
+            assertNull(KanaRomanizer.convert("ーア"));
+        }
+
+        /**
+         * 撥音の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>母音または「y」の前では「n'」となる</li>
+         *   <li>それ以外では「n」となる</li>
+         * </ul>
+         */
+        @Test
+        void testN() {
+            assertEquals("kan'i", romanize("カンイ"));
+            assertEquals("kin'yū", romanize("キンユー"));
+            assertEquals("kanri", romanize("かんり"));
+            assertEquals("pen", romanize("ペン"));
+        }
+    }
+
+    /**
+     * 文字列全体の変換の対象のテスト
+     */
+    @Nested
+    class Target {
+
+        /**
+         * カタカナだけの文字列の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>カタカナだけの文字列は1つの要素となる</li>
+         * </ul>
+         */
+        @Test
+        void testKatakana() {
+            assertEquals(List.of("sābisu"), KanaRomanizer.convert("サービス"));
+            assertEquals(List.of("akaunto"), KanaRomanizer.convert("アカウント"));
+        }
+
+        /**
+         * 変換対象外の文字を含む文字列のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>ひらがな、英数字、漢字、記号、全角英字、変換表にない仮名を含む場合はnullとなり、形態素解析で変換される</li>
+         * </ul>
+         */
+        @Test
+        void testUnsupported() {
+            assertNull(KanaRomanizer.convert("おきゃくさまのおなまえ"));
+            assertNull(KanaRomanizer.convert("アカウントのかず"));
+            assertNull(KanaRomanizer.convert("SaaSサービス2"));
+            assertNull(KanaRomanizer.convert("ABC123"));
+            assertNull(KanaRomanizer.convert("顧客コード"));
+            assertNull(KanaRomanizer.convert("カタ・カナ"));
+            assertNull(KanaRomanizer.convert("ＡＢＣコード"));
+            assertNull(KanaRomanizer.convert("ヷコード"));
+        }
+    }
+}
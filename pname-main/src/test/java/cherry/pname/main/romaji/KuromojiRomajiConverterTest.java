@@ -20,7 +20,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -295,4 +300,196 @@ class KuromojiRomajiConverterTest {
             assertTrue(result.isEmpty());
         }
     }
+
+    /**
+     * リソースの遅延読み込みテスト
+     * Kuromojiの辞書とICU4Jの変換規則の読み込み時期をテストします
+     */
+    @Nested
+    class LazyInitialization {
+
+        /**
+         * 生成時に読み込まないことのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>生成直後は読み込まれていない</li>
+         *   <li>空文字列とnull、カタカナだけの文字列の変換では読み込まれない</li>
+         *   <li>漢字を含む文字列の最初の変換で読み込まれる</li>
+         * </ul>
+         */
+        @Test
+        void testInitializedOnFirstConversion() {
+            assertFalse(converter.isInitialized());
+
+            converter.convertToRomaji("");
+            converter.convertToRomaji(null);
+            converter.convertToRomaji("カタカナ");
+            assertFalse(converter.isInitialized());
+
+            converter.convertToRomaji("管理");
+            assertTrue(converter.isInitialized());
+        }
+
+        /**
+         * 事前読み込みのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>warmUpで読み込まれる</li>
+         *   <li>複数のスレッドから同時にwarmUpしても、以降の変換結果は単一スレッドでの結果と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testWarmUp() throws InterruptedException {
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(converter::warmUp);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertTrue(converter.isInitialized());
+            assertEquals(new KuromojiRomajiConverter().convertToRomaji("管理"), converter.convertToRomaji("管理"));
+        }
+    }
+
+    /**
+     * まとめて変換するテスト
+     * 複数の文字列をまとめて変換する場合をテストします
+     */
+    @Nested
+    class BatchConversion {
+
+        /**
+         * 複数の文字列をまとめて変換するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>結果は入力と同じ順序で、1件ずつ変換した結果と一致する</li>
+         *   <li>漢字を含む文字列と仮名だけの文字列が混在しても、形態素が文字列の境界をまたがない</li>
+         *   <li>nullと空文字列は空のリストとなる</li>
+         * </ul>
+         */
+        @Test
+        void testSameResultsAsSingleConversion() {
+            List<String> words = Arrays.asList("顧客", "管理", null, "アカウント", "", "取引先コード", "ABC商品", "しきい値", "振込");
+
+            List<List<String>> results = converter.convertAllToRomaji(words);
+
+            assertEquals(words.size(), results.size());
+            for (int i = 0; i < words.size(); i++) {
+                assertEquals(new KuromojiRomajiConverter().convertToRomaji(words.get(i)), results.get(i), String.valueOf(words.get(i)));
+            }
+        }
+
+        /**
+         * まとめる文字列の組み合わせによらない変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>同じ文字列は、一緒に変換する文字列や順序が違っても同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testIndependentOfBatch() {
+            List<String> alone = converter.convertAllToRomaji(List.of("上下")).get(0);
+
+            assertEquals(alone, converter.convertAllToRomaji(List.of("顧客", "上下")).get(1));
+            assertEquals(alone, converter.convertAllToRomaji(List.of("上下", "水道")).get(0));
+            assertEquals(alone, converter.convertAllToRomaji(List.of("取引先", "上下", "しきい値")).get(1));
+        }
+
+        /**
+         * 空のリストの変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>空のリストを渡すと空のリストを返し、形態素解析の資源を読み込まない</li>
+         * </ul>
+         */
+        @Test
+        void testEmpty() {
+            assertTrue(converter.convertAllToRomaji(List.of()).isEmpty());
+            assertFalse(converter.isInitialized());
+        }
+    }
+
+    /**
+     * 表による変換と形態素解析の一致のテスト
+     * 形態素解析を行わずに表で変換する文字列の結果をテストします
+     */
+    @Nested
+    class TableParity {
+
+        /**
+         * 表による変換と形態素解析による変換の一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>表で変換するカタカナの外来語は、形態素解析で変換した場合と同じ要素のリストになる</li>
+         *   <li>ひらがなだけの文字列は表で変換せず、形態素解析の要素の分け方のままとなる</li>
+         * </ul>
+         */
+        @Test
+        void testSameElementsAsTokenizer() {
+            List<String> corpus = List.of(
+                    "サービス", "データ", "コーヒー", "アカウント", "システム", "ファイル",
+                    "キャッシュ", "チケット", "メール", "コード", "テーブル", "パスワード");
+            for (String word : corpus) {
+                List<String> table = KanaRomanizer.convert(word);
+                assertNotNull(table, word);
+                assertEquals(converter.convertWithTokenizer(word), table, word);
+            }
+
+            String hiragana = "おきゃくさまのおなまえ";
+            assertNull(KanaRomanizer.convert(hiragana));
+            assertEquals(converter.convertWithTokenizer(hiragana), converter.convertToRomaji(hiragana));
+        }
+    }
+
+    /**
+     * 並行変換テスト
+     * 複数スレッドからの同時変換をテストします
+     */
+    @Nested
+    class ConcurrentConversion {
+
+        /**
+         * 複数スレッドからの同時変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>複数スレッドから同時に変換しても、結果は単一スレッドでの変換結果と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testSameResultsAsSingleThread() throws Exception {
+            List<String> words = List.of("アカウント", "ワークフロー", "しきい値", "取引先コード", "ダッシュボード", "ABC商品");
+            List<List<String>> expected = new ArrayList<>();
+            for (String word : words) {
+                expected.add(new KuromojiRomajiConverter().convertToRomaji(word));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            int n = i % words.size();
+                            assertEquals(expected.get(n), converter.convertToRomaji(words.get(n)));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.romaji;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RomajiStoreのテストクラス
+ *
+ * <p>ローマ字変換結果の保存ファイルを階層的にテストします：</p>
+ * <ul>
+ *   <li>保存と読み込み</li>
+ *   <li>変換のバージョン</li>
+ *   <li>複数のプロセスからの保存</li>
+ * </ul>
+ */
+class RomajiStoreTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("romaji_store");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 保存と読み込みのテスト
+     */
+    @Nested
+    class SaveAndLoad {
+
+        /**
+         * 保存した変換結果の読み込みテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>存在しないファイルは空として開ける</li>
+         *   <li>保存した変換結果を次に開いた時に取得できる</li>
+         *   <li>タブ、改行、バックスラッシュを含む文字列と空の要素リストも元に戻る</li>
+         * </ul>
+         */
+        @Test
+        void testRoundTrip() throws IOException {
+            Path file = dir.resolve("romaji.cache");
+            RomajiStore store = RomajiStore.open(file, "v1");
+            assertEquals(0, store.size());
+
+            store.put("取引先", List.of("torihiki", "saki"));
+            store.put("タブ\tと\\改行\n", List.of("a\tb", "c\\d"));
+            store.put("記号", List.of());
+            assertEquals(3, store.getPendingCount());
+            assertEquals(3, store.save());
+            assertEquals(0, store.getPendingCount());
+
+            RomajiStore reopened = RomajiStore.open(file, "v1");
+            assertEquals(3, reopened.size());
+            assertEquals(List.of("torihiki", "saki"), reopened.get("取引先"));
+            assertEquals(List.of("a\tb", "c\\d"), reopened.get("タブ\tと\\改行\n"));
+            assertEquals(List.of(), reopened.get("記号"));
+            assertNull(reopened.get("顧客"));
+        }
+
+        /**
+         * 追加がない場合の保存テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>追加した変換結果がない場合はファイルを作成しない</li>
+         *   <li>読み込んだ結果と同じ文字列を追加しても、保存の対象にならない</li>
+         * </ul>
+         */
+        @Test
+        void testNothingToSave() throws IOException {
+            Path file = dir.resolve("romaji.cache");
+            assertEquals(0, RomajiStore.open(file, "v1").save());
+            assertFalse(Files.exists(file));
+
+            RomajiStore store = RomajiStore.open(file, "v1");
+            store.put("振込", List.of("furikomi"));
+            store.save();
+
+            RomajiStore reopened = RomajiStore.open(file, "v1");
+            reopened.put("振込", List.of("furikomi"));
+            assertEquals(0, reopened.getPendingCount());
+        }
+    }
+
+    /**
+     * 変換のバージョンのテスト
+     */
+    @Nested
+    class Version {
+
+        /**
+         * バージョンが異なるファイルのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>バージョンが異なるファイルの内容は読み込まない</li>
+         *   <li>保存時には新しいバージョンのファイルに置き換わる</li>
+         * </ul>
+         */
+        @Test
+        void testVersionMismatch() throws IOException {
+            Path file = dir.resolve("romaji.cache");
+            RomajiStore old = RomajiStore.open(file, "v1");
+            old.put("取引先", List.of("torihiki", "saki"));
+            old.save();
+
+            RomajiStore store = RomajiStore.open(file, "v2");
+            assertEquals(0, store.size());
+            store.put("振込", List.of("furikomi"));
+            store.save();
+
+            assertEquals(0, RomajiStore.open(file, "v1").size());
+            RomajiStore reopened = RomajiStore.open(file, "v2");
+            assertEquals(1, reopened.size());
+            assertEquals(List.of("furikomi"), reopened.get("振込"));
+        }
+    }
+
+    /**
+     * 複数のプロセスからの保存のテスト
+     */
+    @Nested
+    class Merge {
+
+        /**
+         * 同じファイルを開いた複数のインスタンスからの保存テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>後から保存しても、先に保存された変換結果は失われない</li>
+         *   <li>一時ファイルが残らない</li>
+         * </ul>
+         */
+        @Test
+        void testSaveMergesWithCurrentFile() throws IOException {
+            Path file = dir.resolve("romaji.cache");
+            RomajiStore first = RomajiStore.open(file, "v1");
+            RomajiStore second = RomajiStore.open(file, "v1");
+
+            first.put("取引先", List.of("torihiki", "saki"));
+            second.put("振込", List.of("furikomi"));
+            first.save();
+            second.save();
+
+            RomajiStore reopened = RomajiStore.open(file, "v1");
+            assertEquals(2, reopened.size());
+            assertEquals(List.of("torihiki", "saki"), reopened.get("取引先"));
+            assertEquals(List.of("furikomi"), reopened.get("振込"));
+            assertEquals(List.of("torihiki", "saki"), second.get("取引先"));
+            try (var files = Files.list(dir)) {
+                assertTrue(files.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AdaptiveTokenizerのテストクラス
+ *
+ * <p>前方最長マッチから最適分割選択方式への切り替え処理を階層的にテストします：</p>
+ * <ul>
+ *   <li>前方最長マッチのみで完了するケース</li>
+ *   <li>最適分割選択方式へ切り替えるケース</li>
+ *   <li>最適分割選択方式との結果一致</li>
+ *   <li>境界値・エラーケース</li>
+ * </ul>
+ */
+class AdaptiveTokenizerTest extends TokenizerTestBase {
+
+    private AdaptiveTokenizer tokenizer;
+    private OptimalTokenizer optimalTokenizer;
+    private Map<String, List<String>> dictionary;
+
+    @BeforeEach
+    void setUp() {
+        optimalTokenizer = new OptimalTokenizer();
+        tokenizer = new AdaptiveTokenizer(new GreedyTokenizer(), optimalTokenizer);
+        dictionary = createTestDictionary();
+        // 辞書語の重なりテスト用
+        dictionary.put("売上高", List.of("net_sales"));
+        dictionary.put("高額", List.of("high_value"));
+    }
+
+    /**
+     * 前方最長マッチのみで完了するケースのテスト
+     * 辞書で完全に分割でき、辞書語の重なりがない場合の動作をテストします
+     */
+    @Nested
+    class GreedyPath {
+
+        /**
+         * 既知語のみの入力テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>前方最長マッチの結果がそのまま採用される</li>
+         *   <li>前方最長マッチのカウンタのみが加算される</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 「顧客管理システム」→["顧客管理", "システム"] となり、
+         * 最適分割選択方式への切り替えは発生しない。
+         */
+        @Test
+        void testFullyKnownInput() {
+            List<Token> result = tokenizer.tokenize(dictionary, "顧客管理システム");
+            assertEquals(2, result.size());
+            assertEquals("顧客管理", result.get(0).word());
+            assertEquals("システム", result.get(1).word());
+
+            assertEquals(1, tokenizer.getGreedyPathCount());
+            assertEquals(0, tokenizer.getOptimalPathCount());
+        }
+    }
+
+    /**
+     * 最適分割選択方式へ切り替えるケースのテスト
+     * 未知語や辞書語の重なりがある場合の動作をテストします
+     */
+    @Nested
+    class OptimalPath {
+
+        /**
+         * 未知語を含む入力テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>未知語を含む区間が最適分割選択方式で分割される</li>
+         *   <li>最適分割選択方式のカウンタが加算される</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 「顧客X情報」→["顧客"(既知), "X"(未知), "情報"(既知)] となる。
+         */
+        @Test
+        void testUnknownWords() {
+            List<Token> result = tokenizer.tokenize(dictionary, "顧客X情報");
+            assertEquals(3, result.size());
+            assertEquals("顧客", result.get(0).word());
+            assertFalse(result.get(0).isUnknown());
+            assertEquals("X", result.get(1).word());
+            assertTrue(result.get(1).isUnknown());
+            assertEquals("情報", result.get(2).word());
+            assertFalse(result.get(2).isUnknown());
+
+            assertEquals(0, tokenizer.getGreedyPathCount());
+            assertEquals(1, tokenizer.getOptimalPathCount());
+        }
+
+        /**
+         * 辞書語の重なりがある入力テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>前方最長マッチでは未知語が残る入力が正しく再分割される</li>
+         *   <li>重なりのない区間は前方最長マッチの結果が維持される</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 「顧客売上高額」は前方最長マッチでは["顧客", "売上高", "額"(未知)]となるが、
+         * 「売上高額」の区間が再分割され["顧客", "売上", "高額"] となる。
+         */
+        @Test
+        void testOverlappingMatches() {
+            List<Token> result = tokenizer.tokenize(dictionary, "顧客売上高額");
+            assertEquals(3, result.size());
+            assertEquals("顧客", result.get(0).word());
+            assertEquals("売上", result.get(1).word());
+            assertEquals("高額", result.get(2).word());
+            assertTrue(result.stream().noneMatch(Token::isUnknown));
+
+            assertEquals(1, tokenizer.getOptimalPathCount());
+        }
+    }
+
+    /**
+     * 最適分割選択方式との結果一致のテスト
+     */
+    @Nested
+    class ConsistencyWithOptimal {
+
+        /**
+         * 各種入力での結果一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既知語のみ、未知語混在、辞書語の重なりの各ケースで最適分割選択方式と同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testSameResultAsOptimal() {
+            List<String> inputs = List.of(
+                    "顧客管理システム", "注文明細管理システム", "顧客X情報", "顧客ABC情報",
+                    "顧客Y管理", "売上高額", "顧客売上高額X商品コード", "XYZ", "売上明細番号");
+            for (String input : inputs) {
+                assertEquals(optimalTokenizer.tokenize(dictionary, input), tokenizer.tokenize(dictionary, input), input);
+            }
+        }
+    }
+
+    /**
+     * 境界値・エラーケースのテスト
+     * 異常入力や境界条件での動作をテストします
+     */
+    @Nested
+    class EdgeCasesAndErrorHandling {
+
+        /**
+         * 空文字列・null入力処理テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>空文字列入力時に空リストが返される</li>
+         *   <li>null入力時に空リストが返される</li>
+         *   <li>カウンタが加算されない</li>
+         * </ul>
+         */
+        @Test
+        void testEmptyAndNullInput() {
+            assertTrue(tokenizer.tokenize(dictionary, "").isEmpty());
+            assertTrue(tokenizer.tokenize(dictionary, null).isEmpty());
+
+            assertEquals(0, tokenizer.getGreedyPathCount());
+            assertEquals(0, tokenizer.getOptimalPathCount());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CaseFormsのテストクラス
+ *
+ * <p>物理名要素の大文字・小文字の形を階層的にテストします：</p>
+ * <ul>
+ *   <li>文字列の変換</li>
+ *   <li>書き出しながらの変換</li>
+ *   <li>辞書のコンパイル時の変換</li>
+ * </ul>
+ */
+class CaseFormsTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "customer", "Customer", "ID", "xY", "", "2nd", "Xy管理", "管理", "Straße", "ÉTAT", "eTAT", "aÉ");
+
+    /**
+     * 文字列の変換のテスト
+     */
+    @Nested
+    class Conversion {
+
+        /**
+         * ASCIIの文字だけからなる要素の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>小文字、大文字、先頭のみ大文字の形が求まる</li>
+         *   <li>変換しても変わらない場合は元の文字列がそのまま使われる</li>
+         * </ul>
+         */
+        @Test
+        void testAscii() {
+            CaseForms forms = CaseForms.of("CustomerID");
+            assertEquals(new CaseForms("customerid", "CUSTOMERID", "Customerid"), forms);
+
+            String lower = "customer";
+            assertSame(lower, CaseForms.toLowerCase(lower));
+            assertSame(lower, CaseForms.of(lower).lower());
+            String upper = "ID";
+            assertSame(upper, CaseForms.toUpperCase(upper));
+            String capitalized = "Order";
+            assertSame(capitalized, CaseForms.capitalize(capitalized));
+            assertEquals("", CaseForms.capitalize(""));
+        }
+
+        /**
+         * ASCII以外の文字を含む要素の変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>ASCII以外の文字はロケールに依存せずに変換される</li>
+         *   <li>既定のロケールがトルコ語でも、iはIに変換される</li>
+         * </ul>
+         */
+        @Test
+        void testNonAsciiAndLocale() {
+            assertEquals(new CaseForms("straße", "STRASSE", "Straße"), CaseForms.of("Straße"));
+            assertEquals(new CaseForms("état", "ÉTAT", "État"), CaseForms.of("ÉTAT"));
+            assertEquals(new CaseForms("xy管理", "XY管理", "Xy管理"), CaseForms.of("Xy管理"));
+
+            Locale original = Locale.getDefault();
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            try {
+                assertEquals(new CaseForms("id", "ID", "Id"), CaseForms.of("id"));
+                assertEquals(new CaseForms("idé", "IDÉ", "Idé"), CaseForms.of("IDÉ"));
+            } finally {
+                Locale.setDefault(original);
+            }
+        }
+    }
+
+    /**
+     * 書き出しながらの変換のテスト
+     */
+    @Nested
+    class Append {
+
+        /**
+         * 書き出しながらの変換と文字列の変換の一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>小文字、大文字、先頭のみ大文字のいずれも、文字列の変換と同じ結果が書き出される</li>
+         *   <li>ASCII以外の文字が途中に現れる場合も同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testAppendMatchesConversion() throws IOException {
+            for (String sample : SAMPLES) {
+                StringBuilder lower = new StringBuilder("[");
+                CaseForms.appendLowerCase(lower, sample);
+                assertEquals("[" + CaseForms.toLowerCase(sample), lower.toString(), sample);
+
+                StringBuilder upper = new StringBuilder("[");
+                CaseForms.appendUpperCase(upper, sample);
+                assertEquals("[" + CaseForms.toUpperCase(sample), upper.toString(), sample);
+
+                StringBuilder capitalized = new StringBuilder("[");
+                CaseForms.appendCapitalized(capitalized, sample);
+                assertEquals("[" + CaseForms.capitalize(sample), capitalized.toString(), sample);
+            }
+        }
+    }
+
+    /**
+     * 辞書のコンパイル時の変換のテスト
+     */
+    @Nested
+    class Compile {
+
+        /**
+         * コンパイルした辞書の大文字・小文字の形のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>エントリの物理名と同じ順序で大文字・小文字の形が求められている</li>
+         *   <li>トークン化結果からも既知語の形を取得でき、未知語の場合は空となる</li>
+         * </ul>
+         */
+        @Test
+        void testCompiledForms() {
+            DictionaryIndex index = DictionaryIndex.compile(Map.of("顧客番号", List.of("Customer", "ID")));
+            assertEquals(List.of(CaseForms.of("Customer"), CaseForms.of("ID")), index.caseForms(0));
+
+            TokenSpans spans = new GreedyTokenizer().tokenizeSpans(index, "顧客番号X");
+            assertEquals(index.caseForms(0), spans.caseForms(0));
+            assertEquals(List.of(), spans.caseForms(1));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DictionaryIndexのテストクラス
+ *
+ * <p>コンパイル済み辞書の検索処理を階層的にテストします：</p>
+ * <ul>
+ *   <li>辞書のコンパイル</li>
+ *   <li>辞書マッチの探索</li>
+ * </ul>
+ */
+class DictionaryIndexTest extends TokenizerTestBase {
+
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = DictionaryIndex.compile(createTestDictionary());
+    }
+
+    /**
+     * 辞書のコンパイルのテスト
+     */
+    @Nested
+    class Compilation {
+
+        /**
+         * エントリ情報の取得テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>エントリ数、最長キー長が辞書と一致する</li>
+         *   <li>エントリIDからキーと物理名が取得できる</li>
+         * </ul>
+         */
+        @Test
+        void testEntries() {
+            assertEquals(22, index.size());
+            assertEquals(4, index.maxKeyLength());
+
+            int entryId = index.find("顧客管理", 0, 4);
+            assertTrue(entryId >= 0);
+            assertEquals("顧客管理", index.key(entryId));
+            assertEquals(4, index.keyLength(entryId));
+            assertEquals(List.of("customer_management", "crm"), index.physicalNames(entryId));
+        }
+
+        /**
+         * 空の辞書・空のキーのテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>空の辞書ではどの文字列にもマッチしない</li>
+         *   <li>空文字列のキーは無視される</li>
+         * </ul>
+         */
+        @Test
+        void testEmptyDictionaryAndKey() {
+            assertEquals(0, DictionaryIndex.EMPTY.size());
+            assertEquals(-1, DictionaryIndex.EMPTY.longestMatch("顧客", 0, 2));
+
+            DictionaryIndex withEmptyKey = DictionaryIndex.compile(Map.of("", List.of("empty"), "顧客", List.of("customer")));
+            assertEquals(1, withEmptyKey.size());
+            assertEquals(-1, withEmptyKey.find("", 0, 0));
+        }
+
+        /**
+         * 見積もりバイト数のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>空の辞書でも正の値となる</li>
+         *   <li>エントリが多い辞書ほど大きくなる</li>
+         * </ul>
+         */
+        @Test
+        void testEstimateBytes() {
+            long empty = DictionaryIndex.EMPTY.estimateBytes();
+            assertTrue(empty > 0);
+            long single = DictionaryIndex.compile(Map.of("顧客", List.of("customer"))).estimateBytes();
+            assertTrue(single > empty);
+            assertTrue(index.estimateBytes() > single);
+        }
+    }
+
+    /**
+     * 辞書マッチの探索のテスト
+     */
+    @Nested
+    class Matching {
+
+        /**
+         * 完全一致検索テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>指定範囲と完全に一致するエントリが見つかる</li>
+         *   <li>辞書キーの接頭辞にすぎない範囲は一致しない</li>
+         * </ul>
+         */
+        @Test
+        void testFind() {
+            assertEquals("情報", index.key(index.find("顧客情報", 2, 4)));
+            assertEquals(-1, index.find("顧客管", 0, 3));
+            assertEquals(-1, index.find("XYZ", 0, 3));
+        }
+
+        /**
+         * 最長マッチ検索テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>複数のマッチがある場合は最長のエントリが返される</li>
+         *   <li>探索範囲を超えるマッチは返されない</li>
+         * </ul>
+         */
+        @Test
+        void testLongestMatch() {
+            assertEquals("顧客管理", index.key(index.longestMatch("顧客管理システム", 0, 8)));
+            assertEquals("顧客", index.key(index.longestMatch("顧客管理システム", 0, 3)));
+            assertEquals(-1, index.longestMatch("X顧客", 0, 3));
+        }
+
+        /**
+         * 全マッチ収集テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>指定位置から始まるすべてのマッチが短い順に収集される</li>
+         * </ul>
+         */
+        @Test
+        void testCollectMatches() {
+            int[] entryIds = new int[8];
+            int count = index.collectMatches("顧客管理システム", 0, 8, entryIds);
+            assertEquals(2, count);
+            assertEquals("顧客", index.key(entryIds[0]));
+            assertEquals("顧客管理", index.key(entryIds[1]));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelTokenizerのテストクラス
+ *
+ * <p>区間ごとの並列分割を階層的にテストします：</p>
+ * <ul>
+ *   <li>逐次処理との一致</li>
+ *   <li>上限の引き継ぎ</li>
+ * </ul>
+ */
+class ParallelTokenizerTest extends TokenizerTestBase {
+
+    private Map<String, List<String>> dictionary;
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = createTestDictionary();
+        dictionary.put("売上高", List.of("net_sales"));
+        dictionary.put("高額", List.of("high_value"));
+        index = DictionaryIndex.compile(dictionary);
+    }
+
+    /**
+     * 逐次処理との一致のテスト
+     */
+    @Nested
+    class SameAsSequential {
+
+        /**
+         * 長い入力の並列分割テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既知語、未知語、辞書語の重なり、区切り文字を含む長い入力で、逐次の最適分割と同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testLongInput() {
+            Tokenizer parallel = new ParallelTokenizer(new OptimalTokenizer(), ForkJoinPool.commonPool(), 16);
+            Tokenizer sequential = new OptimalTokenizer();
+            String input = "顧客管理システム・注文明細番号XYZ、売上高額データ 商品コードABC数量".repeat(50);
+
+            assertEquals(sequential.tokenize(index, input), parallel.tokenize(index, input));
+        }
+
+        /**
+         * ランダムな入力での一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>辞書語の断片を無作為につなげた入力で、区間の長さを変えても逐次の最適分割と同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testRandomInputs() {
+            Tokenizer sequential = new OptimalTokenizer();
+            List<String> fragments = List.of("顧客", "客管", "管理", "売上", "上高", "高額", "X", "・", "コー", "ド", "番号", "明細");
+            Random random = new Random(12345);
+
+            for (int segmentLength : new int[]{1, 3, 8}) {
+                Tokenizer parallel = new ParallelTokenizer(new OptimalTokenizer(), ForkJoinPool.commonPool(), segmentLength);
+                for (int n = 0; n < 50; n++) {
+                    StringBuilder sb = new StringBuilder();
+                    int count = random.nextInt(60);
+                    for (int i = 0; i < count; i++) {
+                        sb.append(fragments.get(random.nextInt(fragments.size())));
+                    }
+                    String input = sb.toString();
+                    assertEquals(sequential.tokenize(index, input), parallel.tokenize(index, input), input);
+                }
+            }
+        }
+
+        /**
+         * 短い入力の処理テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>区間の長さの2倍未満の入力は分けずに分割される</li>
+         *   <li>空入力、nullは空のリストになる</li>
+         * </ul>
+         */
+        @Test
+        void testShortInput() {
+            Tokenizer parallel = new ParallelTokenizer(new OptimalTokenizer());
+            List<Token> tokens = parallel.tokenize(index, "顧客管理システム");
+
+            assertEquals(2, tokens.size());
+            assertEquals("顧客管理", tokens.get(0).word());
+            assertEquals("システム", tokens.get(1).word());
+            assertTrue(parallel.tokenize(index, "").isEmpty());
+            assertTrue(parallel.tokenize(index, (String) null).isEmpty());
+        }
+    }
+
+    /**
+     * 上限の引き継ぎのテスト
+     */
+    @Nested
+    class Budget {
+
+        /**
+         * 区間での縮退の反映テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>各区間に上限が引き継がれ、いずれかの区間が縮退すると結果全体が縮退したものとなる</li>
+         *   <li>縮退しても入力全体を隙間なく覆う</li>
+         * </ul>
+         */
+        @Test
+        void testDegradedSegment() {
+            Tokenizer parallel = new ParallelTokenizer(new OptimalTokenizer(), ForkJoinPool.commonPool(), 16);
+            String input = "顧客管理システム注文明細番号XYZ".repeat(20);
+            TokenSpans spans = parallel.tokenizeSpans(index, input, TokenizeBudget.ofWork(10));
+
+            assertTrue(spans.isDegraded());
+            int pos = 0;
+            for (int i = 0; i < spans.size(); i++) {
+                assertEquals(pos, spans.start(i));
+                pos = spans.end(i);
+            }
+            assertEquals(input.length(), pos);
+        }
+    
+        /**
+         * 区間への作業量の分配テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>区間ごとに上限の残り全体を使うことはなく、逐次の分割に必要な作業量の半分未満では縮退する</li>
+         *   <li>逐次の分割に必要な作業量の2倍以上あれば縮退せず、逐次の最適分割と同じ結果になる</li>
+         * </ul>
+         */
+        @Test
+        void testWorkShared() {
+            Tokenizer parallel = new ParallelTokenizer(new OptimalTokenizer(), ForkJoinPool.commonPool(), 16);
+            Tokenizer sequential = new OptimalTokenizer();
+            String input = "顧客管理システム注文明細番号XYZ".repeat(20);
+
+            long required = 1;
+            while (sequential.tokenizeSpans(index, input, TokenizeBudget.ofWork(required)).isDegraded()) {
+                required *= 2;
+            }
+
+            assertTrue(parallel.tokenizeSpans(index, input, TokenizeBudget.ofWork(required / 4)).isDegraded());
+            TokenSpans spans = parallel.tokenizeSpans(index, input, TokenizeBudget.ofWork(required * 2));
+            TokenSpans expected = sequential.tokenizeSpans(index, input);
+            assertFalse(spans.isDegraded());
+            assertEquals(expected.size(), spans.size());
+            for (int i = 0; i < spans.size(); i++) {
+                assertEquals(expected.start(i), spans.start(i));
+                assertEquals(expected.end(i), spans.end(i));
+            }
+        }
+    }
+}
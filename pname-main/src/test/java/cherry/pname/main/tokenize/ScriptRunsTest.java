@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScriptRunsのテストクラス
+ *
+ * <p>文字種による事前分割を階層的にテストします：</p>
+ * <ul>
+ *   <li>文字種の判定</li>
+ *   <li>辞書マッチの終了位置の上限</li>
+ *   <li>トークン化結果への影響</li>
+ * </ul>
+ */
+class ScriptRunsTest extends TokenizerTestBase {
+
+    /**
+     * 文字種の判定のテスト
+     */
+    @Nested
+    class Classification {
+
+        /**
+         * 各文字種の判定テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>漢字、カタカナ（長音符を含む）、ひらがな、英字、数字が判定される</li>
+         *   <li>全角英数字、半角カタカナも同じ文字種として判定される</li>
+         *   <li>記号はその他として判定される</li>
+         * </ul>
+         */
+        @Test
+        void testClassify() {
+            assertEquals(ScriptRuns.KANJI, ScriptRuns.classify('顧'));
+            assertEquals(ScriptRuns.KANJI, ScriptRuns.classify('々'));
+            assertEquals(ScriptRuns.KATAKANA, ScriptRuns.classify('コ'));
+            assertEquals(ScriptRuns.KATAKANA, ScriptRuns.classify('ー'));
+            assertEquals(ScriptRuns.KATAKANA, ScriptRuns.classify('ｺ'));
+            assertEquals(ScriptRuns.HIRAGANA, ScriptRuns.classify('の'));
+            assertEquals(ScriptRuns.ALPHA, ScriptRuns.classify('I'));
+            assertEquals(ScriptRuns.ALPHA, ScriptRuns.classify('ｄ'));
+            assertEquals(ScriptRuns.DIGIT, ScriptRuns.classify('2'));
+            assertEquals(ScriptRuns.DIGIT, ScriptRuns.classify('２'));
+            assertEquals(ScriptRuns.OTHER, ScriptRuns.classify('、'));
+            assertEquals(ScriptRuns.OTHER, ScriptRuns.classify('_'));
+        }
+    }
+
+    /**
+     * 辞書マッチの終了位置の上限のテスト
+     */
+    @Nested
+    class MatchLimits {
+
+        /**
+         * 辞書キーに現れない文字種の上限テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>辞書キーに英数字がない場合、英数字の位置からは辞書語が始まらない</li>
+         *   <li>英数字の直前で漢字の辞書マッチが打ち切られる</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 「顧客ID2次コード」で、「顧客」の各位置の上限は「I」の位置(2)、
+         * 「I」「D」「2」の上限は自身の位置となる。
+         * 辞書キーに「漢字→カタカナ」の並びがないため、「次」の上限は「コ」の位置(6)となる。
+         */
+        @Test
+        void testAbsentScript() {
+            DictionaryIndex index = DictionaryIndex.compile(createTestDictionary());
+            String text = "顧客ID2次コード";
+            int[] limits = new int[text.length()];
+            ScriptRuns.computeMatchLimits(index, text, 0, text.length(), limits);
+
+            assertEquals(2, limits[0]);
+            assertEquals(2, limits[1]);
+            assertEquals(2, limits[2]);
+            assertEquals(3, limits[3]);
+            assertEquals(4, limits[4]);
+            assertEquals(6, limits[5]);
+            assertEquals(text.length(), limits[6]);
+        }
+
+        /**
+         * 辞書キーの中で隣り合う文字種の上限テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>辞書キーに「漢字→英字」の並びがあれば、その境界で打ち切られない</li>
+         *   <li>辞書キーにない「英字→数字」の境界では打ち切られる</li>
+         * </ul>
+         */
+        @Test
+        void testTransitions() {
+            DictionaryIndex index = DictionaryIndex.compile(Map.of(
+                    "顧客ID", List.of("customer_id"),
+                    "2次", List.of("secondary")));
+            String text = "顧客ID2次";
+            int[] limits = new int[text.length()];
+            ScriptRuns.computeMatchLimits(index, text, 0, text.length(), limits);
+
+            assertEquals(4, limits[0]);
+            assertEquals(4, limits[3]);
+            assertEquals(text.length(), limits[4]);
+        }
+    }
+
+    /**
+     * トークン化結果への影響のテスト
+     */
+    @Nested
+    class TokenizationResult {
+
+        /**
+         * 文字種をまたぐ辞書語のトークン化テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>文字種をまたぐ辞書語が事前分割で切断されない</li>
+         *   <li>英数字のみの未知語が一つのトークンになる</li>
+         * </ul>
+         */
+        @Test
+        void testMixedScriptTokenization() {
+            Map<String, List<String>> dictionary = createTestDictionary();
+            dictionary.put("顧客ID", List.of("customer_id"));
+            dictionary.put("2次", List.of("secondary"));
+
+            for (Tokenizer tokenizer : List.of(new GreedyTokenizer(), new OptimalTokenizer())) {
+                List<Token> result = tokenizer.tokenize(dictionary, "顧客ID2次コードXY9");
+                assertEquals(4, result.size());
+                assertEquals("顧客ID", result.get(0).word());
+                assertEquals("2次", result.get(1).word());
+                assertEquals("コード", result.get(2).word());
+                assertEquals("XY9", result.get(3).word());
+                assertTrue(result.get(3).isUnknown());
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SegmentCacheのテストクラス
+ *
+ * <p>最適分割選択方式の部分結果のキャッシュを階層的にテストします：</p>
+ * <ul>
+ *   <li>キャッシュの参照と統計情報</li>
+ *   <li>キャッシュの有無による結果の一致</li>
+ *   <li>複数のスレッドからの参照</li>
+ *   <li>エントリ数の上限と辞書の読み込み直し</li>
+ * </ul>
+ */
+class SegmentCacheTest extends TokenizerTestBase {
+
+    private Map<String, List<String>> dictionary;
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = createTestDictionary();
+        dictionary.put("区分", List.of("type"));
+        dictionary.put("登録", List.of("registration"));
+        dictionary.put("日時", List.of("datetime"));
+        dictionary.put("更新", List.of("update"));
+        dictionary.put("更新者", List.of("updater"));
+        dictionary.put("者", List.of("person"));
+        index = DictionaryIndex.compile(dictionary);
+    }
+
+    /**
+     * キャッシュの参照と統計情報のテスト
+     */
+    @Nested
+    class Lookup {
+
+        /**
+         * 末尾が共通する論理名のキャッシュ参照テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>初回はミスとなり、範囲全体と文字種の境界からの末尾の部分文字列が保持される</li>
+         *   <li>末尾「区分コード」が共通する別の論理名はヒットとなる</li>
+         *   <li>ヒット率が参照回数に応じて算出される</li>
+         * </ul>
+         */
+        @Test
+        void testSharedSuffix() {
+            SegmentCache cache = new SegmentCache(100);
+            Tokenizer tokenizer = new OptimalTokenizer(cache);
+            assertEquals(0.0, cache.getHitRate());
+
+            tokenizer.tokenize(index, "注文区分コード");
+            assertEquals(0, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(2, cache.size());
+
+            List<Token> tokens = tokenizer.tokenize(index, "商品区分コード");
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(0.5, cache.getHitRate());
+            assertEquals(3, tokens.size());
+            assertEquals("商品", tokens.get(0).word());
+            assertEquals("区分", tokens.get(1).word());
+            assertEquals("コード", tokens.get(2).word());
+
+            cache.clear();
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getHitCount());
+            assertEquals(0, cache.getMissCount());
+        }
+
+        /**
+         * キャッシュ無効時の動作テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>エントリ数の上限が0の場合、何も保持せず統計情報も変化しない</li>
+         * </ul>
+         */
+        @Test
+        void testDisabled() {
+            SegmentCache cache = new SegmentCache(0);
+            Tokenizer tokenizer = new OptimalTokenizer(cache);
+
+            tokenizer.tokenize(index, "注文区分コード");
+            tokenizer.tokenize(index, "注文区分コード");
+
+            assertFalse(cache.isEnabled());
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getHitCount() + cache.getMissCount());
+        }
+    }
+
+    /**
+     * キャッシュの有無による結果の一致のテスト
+     */
+    @Nested
+    class Consistency {
+
+        /**
+         * 類似した論理名の一括処理での一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>既知語、未知語、辞書語の重なりを含む論理名を繰り返し処理しても、
+         *       キャッシュなしの場合と同じ分割結果となる</li>
+         * </ul>
+         */
+        @Test
+        void testSameResults() {
+            SegmentCache cache = new SegmentCache(16);
+            Tokenizer cached = new OptimalTokenizer(cache);
+            Tokenizer uncached = new OptimalTokenizer();
+            List<String> prefixes = List.of("", "顧客", "XY", "注文明細", "更新", "A更新", "者");
+            List<String> suffixes = List.of("区分コード", "登録日時", "更新者ID", "者XY", "管理システム", "番号");
+
+            for (int round = 0; round < 3; round++) {
+                for (String prefix : prefixes) {
+                    for (String suffix : suffixes) {
+                        String input = prefix + suffix;
+                        assertEquals(uncached.tokenize(index, input), cached.tokenize(index, input), input);
+                    }
+                }
+            }
+            assertTrue(cache.getHitCount() > 0);
+            assertTrue(cache.size() <= 16);
+        }
+
+        /**
+         * 適応型方式からの利用テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>適応型方式の再分割区間でもキャッシュが参照され、結果が変わらない</li>
+         * </ul>
+         */
+        @Test
+        void testAdaptiveTokenizer() {
+            SegmentCache cache = new SegmentCache(100);
+            Tokenizer adaptive = new AdaptiveTokenizer(new GreedyTokenizer(), new OptimalTokenizer(cache));
+            Tokenizer optimal = new OptimalTokenizer();
+
+            for (String input : List.of("顧客XY更新者", "商品XY更新者", "顧客XY更新者")) {
+                assertEquals(optimal.tokenize(index, input), adaptive.tokenize(index, input));
+            }
+            assertTrue(cache.getHitCount() > 0);
+        }
+    }
+
+    /**
+     * 複数のスレッドからの参照のテスト
+     */
+    @Nested
+    class Concurrency {
+
+        /**
+         * 異なる論理名を同時に分割するテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>ほとんどがミスとなる異なる論理名を複数のスレッドから同時に分割しても、
+         *       キャッシュなしの場合と同じ分割結果となる</li>
+         *   <li>保持するエントリ数は上限を超えない</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentMisses() throws Exception {
+            SegmentCache cache = new SegmentCache(512);
+            Tokenizer cached = new OptimalTokenizer(cache);
+            Tokenizer uncached = new OptimalTokenizer();
+            List<String> words = List.of("顧客", "注文", "区分", "コード", "更新者", "XY", "登録", "日時", "番号", "者");
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 2000; i++) {
+                            StringBuilder sb = new StringBuilder();
+                            for (int w = 0; w < 4; w++) {
+                                sb.append(words.get(random.nextInt(words.size())));
+                            }
+                            sb.append(seed).append(i);
+                            String input = sb.toString();
+                            assertEquals(uncached.tokenize(index, input), cached.tokenize(index, input), input);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertTrue(cache.getMissCount() > 0);
+            assertTrue(cache.size() <= 512);
+        }
+    }
+
+    /**
+     * エントリ数の上限と辞書の読み込み直しのテスト
+     */
+    @Nested
+    class Invalidation {
+
+        /**
+         * 辞書の読み込み直しテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>同じ内容でもコンパイルし直した辞書では以前の結果が使われない</li>
+         *   <li>新しい辞書の内容に従って分割される</li>
+         * </ul>
+         */
+        @Test
+        void testDictionaryVersion() {
+            SegmentCache cache = new SegmentCache(100);
+            Tokenizer tokenizer = new OptimalTokenizer(cache);
+            tokenizer.tokenize(index, "注文区分コード");
+
+            dictionary.put("区分コード", List.of("type_code"));
+            DictionaryIndex reloaded = DictionaryIndex.compile(dictionary);
+            assertNotEquals(index.version(), reloaded.version());
+
+            List<Token> tokens = tokenizer.tokenize(reloaded, "注文区分コード");
+            assertEquals(0, cache.getHitCount());
+            assertEquals(2, tokens.size());
+            assertEquals("区分コード", tokens.get(1).word());
+        }
+
+        /**
+         * エントリ数の上限テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限を超えると最も長く参照されていないエントリから破棄される</li>
+         *   <li>大きな上限では区画に分けて保持し、合計が上限を超えない</li>
+         * </ul>
+         */
+        @Test
+        void testMaxEntries() {
+            SegmentCache cache = new SegmentCache(2);
+            Tokenizer tokenizer = new OptimalTokenizer(cache);
+
+            // 「注文区分コード」「コード」が保持される
+            tokenizer.tokenize(index, "注文区分コード");
+            assertEquals(2, cache.size());
+
+            // 「コード」がヒットし、「XYコード」の保持により「注文区分コード」が破棄される
+            tokenizer.tokenize(index, "XYコード");
+            assertEquals(1, cache.getHitCount());
+
+            // 「顧客番号」の保持により「コード」が破棄される
+            tokenizer.tokenize(index, "顧客番号");
+            tokenizer.tokenize(index, "ABコード");
+            assertEquals(1, cache.getHitCount());
+            assertEquals(2, cache.size());
+
+            SegmentCache striped = new SegmentCache(256);
+            Tokenizer stripedTokenizer = new OptimalTokenizer(striped);
+            for (int i = 0; i < 1000; i++) {
+                stripedTokenizer.tokenize(index, "顧客" + i + "コード");
+            }
+            assertTrue(striped.size() <= 256);
+            assertTrue(striped.size() > 0);
+        }
+    }
+}
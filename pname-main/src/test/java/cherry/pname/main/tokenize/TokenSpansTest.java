@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenSpansのテストクラス
+ *
+ * <p>位置のみを保持するトークン化結果を階層的にテストします：</p>
+ * <ul>
+ *   <li>トークンの位置</li>
+ *   <li>単語と物理名の取得</li>
+ *   <li>トークンのリストとの整合性</li>
+ * </ul>
+ */
+class TokenSpansTest extends TokenizerTestBase {
+
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = DictionaryIndex.compile(createTestDictionary());
+    }
+
+    /**
+     * トークンの位置のテスト
+     */
+    @Nested
+    class Positions {
+
+        /**
+         * 既知語と未知語の位置テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>各トークンの開始位置と終了位置が元の文字列に対する位置となる</li>
+         *   <li>既知語はエントリIDを持ち、未知語は-1となる</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 「顧客XYZ番号」→ 顧客[0,2) / XYZ[2,5) / 番号[5,7)
+         */
+        @Test
+        void testSpans() {
+            TokenSpans spans = new GreedyTokenizer().tokenizeSpans(index, "顧客XYZ番号");
+
+            assertEquals(3, spans.size());
+            assertEquals(0, spans.start(0));
+            assertEquals(2, spans.end(0));
+            assertEquals(2, spans.start(1));
+            assertEquals(5, spans.end(1));
+            assertEquals(5, spans.start(2));
+            assertEquals(7, spans.end(2));
+
+            assertEquals("顧客", index.key(spans.entryId(0)));
+            assertTrue(spans.isUnknown(1));
+            assertEquals(-1, spans.entryId(1));
+            assertFalse(spans.isUnknown(2));
+        }
+
+        /**
+         * 空入力の処理テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>空文字列、nullに対してトークンを含まない結果が返される</li>
+         * </ul>
+         */
+        @Test
+        void testEmptyInput() {
+            Tokenizer tokenizer = new OptimalTokenizer();
+            assertEquals(0, tokenizer.tokenizeSpans(index, "").size());
+            assertEquals(0, tokenizer.tokenizeSpans(index, null).size());
+            assertTrue(tokenizer.tokenizeSpans(index, null).toTokens().isEmpty());
+        }
+    }
+
+    /**
+     * 単語と物理名の取得のテスト
+     */
+    @Nested
+    class Materialization {
+
+        /**
+         * 単語と物理名の取得テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>単語は元の文字列から切り出される</li>
+         *   <li>既知語の物理名は辞書が保持するリストそのものが返される</li>
+         *   <li>未知語の物理名は空となる</li>
+         * </ul>
+         */
+        @Test
+        void testWordAndPhysicalNames() {
+            TokenSpans spans = new OptimalTokenizer().tokenizeSpans(index, "顧客管理XYZ");
+
+            assertEquals(2, spans.size());
+            assertEquals("顧客管理", spans.word(0));
+            assertSame(index.physicalNames(spans.entryId(0)), spans.physicalNames(0));
+            assertEquals(List.of("customer_management", "crm"), spans.physicalNames(0));
+            assertEquals("XYZ", spans.word(1));
+            assertTrue(spans.physicalNames(1).isEmpty());
+        }
+
+        /**
+         * 作業領域の再利用に対する独立性テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>同じスレッドで続けてトークン化しても、先の結果は変化しない</li>
+         * </ul>
+         */
+        @Test
+        void testIndependentOfScratch() {
+            Tokenizer tokenizer = new GreedyTokenizer();
+            TokenSpans first = tokenizer.tokenizeSpans(index, "注文明細");
+            tokenizer.tokenizeSpans(index, "XYZ商品コード");
+
+            assertEquals(2, first.size());
+            assertEquals("注文", first.word(0));
+            assertEquals("明細", first.word(1));
+        }
+    }
+
+    /**
+     * トークンのリストとの整合性のテスト
+     */
+    @Nested
+    class Consistency {
+
+        /**
+         * トークンのリストへの変換テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>各方式で、位置のみの結果から変換したトークンのリストが直接のトークン化結果と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testToTokens() {
+            List<Tokenizer> tokenizers = List.of(
+                    new GreedyTokenizer(),
+                    new OptimalTokenizer(),
+                    new AdaptiveTokenizer(new GreedyTokenizer(), new OptimalTokenizer()));
+            List<String> inputs = List.of("顧客管理システム", "注文明細番号XYZ", "売上金額ABC数量", "XYZ");
+
+            for (Tokenizer tokenizer : tokenizers) {
+                for (String input : inputs) {
+                    assertEquals(tokenizer.tokenize(index, input), tokenizer.tokenizeSpans(index, input).toTokens());
+                }
+            }
+        }
+
+        /**
+         * まとめてトークン化した結果のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>各方式で、まとめてトークン化した結果が入力と同じ順序で1件ずつのトークン化結果と一致する</li>
+         *   <li>nullと空文字列は空の結果となる</li>
+         * </ul>
+         */
+        @Test
+        void testBatch() {
+            List<Tokenizer> tokenizers = List.of(
+                    new GreedyTokenizer(),
+                    new OptimalTokenizer(),
+                    new AdaptiveTokenizer(new GreedyTokenizer(), new OptimalTokenizer()));
+            List<String> inputs = Arrays.asList("顧客管理システム", null, "注文明細番号XYZ", "", "売上金額ABC数量".repeat(40), "XYZ");
+
+            for (Tokenizer tokenizer : tokenizers) {
+                List<TokenSpans> batch = tokenizer.tokenizeSpans(index, inputs, TokenizeBudget.UNLIMITED);
+                assertEquals(inputs.size(), batch.size());
+                for (int i = 0; i < inputs.size(); i++) {
+                    assertEquals(tokenizer.tokenize(index, inputs.get(i)), batch.get(i).toTokens());
+                }
+                assertEquals("", batch.get(1).text());
+                assertEquals(0, batch.get(3).size());
+            }
+        }
+    }
+}
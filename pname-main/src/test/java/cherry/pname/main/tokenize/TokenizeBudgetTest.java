@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenizeBudgetのテストクラス
+ *
+ * <p>上限付きのトークン化処理を階層的にテストします：</p>
+ * <ul>
+ *   <li>上限内の処理</li>
+ *   <li>上限に達した場合の縮退</li>
+ * </ul>
+ */
+class TokenizeBudgetTest extends TokenizerTestBase {
+
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = DictionaryIndex.compile(createTestDictionary());
+    }
+
+    /**
+     * 上限内の処理のテスト
+     */
+    @Nested
+    class WithinBudget {
+
+        /**
+         * 通常の長さの論理名の処理テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>十分な上限のもとでは上限なしと同じ結果になる</li>
+         *   <li>結果は縮退していない</li>
+         * </ul>
+         */
+        @Test
+        void testSameAsUnlimited() {
+            Tokenizer tokenizer = new OptimalTokenizer();
+            TokenizeBudget budget = TokenizeBudget.ofTime(Duration.ofSeconds(10)).withWork(10_000);
+
+            for (String input : List.of("顧客管理システム", "注文明細番号XYZ", "売上金額ABC数量")) {
+                TokenSpans spans = tokenizer.tokenizeSpans(index, input, budget);
+                assertFalse(spans.isDegraded());
+                assertEquals(tokenizer.tokenize(index, input), spans.toTokens());
+            }
+        }
+
+        /**
+         * 上限なしの判定テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>UNLIMITEDのみ上限なしと判定される</li>
+         * </ul>
+         */
+        @Test
+        void testUnlimited() {
+            assertTrue(TokenizeBudget.UNLIMITED.isUnlimited());
+            assertFalse(TokenizeBudget.ofWork(100).isUnlimited());
+            assertFalse(TokenizeBudget.ofTime(Duration.ofMillis(100)).isUnlimited());
+        }
+    }
+
+    /**
+     * 上限に達した場合の縮退のテスト
+     */
+    @Nested
+    class Degradation {
+
+        /**
+         * 作業量の上限による縮退テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>上限に達すると縮退した結果となる</li>
+         *   <li>探索済みの末尾は最適分割、残りは前方最長マッチで分割され、入力全体を覆う</li>
+         * </ul>
+         *
+         * <p>期待動作:</p>
+         * 末尾の「顧客管理」は最適分割で探索済み、先頭の「XYZ」は前方最長マッチで分割される。
+         */
+        @Test
+        void testWorkBudget() {
+            Tokenizer tokenizer = new OptimalTokenizer();
+            TokenSpans spans = tokenizer.tokenizeSpans(index, "XYZ顧客管理", TokenizeBudget.ofWork(7));
+
+            assertTrue(spans.isDegraded());
+            assertEquals(2, spans.size());
+            assertEquals("XYZ", spans.word(0));
+            assertTrue(spans.isUnknown(0));
+            assertEquals("顧客管理", spans.word(1));
+        }
+
+        /**
+         * 処理時間の上限による縮退テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>長い入力でも処理時間の上限に達すると縮退した結果が返される</li>
+         *   <li>縮退した結果も入力全体を隙間なく覆う</li>
+         * </ul>
+         */
+        @Test
+        void testTimeBudget() {
+            String input = "顧客管理システム注文明細XYZ".repeat(2000);
+            Tokenizer tokenizer = new AdaptiveTokenizer(new GreedyTokenizer(), new OptimalTokenizer());
+            TokenSpans spans = tokenizer.tokenizeSpans(index, input, TokenizeBudget.ofTime(Duration.ZERO));
+
+            assertTrue(spans.isDegraded());
+            int pos = 0;
+            for (int i = 0; i < spans.size(); i++) {
+                assertEquals(pos, spans.start(i));
+                pos = spans.end(i);
+            }
+            assertEquals(input.length(), pos);
+        }
+
+        /**
+         * 縮退の状態の初期化テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>縮退した後も、同じスレッドの次の呼び出しは上限なしで処理される</li>
+         * </ul>
+         */
+        @Test
+        void testResetBetweenCalls() {
+            Tokenizer tokenizer = new OptimalTokenizer();
+            assertTrue(tokenizer.tokenizeSpans(index, "XYZ顧客管理", TokenizeBudget.ofWork(1)).isDegraded());
+            assertFalse(tokenizer.tokenizeSpans(index, "XYZ顧客管理").isDegraded());
+        }
+    }
+}
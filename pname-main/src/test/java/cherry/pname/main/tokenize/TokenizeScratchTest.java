@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * TokenizeScratchのテストクラス
+ *
+ * <p>作業領域を使ったトークン化処理を階層的にテストします：</p>
+ * <ul>
+ *   <li>作業領域の取得</li>
+ *   <li>トークン化処理中のオブジェクト生成</li>
+ * </ul>
+ */
+class TokenizeScratchTest extends TokenizerTestBase {
+
+    private static final int ITERATIONS = 10_000;
+
+    /**
+     * 計測した区間全体で許容する割り当てバイト数（計測自体の揺らぎの分）
+     * 1回のトークン化で1オブジェクトでも生成すれば、区間全体ではこの値を大きく超える。
+     */
+    private static final long ALLOCATION_TOLERANCE = 1024;
+
+    private DictionaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = DictionaryIndex.compile(createTestDictionary());
+    }
+
+    /**
+     * 作業領域の取得のテスト
+     */
+    @Nested
+    class Acquisition {
+
+        /**
+         * スレッドごとの作業領域の再利用テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>最大長以下の入力では同じ作業領域が再利用される</li>
+         *   <li>最大長を超える入力では入力長に合わせた作業領域が確保される</li>
+         * </ul>
+         */
+        @Test
+        void testAcquire() {
+            TokenizeScratch scratch = TokenizeScratch.acquire(10);
+            assertSame(scratch, TokenizeScratch.acquire(TokenizeScratch.DEFAULT_MAX_LENGTH));
+
+            TokenizeScratch large = TokenizeScratch.acquire(TokenizeScratch.DEFAULT_MAX_LENGTH + 1);
+            assertNotSame(scratch, large);
+            assertEquals(TokenizeScratch.DEFAULT_MAX_LENGTH + 1, large.maxLength());
+        }
+    }
+
+    /**
+     * トークン化処理中のオブジェクト生成のテスト
+     * 作業領域の最大長以下の入力で、中間オブジェクトが生成されないことを確認します
+     */
+    @Nested
+    class AllocationFree {
+
+        /**
+         * 前方最長マッチ方式のオブジェクト生成テスト
+         */
+        @Test
+        void testGreedyTokenizer() {
+            assertNoAllocation(new GreedyTokenizer());
+        }
+
+        /**
+         * 最適分割選択方式のオブジェクト生成テスト
+         */
+        @Test
+        void testOptimalTokenizer() {
+            assertNoAllocation(new OptimalTokenizer());
+        }
+
+        /**
+         * 適応型方式のオブジェクト生成テスト
+         */
+        @Test
+        void testAdaptiveTokenizer() {
+            assertNoAllocation(new AdaptiveTokenizer(new GreedyTokenizer(), new OptimalTokenizer()));
+        }
+
+        /**
+         * SpringのコンポーネントおよびPhysicalNameGeneratorBuilderと同じ組み立てのオブジェクト生成テスト
+         * 探索結果のキャッシュは既定の設定（無効）とする。
+         */
+        @Test
+        void testDefaultWiring() {
+            Tokenizer greedy = new GreedyTokenizer();
+            Tokenizer optimal = new OptimalTokenizer(new SegmentCache());
+            assertNoAllocation(optimal);
+            assertNoAllocation(new AdaptiveTokenizer(greedy, optimal));
+            assertNoAllocation(new ParallelTokenizer(optimal));
+        }
+
+        /**
+         * 探索結果のキャッシュを有効にした組み立てのオブジェクト生成テスト
+         * ウォームアップで全ての入力の探索結果を保持した後は、参照だけでオブジェクトを生成しない。
+         */
+        @Test
+        void testSegmentCacheEnabled() {
+            SegmentCache cache = new SegmentCache(1024);
+            Tokenizer optimal = new OptimalTokenizer(cache);
+            assertNoAllocation(optimal);
+            assertNoAllocation(new AdaptiveTokenizer(new GreedyTokenizer(), optimal));
+            assertTrue(cache.getHitCount() > 0);
+        }
+
+        /**
+         * 既知語、未知語、辞書語の重なりを含む入力をトークン化し、
+         * 計測した区間全体の割り当てバイト数が許容値以下であることを確認する
+         */
+        private void assertNoAllocation(Tokenizer tokenizer) {
+            var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+            List<String> inputs = List.of("顧客管理システム", "注文明細番号XYZ", "売上金額ABC数量", "XYZ");
+            TokenizeScratch scratch = new TokenizeScratch(64);
+
+            // ウォームアップ
+            int tokens = run(tokenizer, inputs, scratch);
+
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            tokens += run(tokenizer, inputs, scratch);
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+            assertTrue(tokens > 0);
+            assertTrue(allocated <= ALLOCATION_TOLERANCE,
+                    "allocated " + allocated + " bytes in " + ITERATIONS + " iterations");
+        }
+
+        private int run(Tokenizer tokenizer, List<String> inputs, TokenizeScratch scratch) {
+            int tokens = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                for (int j = 0; j < inputs.size(); j++) {
+                    String input = inputs.get(j);
+                    SpanBuffer spans = scratch.spans();
+                    tokenizer.tokenize(index, input, 0, input.length(), spans, scratch);
+                    tokens += spans.size();
+                }
+            }
+            return tokens;
+        }
+    }
+}
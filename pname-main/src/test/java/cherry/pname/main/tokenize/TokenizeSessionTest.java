@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.main.tokenize;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenizeSessionのテストクラス
+ *
+ * <p>逐次トークン化セッションを階層的にテストします：</p>
+ * <ul>
+ *   <li>編集操作</li>
+ *   <li>最適分割選択方式との一致</li>
+ *   <li>再探索の範囲</li>
+ * </ul>
+ */
+class TokenizeSessionTest extends TokenizerTestBase {
+
+    private DictionaryIndex index;
+    private Tokenizer optimal;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, List<String>> dictionary = createTestDictionary();
+        dictionary.put("売上高", List.of("net_sales"));
+        dictionary.put("高額", List.of("high_value"));
+        index = DictionaryIndex.compile(dictionary);
+        optimal = new OptimalTokenizer();
+    }
+
+    /**
+     * 編集操作のテスト
+     */
+    @Nested
+    class Editing {
+
+        /**
+         * 追加のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>文字列を1文字ずつ追加すると、辞書語が完成した時点で既知語として分割される</li>
+         * </ul>
+         */
+        @Test
+        void testAppend() {
+            TokenizeSession session = new TokenizeSession(index);
+            for (char c : "顧客管理システム".toCharArray()) {
+                session.append(String.valueOf(c));
+            }
+
+            List<Token> tokens = session.tokens();
+            assertEquals("顧客管理システム", session.text());
+            assertEquals(2, tokens.size());
+            assertEquals("顧客管理", tokens.get(0).word());
+            assertEquals(List.of("customer_management", "crm"), tokens.get(0).physicalNames());
+            assertEquals("システム", tokens.get(1).word());
+        }
+
+        /**
+         * 挿入、削除、置換のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>途中への挿入、削除、置換の結果が編集後の文字列の最適分割と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testInsertDeleteReplace() {
+            TokenizeSession session = new TokenizeSession(index, "顧客システム");
+
+            session.insert(2, "管理");
+            assertEquals("顧客管理システム", session.text());
+            assertEquals(optimal.tokenize(index, "顧客管理システム"), session.tokens());
+
+            session.delete(0, 2);
+            assertEquals("管理システム", session.text());
+            assertEquals(optimal.tokenize(index, "管理システム"), session.tokens());
+
+            session.replace(0, 2, "注文");
+            assertEquals("注文システム", session.text());
+            assertEquals(optimal.tokenize(index, "注文システム"), session.tokens());
+        }
+
+        /**
+         * 範囲外の編集のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>現在の文字列の外を指す編集はIndexOutOfBoundsExceptionとなり、状態は変わらない</li>
+         *   <li>初期値がnullの場合は空のセッションになる</li>
+         * </ul>
+         */
+        @Test
+        void testOutOfBounds() {
+            TokenizeSession session = new TokenizeSession(index, "顧客");
+
+            assertThrows(IndexOutOfBoundsException.class, () -> session.insert(3, "X"));
+            assertThrows(IndexOutOfBoundsException.class, () -> session.delete(1, 2));
+            assertEquals("顧客", session.text());
+            assertEquals(1, session.spans().size());
+
+            TokenizeSession empty = new TokenizeSession(index, null);
+            assertEquals("", empty.text());
+            assertEquals(0, empty.spans().size());
+        }
+    }
+
+    /**
+     * 最適分割選択方式との一致のテスト
+     */
+    @Nested
+    class SameAsOptimal {
+
+        /**
+         * ランダムな編集での一致テスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>辞書語の断片の追加、挿入、削除、置換を無作為に繰り返しても、
+         *       毎回、編集後の文字列を最適分割した結果と一致する</li>
+         * </ul>
+         */
+        @Test
+        void testRandomEdits() {
+            List<String> fragments = List.of("顧客", "客管", "管理", "売上", "上高", "高額", "X", "・", "コー", "ド", "番号", "明細");
+            Random random = new Random(12345);
+
+            for (int n = 0; n < 20; n++) {
+                TokenizeSession session = new TokenizeSession(index);
+                for (int step = 0; step < 50; step++) {
+                    String fragment = fragments.get(random.nextInt(fragments.size()));
+                    int length = session.text().length();
+                    int offset = random.nextInt(length + 1);
+                    int count = random.nextInt(Math.min(4, length - offset) + 1);
+                    switch (random.nextInt(4)) {
+                        case 0 -> session.append(fragment);
+                        case 1 -> session.insert(offset, fragment);
+                        case 2 -> session.delete(offset, count);
+                        default -> session.replace(offset, count, fragment);
+                    }
+                    String text = session.text();
+                    assertEquals(optimal.tokenize(index, text), session.tokens(), text);
+                }
+            }
+        }
+    }
+
+    /**
+     * 再探索の範囲のテスト
+     */
+    @Nested
+    class SearchedRange {
+
+        /**
+         * 末尾への追加のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>長い文字列の末尾に追加した場合、探索し直すのは末尾付近だけである</li>
+         * </ul>
+         */
+        @Test
+        void testAppendSearchesTail() {
+            String prefix = "顧客管理システム・注文明細番号".repeat(20);
+            TokenizeSession session = new TokenizeSession(index, prefix);
+            assertEquals(prefix.length(), session.getLastSearchedLength());
+
+            session.append("商品コード");
+            assertEquals(optimal.tokenize(index, session.text()), session.tokens());
+            assertTrue(session.getLastSearchedLength() < 30, String.valueOf(session.getLastSearchedLength()));
+        }
+
+        /**
+         * 先頭付近の編集のテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>長い文字列の先頭付近を編集した場合、編集位置より後ろの探索結果を使い回す</li>
+         * </ul>
+         */
+        @Test
+        void testEditNearHeadReusesSuffix() {
+            String suffix = "顧客管理システム・注文明細番号".repeat(20);
+            TokenizeSession session = new TokenizeSession(index, "商品" + suffix);
+
+            session.replace(0, 2, "注文");
+            assertEquals(optimal.tokenize(index, session.text()), session.tokens());
+            assertTrue(session.getLastSearchedLength() <= 2, String.valueOf(session.getLastSearchedLength()));
+        }
+    }
+}
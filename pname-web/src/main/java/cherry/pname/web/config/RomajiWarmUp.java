@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 agwlvssainokuni
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cherry.pname.web.config;
+
+import cherry.pname.main.romaji.RomajiConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * ローマ字変換リソースの事前読み込み
+ * 起動完了後にバックグラウンドのスレッドでローマ字変換のリソースを読み込み、
+ * fallback処理を行う最初のリクエストで読み込みの時間がかからないようにする。
+ * {@code pname.web.romaji-warm-up=false} で無効にできる。
+ */
+@Component
+public class RomajiWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(RomajiWarmUp.class);
+
+    private final RomajiConverter romajiConverter;
+    private final boolean enabled;
+
+    public RomajiWarmUp(
+            RomajiConverter romajiConverter,
+            @Value("${pname.web.romaji-warm-up:true}") boolean enabled) {
+        this.romajiConverter = romajiConverter;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 起動完了時にリソースの読み込みを開始する
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("romaji-warm-up").daemon().start(() -> {
+            long startTime = System.nanoTime();
+            try {
+                romajiConverter.warmUp();
+                log.info("ローマ字変換のリソースを読み込みました: {}ms", (System.nanoTime() - startTime) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.warn("ローマ字変換のリソースの読み込みに失敗しました: {}", e.getMessage());
+            }
+        });
+    }
+}
@@ -17,6 +17,8 @@
 package cherry.pname.web.controller;
 
 import cherry.pname.main.*;
+import cherry.pname.main.tokenize.DictionaryIndex;
+import cherry.pname.main.tokenize.TokenizeBudget;
 import cherry.pname.web.dto.GenerateRequest;
 import cherry.pname.web.dto.GenerateResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +29,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -36,6 +39,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 物理名生成のREST APIコントローラー
@@ -48,8 +54,17 @@ public class PhysicalNameController {
 
     private final PhysicalNameGenerator generator;
 
-    public PhysicalNameController(PhysicalNameGenerator generator) {
+    /**
+     * 1リクエストあたりのトークン化の上限（超えた部分は前方最長マッチで分割する）
+     */
+    private final TokenizeBudget tokenizeBudget;
+
+    public PhysicalNameController(
+            PhysicalNameGenerator generator,
+            @Value("${pname.web.tokenize-timeout:200ms}") Duration tokenizeTimeout,
+            @Value("${pname.web.tokenize-max-work:1000000}") long tokenizeMaxWork) {
         this.generator = generator;
+        this.tokenizeBudget = TokenizeBudget.ofTime(tokenizeTimeout).withWork(tokenizeMaxWork);
     }
 
     /**
@@ -60,7 +75,7 @@ public class PhysicalNameController {
      */
     @Operation(
         summary = "Generate Physical Name",
-        description = "Converts a Japanese logical name into an alphanumeric physical name using specified tokenization and naming convention strategies. The API supports both pre-loaded dictionaries (via file upload) and inline dictionary data provided directly in the request."
+        description = "Converts a Japanese logical name into an alphanumeric physical name using specified tokenization and naming convention strategies. The API supports both pre-loaded dictionaries (via file upload) and inline dictionary data provided directly in the request. Inline dictionary data applies to that request only and does not replace the pre-loaded dictionary. When namingConventions is given, the name is tokenized once and rendered in each of the listed conventions."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -82,6 +97,7 @@ public class PhysicalNameController {
                             "管理=>management",
                             "システム=>system"
                         ],
+                        "degraded": false,
                         "errorMessage": null
                     }
                     """
@@ -164,6 +180,17 @@ public class PhysicalNameController {
                         }
                         """
                     ),
+                    @ExampleObject(
+                        name = "multiple_conventions",
+                        summary = "Multiple naming conventions from one tokenization",
+                        value = """
+                        {
+                            "logicalName": "顧客管理",
+                            "tokenizerType": "OPTIMAL",
+                            "namingConventions": ["LOWER_SNAKE", "LOWER_CAMEL", "PASCAL"]
+                        }
+                        """
+                    ),
                     @ExampleObject(
                         name = "snake_case",
                         summary = "Snake case output",
@@ -180,18 +207,33 @@ public class PhysicalNameController {
         )
         @RequestBody GenerateRequest request) {
         try {
-            // 辞書データがある場合は読み込み
+            // 辞書データがある場合はこのリクエスト専用に読み込み（アップロードされた辞書は変更しない）
+            DictionaryIndex dictionary;
             if (request.getDictionaryData() != null && !request.getDictionaryData().trim().isEmpty()) {
                 DictionaryFormat format = DictionaryFormat.valueOf(request.getDictionaryFormat().toUpperCase());
-                generator.loadDictionary(format, request.getDictionaryData());
+                dictionary = generator.compileDictionary(format, request.getDictionaryData());
+            } else {
+                dictionary = generator.getDictionaryIndex();
             }
 
             // 物理名生成
             TokenizerType tokenizerType = TokenizerType.valueOf(request.getTokenizerType().toUpperCase());
+
+            // 複数の命名規則が指定された場合はトークン化を1回だけ行い、命名規則ごとの物理名を返す
+            if (request.getNamingConventions() != null && !request.getNamingConventions().isEmpty()) {
+                List<NamingConvention> namingConventions = new ArrayList<>(request.getNamingConventions().size());
+                for (String namingConvention : request.getNamingConventions()) {
+                    namingConventions.add(NamingConvention.valueOf(namingConvention.toUpperCase()));
+                }
+                PhysicalNameVariants variants = generator.generatePhysicalNameVariants(
+                        dictionary, tokenizerType, namingConventions, request.getLogicalName(), request.isEnableFallback(), tokenizeBudget);
+                return ResponseEntity.ok(GenerateResponse.fromVariants(variants));
+            }
+
             NamingConvention namingConvention = NamingConvention.valueOf(request.getNamingConvention().toUpperCase());
             
             PhysicalNameResult result = generator.generatePhysicalName(
-                    tokenizerType, namingConvention, request.getLogicalName(), request.isEnableFallback());
+                    dictionary, tokenizerType, namingConvention, request.getLogicalName(), request.isEnableFallback(), tokenizeBudget);
 
             return ResponseEntity.ok(GenerateResponse.fromResult(result));
             
@@ -16,6 +16,8 @@
 
 package cherry.pname.web.dto;
 
+import java.util.List;
+
 /**
  * 物理名生成リクエストDTO
  */
@@ -24,6 +26,7 @@ public class GenerateRequest {
     private String logicalName;
     private String tokenizerType = "OPTIMAL";
     private String namingConvention = "LOWER_CAMEL";
+    private List<String> namingConventions;
     private String dictionaryData;
     private String dictionaryFormat = "CSV";
     private boolean enableFallback = false;
@@ -61,6 +64,14 @@ public class GenerateRequest {
         this.namingConvention = namingConvention;
     }
 
+    public List<String> getNamingConventions() {
+        return namingConventions;
+    }
+
+    public void setNamingConventions(List<String> namingConventions) {
+        this.namingConventions = namingConventions;
+    }
+
     public String getDictionaryData() {
         return dictionaryData;
     }
@@ -16,9 +16,13 @@
 
 package cherry.pname.web.dto;
 
+import cherry.pname.main.NamingConvention;
 import cherry.pname.main.PhysicalNameResult;
+import cherry.pname.main.PhysicalNameVariants;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 物理名生成レスポンスDTO
@@ -28,28 +32,54 @@ public class GenerateResponse {
     private boolean success;
     private String logicalName;
     private String physicalName;
+    private Map<String, String> physicalNames;
     private List<String> tokenMappings;
+    private boolean degraded;
     private String errorMessage;
 
     public GenerateResponse() {
     }
 
     private GenerateResponse(boolean success, String logicalName, String physicalName, 
-                            List<String> tokenMappings, String errorMessage) {
+                            List<String> tokenMappings, boolean degraded, String errorMessage) {
+        this(success, logicalName, physicalName, null, tokenMappings, degraded, errorMessage);
+    }
+
+    private GenerateResponse(boolean success, String logicalName, String physicalName, Map<String, String> physicalNames,
+                            List<String> tokenMappings, boolean degraded, String errorMessage) {
         this.success = success;
         this.logicalName = logicalName;
         this.physicalName = physicalName;
+        this.physicalNames = physicalNames;
         this.tokenMappings = tokenMappings;
+        this.degraded = degraded;
         this.errorMessage = errorMessage;
     }
 
     public static GenerateResponse fromResult(PhysicalNameResult result) {
         return new GenerateResponse(true, result.logicalName(), result.physicalName(), 
-                                  result.tokenMappings(), null);
+                                  result.tokenMappings(), result.degraded(), null);
+    }
+
+    /**
+     * 複数の命名規則で生成した結果からレスポンスを作成する
+     * physicalNameには最初の命名規則の物理名を設定する。
+     *
+     * @param variants 命名規則ごとの物理名生成結果
+     * @return レスポンス
+     */
+    public static GenerateResponse fromVariants(PhysicalNameVariants variants) {
+        Map<String, String> physicalNames = new LinkedHashMap<>();
+        for (Map.Entry<NamingConvention, String> entry : variants.physicalNames().entrySet()) {
+            physicalNames.put(entry.getKey().name(), entry.getValue());
+        }
+        String physicalName = physicalNames.values().iterator().next();
+        return new GenerateResponse(true, variants.logicalName(), physicalName, physicalNames,
+                                  variants.tokenMappings(), variants.degraded(), null);
     }
 
     public static GenerateResponse error(String errorMessage) {
-        return new GenerateResponse(false, null, null, null, errorMessage);
+        return new GenerateResponse(false, null, null, null, false, errorMessage);
     }
 
     public boolean isSuccess() {
@@ -76,6 +106,14 @@ public class GenerateResponse {
         this.physicalName = physicalName;
     }
 
+    public Map<String, String> getPhysicalNames() {
+        return physicalNames;
+    }
+
+    public void setPhysicalNames(Map<String, String> physicalNames) {
+        this.physicalNames = physicalNames;
+    }
+
     public List<String> getTokenMappings() {
         return tokenMappings;
     }
@@ -84,6 +122,14 @@ public class GenerateResponse {
         this.tokenMappings = tokenMappings;
     }
 
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
     public String getErrorMessage() {
         return errorMessage;
     }
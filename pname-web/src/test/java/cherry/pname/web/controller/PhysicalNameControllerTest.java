@@ -16,6 +16,8 @@
 
 package cherry.pname.web.controller;
 
+import cherry.pname.main.DictionaryFormat;
+import cherry.pname.main.PhysicalNameGenerator;
 import cherry.pname.web.dto.GenerateRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Nested;
@@ -27,6 +29,13 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,6 +46,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - 物理名生成API（基本機能）
  * - フォールバック制御機能
  * - 辞書データ処理
+ * - 複数の命名規則での生成
+ * - リクエストごとの辞書の分離
  * - 辞書ファイル管理
  * - エラーハンドリング
  */
@@ -50,6 +61,9 @@ class PhysicalNameControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PhysicalNameGenerator generator;
+
     /**
      * 物理名生成APIの基本機能テスト
      * 辞書なしでの基本的な物理名生成をテストします
@@ -84,7 +98,8 @@ class PhysicalNameControllerTest {
                     .andExpect(jsonPath("$.success").value(true))
                     .andExpect(jsonPath("$.logicalName").value("テスト"))
                     .andExpect(jsonPath("$.physicalName").exists())
-                    .andExpect(jsonPath("$.tokenMappings").isArray());
+                    .andExpect(jsonPath("$.tokenMappings").isArray())
+                    .andExpect(jsonPath("$.degraded").value(false));
         }
 
         @Test
@@ -200,6 +215,105 @@ class PhysicalNameControllerTest {
         }
     }
 
+    /**
+     * 複数の命名規則での生成のテスト
+     * 1回のリクエストで複数の命名規則の物理名を返す機能をテストします
+     */
+    @Nested
+    class MultipleNamingConventions {
+
+        @Test
+        void testGenerateWithMultipleNamingConventions() throws Exception {
+            // 指定した命名規則ごとの物理名が指定した順序で返り、physicalNameは最初の命名規則の物理名になることを確認
+            GenerateRequest request = new GenerateRequest("顧客管理", "OPTIMAL", "LOWER_CAMEL");
+            request.setNamingConventions(List.of("lower_snake", "LOWER_CAMEL", "PASCAL"));
+            request.setDictionaryData("顧客,customer\n管理,management");
+            request.setDictionaryFormat("CSV");
+
+            mockMvc.perform(post("/api/generate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.physicalName").value("customer_management"))
+                    .andExpect(jsonPath("$.physicalNames.LOWER_SNAKE").value("customer_management"))
+                    .andExpect(jsonPath("$.physicalNames.LOWER_CAMEL").value("customerManagement"))
+                    .andExpect(jsonPath("$.physicalNames.PASCAL").value("CustomerManagement"))
+                    .andExpect(jsonPath("$.tokenMappings.length()").value(2));
+        }
+
+        @Test
+        void testGenerateWithInvalidNamingConventions() throws Exception {
+            // 不正な命名規則が含まれる場合は400エラーになることを確認
+            GenerateRequest request = new GenerateRequest("顧客管理", "OPTIMAL", "LOWER_CAMEL");
+            request.setNamingConventions(List.of("LOWER_SNAKE", "INVALID"));
+
+            mockMvc.perform(post("/api/generate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    /**
+     * リクエストごとの辞書の分離のテスト
+     * インライン辞書データがアップロードされた辞書や他のリクエストに影響しないことをテストします
+     */
+    @Nested
+    class DictionaryIsolation {
+
+        /**
+         * インライン辞書と既定の辞書の同時リクエストテスト
+         *
+         * <p>検証内容:</p>
+         * <ul>
+         *   <li>インライン辞書データを指定したリクエストは、その辞書で物理名が生成される</li>
+         *   <li>辞書データを指定しないリクエストは、同時に処理されるインライン辞書の影響を受けない</li>
+         *   <li>処理後もアップロードされた辞書は変わらない</li>
+         * </ul>
+         */
+        @Test
+        void testConcurrentInlineAndDefaultDictionaries() throws Exception {
+            generator.loadDictionary(DictionaryFormat.CSV, "顧客,client\n管理,admin");
+            long defaultVersion = generator.getDictionaryIndex().version();
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 25; i++) {
+                            int d = (i + seed) % 3;
+                            GenerateRequest request = new GenerateRequest("顧客管理", "OPTIMAL", "SNAKE");
+                            String expected = "client_admin";
+                            if (d > 0) {
+                                request.setDictionaryData("顧客,customer" + d + "\n管理,management");
+                                request.setDictionaryFormat("CSV");
+                                expected = "customer" + d + "_management";
+                            }
+
+                            mockMvc.perform(post("/api/generate")
+                                            .contentType(MediaType.APPLICATION_JSON)
+                                            .content(objectMapper.writeValueAsString(request)))
+                                    .andExpect(status().isOk())
+                                    .andExpect(jsonPath("$.physicalName").value(expected));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(defaultVersion, generator.getDictionaryIndex().version());
+        }
+    }
+
     /**
      * 辞書ファイル管理のテスト
      * 辞書ファイルのアップロード機能をテストします